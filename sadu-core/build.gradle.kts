@@ -1,6 +1,7 @@
 plugins {
     id("sadu.java-conventions")
     id("sadu.maven-publish-conventions")
+    `java-test-fixtures`
 }
 
 description = "SADU core module, containing common logic between modules."
@@ -9,3 +10,8 @@ dependencies {
     api(libs.slf4j.api)
     api("org.jetbrains", "annotations", "26.0.2")
 }
+
+// The jdbc fakes are shared by the tests of other modules and are not published
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
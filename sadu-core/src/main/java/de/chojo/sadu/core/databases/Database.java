@@ -12,7 +12,10 @@ import de.chojo.sadu.core.jdbc.JdbcConfig;
 import de.chojo.sadu.core.updater.UpdaterBuilder;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Defines a sql type and handles RDBMS specific actions.
@@ -175,6 +178,61 @@ public interface Database<T extends JdbcConfig<?>, U extends UpdaterBuilder<T, ?
         return false;
     }
 
+    /**
+     * Creates the clause appended to an {@code INSERT ... VALUES} statement, which updates the existing row on a conflict of the key.
+     *
+     * @param keys    columns of the unique key
+     * @param columns columns which should be updated on a conflict. If empty the conflicting row is kept
+     * @return upsert clause
+     */
+    default String upsertClause(List<String> keys, List<String> columns) {
+        throw new NotSupportedException("Upserts are not supported.");
+    }
+
+    /**
+     * The maximum amount of parameters in a single statement.
+     * <p>
+     * Defaults to 999, which is supported by every database.
+     *
+     * @return max amount of parameters
+     */
+    default int maxParameters() {
+        return 999;
+    }
+
+    /**
+     * Checks whether a prepared statement on this connection may contain multiple queries separated by a semicolon.
+     * <p>
+     * All queries are sent in one round trip and return one result each.
+     *
+     * @param connection connection of the database
+     * @return true if multiple queries are supported
+     * @throws SQLException if a database access error occurs
+     */
+    default boolean supportsMultiStatements(Connection connection) throws SQLException {
+        return false;
+    }
+
+    /**
+     * Checks whether arrays can be expanded into rows via {@code unnest(?, ?)}.
+     *
+     * @return true if unnest is supported
+     */
+    default boolean supportsUnnest() {
+        return false;
+    }
+
+    /**
+     * Checks whether the driver only fetches rows in batches of the fetch size, when the connection is not in auto commit mode.
+     * <p>
+     * If this is true, the whole result is loaded into memory while auto commit is enabled.
+     *
+     * @return true if cursors require a transaction
+     */
+    default boolean cursorRequiresTransaction() {
+        return false;
+    }
+
     /**
      * Instantiates an implementation of {@link UpdaterBuilder}
      *
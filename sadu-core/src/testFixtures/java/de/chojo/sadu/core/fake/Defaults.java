@@ -0,0 +1,28 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.core.fake;
+
+/**
+ * Default return values of fake methods without a recorded behaviour.
+ */
+final class Defaults {
+    private Defaults() {
+        throw new UnsupportedOperationException("This is a utility class.");
+    }
+
+    static Object of(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        return 0;
+    }
+}
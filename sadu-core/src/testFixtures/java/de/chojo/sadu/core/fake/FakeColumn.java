@@ -0,0 +1,38 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.core.fake;
+
+import java.sql.Types;
+
+/**
+ * A column of a {@link FakeResultSet}.
+ *
+ * @param label       label and name of the column
+ * @param type        sql type as defined in {@link Types}
+ * @param signed      whether numeric values are signed
+ * @param displaySize the display size reported by the metadata
+ */
+public record FakeColumn(String label, int type, boolean signed, int displaySize) {
+    /**
+     * Creates a signed column without a bounded display size.
+     *
+     * @param label label of the column
+     * @param type  sql type
+     * @return new column
+     */
+    public static FakeColumn of(String label, int type) {
+        return new FakeColumn(label, type, true, Integer.MAX_VALUE);
+    }
+
+    public FakeColumn unsigned() {
+        return new FakeColumn(label, type, false, displaySize);
+    }
+
+    public FakeColumn displaySize(int displaySize) {
+        return new FakeColumn(label, type, signed, displaySize);
+    }
+}
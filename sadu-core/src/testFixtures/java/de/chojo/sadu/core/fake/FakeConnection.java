@@ -0,0 +1,157 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.core.fake;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A connection creating {@link FakeStatement}s and recording the calls made on it and its statements.
+ * <p>
+ * Calls are recorded in order, like {@code prepareStatement(SELECT 1)}, {@code setInt(1)}, {@code executeQuery}, {@code commit}.
+ */
+public final class FakeConnection implements InvocationHandler {
+    private final List<String> calls = new ArrayList<>();
+    private final List<FakeStatement> statements = new ArrayList<>();
+    private final Connection connection;
+    private FakeResultSet results;
+    private int updateCount = 1;
+    private Predicate<Map<Integer, String>> failing = parameters -> false;
+    private boolean autoCommit = true;
+    private boolean closed;
+
+    private FakeConnection() {
+        connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, this);
+    }
+
+    public static FakeConnection create() {
+        return new FakeConnection();
+    }
+
+    /**
+     * Sets the result of every query executed on a statement of this connection.
+     *
+     * @param results result set. Every execution reads a new copy
+     * @return the same connection
+     */
+    public FakeConnection results(FakeResultSet results) {
+        this.results = results;
+        return this;
+    }
+
+    /**
+     * Sets the count returned by updates and batches executed on a statement of this connection.
+     *
+     * @param updateCount changed rows
+     * @return the same connection
+     */
+    public FakeConnection updateCount(int updateCount) {
+        this.updateCount = updateCount;
+        return this;
+    }
+
+    /**
+     * Lets updates and statements of batches fail, whose parameters match the predicate.
+     *
+     * @param failing tests the parameters of a statement, like {@link FakeStatement#parameters()}
+     * @return the same connection
+     */
+    public FakeConnection failing(Predicate<Map<Integer, String>> failing) {
+        this.failing = failing;
+        return this;
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * A data source, which always returns this connection.
+     */
+    public DataSource dataSource() {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{DataSource.class},
+                (proxy, method, args) -> method.getName().equals("getConnection") ? connection : Defaults.of(method.getReturnType()));
+    }
+
+    public List<String> calls() {
+        return calls;
+    }
+
+    /**
+     * The statements prepared on this connection in order.
+     */
+    public List<FakeStatement> statements() {
+        return statements;
+    }
+
+    public FakeStatement lastStatement() {
+        return statements.get(statements.size() - 1);
+    }
+
+    public boolean closed() {
+        return closed;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        var name = method.getName();
+        switch (name) {
+            case "prepareStatement" -> {
+                calls.add(name + "(" + args[0] + ")");
+                var type = args.length == 3 ? (int) args[1] : ResultSet.TYPE_FORWARD_ONLY;
+                var statement = new FakeStatement(calls, (String) args[0], type).updateCount(updateCount).failing(failing).results(results);
+                statements.add(statement);
+                return statement.statement();
+            }
+            case "getAutoCommit" -> {
+                return autoCommit;
+            }
+            case "setAutoCommit" -> {
+                autoCommit = (boolean) args[0];
+                calls.add(name + "(" + args[0] + ")");
+                return null;
+            }
+            case "commit" -> {
+                calls.add(name);
+                return null;
+            }
+            case "rollback" -> {
+                calls.add(args == null ? name : name + "(savepoint)");
+                return null;
+            }
+            case "setSavepoint", "releaseSavepoint" -> {
+                calls.add(name);
+                if (args != null) return null;
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Savepoint.class}, (p, m, a) -> Defaults.of(m.getReturnType()));
+            }
+            case "createArrayOf" -> {
+                calls.add(name + "(" + args[0] + ", " + ((Object[]) args[1]).length + ")");
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Array.class}, (p, m, a) -> Defaults.of(m.getReturnType()));
+            }
+            case "close" -> {
+                closed = true;
+                return null;
+            }
+            case "isClosed" -> {
+                return closed;
+            }
+            default -> {
+                return Defaults.of(method.getReturnType());
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.core.fake;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+/**
+ * A forward only result set over rows defined by the test.
+ * <p>
+ * Values are returned as they are stored in the row. Numeric getters convert any {@link Number} and large objects are read by the matching getter,
+ * like a driver would. Strings are created via {@link Object#toString()}.
+ * Null values are read as 0 or false by the primitive getters and reported by {@code wasNull}.
+ */
+public final class FakeResultSet implements InvocationHandler {
+    private final FakeColumn[] columns;
+    private final ResultSetMetaData metaData;
+    private final List<Integer> fetchSizes = new ArrayList<>();
+    private IntFunction<Object[]> rows = row -> new Object[0];
+    private int size;
+    private SQLException failure;
+    private Statement statement;
+    private int cursor = -1;
+    private int nextCalls;
+    private Object last;
+    private boolean closed;
+
+    private FakeResultSet(FakeColumn[] columns) {
+        this.columns = columns;
+        metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ResultSetMetaData.class}, this::meta);
+    }
+
+    /**
+     * Creates an empty result set with these columns.
+     *
+     * @param columns columns of the result set
+     * @return new result set
+     */
+    public static FakeResultSet of(FakeColumn... columns) {
+        return new FakeResultSet(columns);
+    }
+
+    /**
+     * Sets the rows of the result set.
+     *
+     * @param rows one value per column for each row
+     * @return the same result set
+     */
+    public FakeResultSet rows(Object[]... rows) {
+        return rows(rows.length, row -> rows[row]);
+    }
+
+    /**
+     * Sets the rows of the result set, which are created on access.
+     *
+     * @param size amount of rows
+     * @param rows creates the values of a row, starting at 0
+     * @return the same result set
+     */
+    public FakeResultSet rows(int size, IntFunction<Object[]> rows) {
+        this.size = size;
+        this.rows = rows;
+        return this;
+    }
+
+    /**
+     * Lets every call of {@code next} fail.
+     *
+     * @param failure exception to throw
+     * @return the same result set
+     */
+    public FakeResultSet failing(SQLException failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    FakeResultSet statement(Statement statement) {
+        this.statement = statement;
+        return this;
+    }
+
+    /**
+     * Creates a copy positioned before the first row.
+     *
+     * @return new result set with the same columns and rows
+     */
+    public FakeResultSet copy() {
+        var copy = new FakeResultSet(columns).rows(size, rows);
+        copy.failure = failure;
+        return copy;
+    }
+
+    public ResultSet resultSet() {
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ResultSet.class}, this);
+    }
+
+    public ResultSetMetaData metaData() {
+        return metaData;
+    }
+
+    /**
+     * The fetch sizes set on the result set in order.
+     */
+    public List<Integer> fetchSizes() {
+        return fetchSizes;
+    }
+
+    /**
+     * How often {@code next} was called.
+     */
+    public int nextCalls() {
+        return nextCalls;
+    }
+
+    public boolean closed() {
+        return closed;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+        switch (method.getName()) {
+            case "next" -> {
+                nextCalls++;
+                if (failure != null) throw failure;
+                if (cursor < size) cursor++;
+                return cursor < size;
+            }
+            case "wasNull" -> {
+                return last == null;
+            }
+            case "getMetaData" -> {
+                return metaData;
+            }
+            case "getStatement" -> {
+                return statement;
+            }
+            case "findColumn" -> {
+                return findColumn((String) args[0]);
+            }
+            case "setFetchSize" -> {
+                fetchSizes.add((Integer) args[0]);
+                return null;
+            }
+            case "close" -> {
+                closed = true;
+                return null;
+            }
+            case "isClosed" -> {
+                return closed;
+            }
+            default -> {
+                if (method.getName().startsWith("get") && args != null && args.length > 0) return get(method, args);
+                return Defaults.of(method.getReturnType());
+            }
+        }
+    }
+
+    private Object get(Method method, Object[] args) throws SQLException {
+        var index = args[0] instanceof String label ? findColumn(label) : (int) args[0];
+        if (cursor < 0 || cursor >= size) throw new SQLException("Result set is not positioned on a row");
+        if (index < 1 || index > columns.length) throw new SQLException("Column %d does not exist".formatted(index));
+        var value = rows.apply(cursor)[index - 1];
+        last = value;
+        if (value == null) return Defaults.of(method.getReturnType());
+        return switch (method.getName()) {
+            case "getInt" -> ((Number) value).intValue();
+            case "getLong" -> ((Number) value).longValue();
+            case "getShort" -> ((Number) value).shortValue();
+            case "getByte" -> ((Number) value).byteValue();
+            case "getDouble" -> ((Number) value).doubleValue();
+            case "getFloat" -> ((Number) value).floatValue();
+            case "getBoolean" -> value instanceof Number number ? number.doubleValue() != 0 : value;
+            case "getBigDecimal" -> value instanceof BigDecimal ? value : new BigDecimal(value.toString());
+            case "getBytes" -> value instanceof Blob blob ? blob.getBytes(1, (int) blob.length()) : value;
+            case "getString", "getNString" -> value instanceof Clob clob ? clob.getSubString(1, (int) clob.length()) : value.toString();
+            case "getObject" -> args.length == 2 && args[1] instanceof Class<?> type ? type.cast(value) : value;
+            default -> value;
+        };
+    }
+
+    private int findColumn(String label) throws SQLException {
+        for (var i = 0; i < columns.length; i++) {
+            if (columns[i].label().equalsIgnoreCase(label)) return i + 1;
+        }
+        throw new SQLException("Column %s does not exist".formatted(label));
+    }
+
+    private Object meta(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals("getColumnCount")) return columns.length;
+        if (args == null || !(args[0] instanceof Integer index)) return Defaults.of(method.getReturnType());
+        var column = columns[index - 1];
+        return switch (method.getName()) {
+            case "getColumnLabel", "getColumnName" -> column.label();
+            case "getColumnType" -> column.type();
+            case "getColumnTypeName" -> column.label().toUpperCase(Locale.ROOT);
+            case "isSigned" -> column.signed();
+            case "getColumnDisplaySize", "getPrecision" -> column.displaySize();
+            case "isNullable" -> ResultSetMetaData.columnNullable;
+            default -> Defaults.of(method.getReturnType());
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "FakeResultSet" + Arrays.toString(columns);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.core.fake;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * A prepared statement recording the parameters set on it.
+ * <p>
+ * Parameters are recorded as {@code <setter>:<value>} by index.
+ * Adding a batch stores the parameters and clears them, which shows exactly what was set for every row.
+ */
+public final class FakeStatement implements InvocationHandler {
+    private final List<String> calls;
+    private final String sql;
+    private final int resultSetType;
+    private final Map<Integer, String> parameters = new TreeMap<>();
+    private final List<Map<Integer, String>> batches = new ArrayList<>();
+    private final PreparedStatement statement;
+    private FakeResultSet results;
+    private FakeResultSet executed;
+    private int updateCount = 1;
+    private Predicate<Map<Integer, String>> failing = parameters -> false;
+    private int pendingBatches;
+    private boolean closed;
+
+    FakeStatement(List<String> calls, String sql, int resultSetType) {
+        this.calls = calls;
+        this.sql = sql;
+        this.resultSetType = resultSetType;
+        statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{PreparedStatement.class}, this);
+    }
+
+    /**
+     * Creates a statement, which is not bound to a connection.
+     *
+     * @return new statement
+     */
+    public static FakeStatement create() {
+        return new FakeStatement(new ArrayList<>(), "", ResultSet.TYPE_FORWARD_ONLY);
+    }
+
+    /**
+     * Sets the result returned by {@code executeQuery}. Every execution reads a new copy.
+     *
+     * @param results result set
+     * @return the same statement
+     */
+    public FakeStatement results(FakeResultSet results) {
+        this.results = results;
+        return this;
+    }
+
+    /**
+     * Sets the count returned by {@code executeUpdate} and for every statement of {@code executeBatch}.
+     *
+     * @param updateCount changed rows
+     * @return the same statement
+     */
+    public FakeStatement updateCount(int updateCount) {
+        this.updateCount = updateCount;
+        return this;
+    }
+
+    /**
+     * Lets updates and statements of batches fail, whose parameters match the predicate.
+     * <p>
+     * A failing batch stops at the failing statement and reports the counts of the statements before it.
+     *
+     * @param failing tests the parameters of a statement, like {@link #parameters()}
+     * @return the same statement
+     */
+    public FakeStatement failing(Predicate<Map<Integer, String>> failing) {
+        this.failing = failing;
+        return this;
+    }
+
+    public PreparedStatement statement() {
+        return statement;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public boolean forwardOnly() {
+        return resultSetType == ResultSet.TYPE_FORWARD_ONLY;
+    }
+
+    /**
+     * The parameters set since the last batch was added.
+     */
+    public Map<Integer, String> parameters() {
+        return parameters;
+    }
+
+    /**
+     * The parameters of every added batch.
+     */
+    public List<Map<Integer, String>> batches() {
+        return batches;
+    }
+
+    /**
+     * The result set returned by the last execution of the query.
+     */
+    public FakeResultSet executed() {
+        return executed;
+    }
+
+    public boolean closed() {
+        return closed;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+        var name = method.getName();
+        switch (name) {
+            case "executeQuery" -> {
+                calls.add(name);
+                if (results == null) throw new SQLException("No result set defined for " + sql);
+                executed = results.copy().statement(statement);
+                return executed.resultSet();
+            }
+            case "execute" -> {
+                // A single result set, further results are not supported
+                calls.add(name);
+                if (results == null) throw new SQLException("No result set defined for " + sql);
+                executed = results.copy().statement(statement);
+                return true;
+            }
+            case "getResultSet" -> {
+                return executed == null ? null : executed.resultSet();
+            }
+            case "executeUpdate", "executeLargeUpdate" -> {
+                calls.add(name);
+                if (failing.test(parameters)) throw new SQLException("Statement failed");
+                if (name.equals("executeLargeUpdate")) return (long) updateCount;
+                return updateCount;
+            }
+            case "addBatch" -> {
+                calls.add(name);
+                batches.add(new TreeMap<>(parameters));
+                parameters.clear();
+                pendingBatches++;
+                return null;
+            }
+            case "executeBatch" -> {
+                calls.add(name);
+                var counts = new int[pendingBatches];
+                Arrays.fill(counts, updateCount);
+                var pending = batches.subList(batches.size() - pendingBatches, batches.size());
+                pendingBatches = 0;
+                for (var i = 0; i < pending.size(); i++) {
+                    if (!failing.test(pending.get(i))) continue;
+                    var exception = new BatchUpdateException("Batch failed", Arrays.copyOf(counts, i));
+                    exception.setNextException(new SQLException("Statement failed"));
+                    throw exception;
+                }
+                return counts;
+            }
+            case "clearParameters" -> {
+                parameters.clear();
+                return null;
+            }
+            case "close" -> {
+                closed = true;
+                return null;
+            }
+            case "isClosed" -> {
+                return closed;
+            }
+            case "cancel" -> {
+                calls.add(name);
+                return null;
+            }
+            default -> {
+                if (name.startsWith("set") && args != null && args.length > 0) {
+                    calls.add(name + "(" + args[0] + ")");
+                    if (args.length > 1 && args[0] instanceof Integer index) parameters.put(index, name + ":" + args[1]);
+                }
+                return Defaults.of(method.getReturnType());
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ dependencies {
 
     testImplementation("org.postgresql", "postgresql", "42.7.5")
     testImplementation(testlibs.bundles.junit)
+    testImplementation(testFixtures(project(":sadu-core")))
     testImplementation(project(":sadu-queries"))
     testImplementation(project(":sadu-datasource"))
     testImplementation(project(":sadu-postgresql"))
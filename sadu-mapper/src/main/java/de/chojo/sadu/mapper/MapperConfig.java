@@ -18,6 +18,7 @@ public class MapperConfig {
     public static final MapperConfig DEFAULT = new MapperConfig();
     private Map<String, String> aliases = new HashMap<>();
     private boolean strict = false;
+    private int parallelism = 1;
 
     public MapperConfig() {
     }
@@ -68,10 +69,34 @@ public class MapperConfig {
         return this;
     }
 
+    /**
+     * The amount of threads used to map the rows of a result.
+     *
+     * @return parallelism. 1 if rows are mapped on the calling thread.
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the amount of threads used to map the rows of a result.
+     * <p>
+     * When larger than 1, all rows are read into a buffer first and mapped in chunks on the executor of the query configuration.
+     * The order of the rows is preserved. The used mappers need to be thread safe.
+     *
+     * @param parallelism amount of threads. At least 1
+     */
+    public MapperConfig parallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+        this.parallelism = parallelism;
+        return this;
+    }
+
     public MapperConfig copy() {
         var mapperConfig = new MapperConfig();
         mapperConfig.aliases = new HashMap<>(aliases);
         mapperConfig.strict = strict;
+        mapperConfig.parallelism = parallelism;
         return mapperConfig;
     }
 }
@@ -0,0 +1,96 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.mapper.wrapper;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+
+/**
+ * A materialized copy of a sql {@link Array}, which can be read after the connection was closed.
+ */
+final class BufferedArray implements Array {
+    private final int baseType;
+    private final String baseTypeName;
+    private final Object array;
+
+    BufferedArray(int baseType, String baseTypeName, Object array) {
+        this.baseType = baseType;
+        this.baseTypeName = baseTypeName;
+        this.array = array;
+    }
+
+    static BufferedArray of(Array array) throws SQLException {
+        try {
+            return new BufferedArray(array.getBaseType(), array.getBaseTypeName(), array.getArray());
+        } finally {
+            try {
+                array.free();
+            } catch (SQLFeatureNotSupportedException e) {
+                // Nothing to free
+            }
+        }
+    }
+
+    @Override
+    public String getBaseTypeName() {
+        return baseTypeName;
+    }
+
+    @Override
+    public int getBaseType() {
+        return baseType;
+    }
+
+    @Override
+    public Object getArray() {
+        return array;
+    }
+
+    @Override
+    public Object getArray(Map<String, Class<?>> map) {
+        return array;
+    }
+
+    @Override
+    public Object getArray(long index, int count) {
+        var copy = java.lang.reflect.Array.newInstance(array.getClass().getComponentType(), count);
+        System.arraycopy(array, (int) index - 1, copy, 0, count);
+        return copy;
+    }
+
+    @Override
+    public Object getArray(long index, int count, Map<String, Class<?>> map) {
+        return getArray(index, count);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Buffered arrays can not be read as result set");
+    }
+
+    @Override
+    public ResultSet getResultSet(Map<String, Class<?>> map) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Buffered arrays can not be read as result set");
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Buffered arrays can not be read as result set");
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count, Map<String, Class<?>> map) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Buffered arrays can not be read as result set");
+    }
+
+    @Override
+    public void free() {
+    }
+}
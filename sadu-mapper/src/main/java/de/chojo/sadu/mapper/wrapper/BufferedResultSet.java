@@ -0,0 +1,1303 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.mapper.wrapper;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A read only result set, which reads the rows of a {@link RowBuffer}.
+ * <p>
+ * Values are converted on access, similar to the conversions a driver would apply.
+ * Temporal values were read by the driver with the default calendar, therefore calendar arguments are ignored.
+ */
+final class BufferedResultSet implements ResultSet {
+    private final RowBuffer buffer;
+    private final int from;
+    private final int to;
+    private int row;
+    private boolean wasNull;
+    private boolean closed;
+    private int fetchDirection = FETCH_FORWARD;
+    private int fetchSize;
+
+    BufferedResultSet(RowBuffer buffer, int from, int to) {
+        this.buffer = buffer;
+        this.from = from;
+        this.to = to;
+        this.row = from - 1;
+    }
+
+    private void assertOpen() throws SQLException {
+        if (closed) throw new SQLException("Result set is closed");
+    }
+
+    private RowBuffer.Column column(int columnIndex) throws SQLException {
+        assertOpen();
+        if (row < from || row >= to) throw new SQLException("Result set is not positioned on a row");
+        if (columnIndex < 1 || columnIndex > buffer.columnCount()) {
+            throw new SQLException("Column index %d is out of range. Columns: %d".formatted(columnIndex, buffer.columnCount()));
+        }
+        return buffer.column(columnIndex);
+    }
+
+    private Object value(int columnIndex) throws SQLException {
+        var value = column(columnIndex).get(row);
+        wasNull = value == null;
+        return value;
+    }
+
+    private static SQLException conversionError(Object value, Class<?> type) {
+        return new SQLException("Cannot convert value of type %s to %s".formatted(value.getClass().getName(), type.getName()));
+    }
+
+    private static SQLException readOnly() {
+        return new SQLFeatureNotSupportedException("Buffered result sets are read only");
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        assertOpen();
+        if (row < to) row++;
+        return row < to;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        return stringOf(value(columnIndex));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        var column = column(columnIndex);
+        wasNull = column.isNull(row);
+        if (column instanceof RowBuffer.BooleanColumn bool) return bool.getBoolean(row);
+        if (column instanceof RowBuffer.IntegralColumn integral) return integral.getLong(row) != 0;
+        return booleanOf(column.get(row));
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        return (byte) getLong(columnIndex);
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        return (short) getLong(columnIndex);
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        return (int) getLong(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        var column = column(columnIndex);
+        wasNull = column.isNull(row);
+        if (column instanceof RowBuffer.IntegralColumn integral) return integral.getLong(row);
+        if (column instanceof RowBuffer.FloatingColumn floating) return (long) floating.getDouble(row);
+        return longOf(column.get(row));
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        return (float) getDouble(columnIndex);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        var column = column(columnIndex);
+        wasNull = column.isNull(row);
+        if (column instanceof RowBuffer.FloatingColumn floating) return floating.getDouble(row);
+        if (column instanceof RowBuffer.IntegralColumn integral) return integral.getLong(row);
+        return doubleOf(column.get(row));
+    }
+
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        var value = getBigDecimal(columnIndex);
+        return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        return decimalOf(value(columnIndex));
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return bytesOf(value(columnIndex));
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        return dateOf(value(columnIndex));
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        return getDate(columnIndex);
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        return timeOf(value(columnIndex));
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        return getTime(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return timestampOf(value(columnIndex));
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        return getTimestamp(columnIndex);
+    }
+
+    @Override
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        var value = getString(columnIndex);
+        return value == null ? null : new ByteArrayInputStream(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    @Deprecated
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Unicode streams are not supported");
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        var value = getBytes(columnIndex);
+        return value == null ? null : new ByteArrayInputStream(value);
+    }
+
+    @Override
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        var value = getString(columnIndex);
+        return value == null ? null : new StringReader(value);
+    }
+
+    @Override
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        return getCharacterStream(columnIndex);
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        return getString(columnIndex);
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        return value(columnIndex);
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        return value(columnIndex);
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        var value = value(columnIndex);
+        if (value == null) return null;
+        if (type.isInstance(value)) return type.cast(value);
+        Object converted;
+        if (type == String.class) converted = stringOf(value);
+        else if (type == Integer.class) converted = (int) longOf(value);
+        else if (type == Long.class) converted = longOf(value);
+        else if (type == Short.class) converted = (short) longOf(value);
+        else if (type == Byte.class) converted = (byte) longOf(value);
+        else if (type == Double.class) converted = doubleOf(value);
+        else if (type == Float.class) converted = (float) doubleOf(value);
+        else if (type == Boolean.class) converted = booleanOf(value);
+        else if (type == BigDecimal.class) converted = decimalOf(value);
+        else if (type == BigInteger.class) converted = decimalOf(value).toBigInteger();
+        else if (type == byte[].class) converted = bytesOf(value);
+        else if (type == Timestamp.class) converted = timestampOf(value);
+        else if (type == Date.class) converted = dateOf(value);
+        else if (type == Time.class) converted = timeOf(value);
+        else if (type == LocalDateTime.class) converted = timestampOf(value).toLocalDateTime();
+        else if (type == LocalDate.class) converted = dateOf(value).toLocalDate();
+        else if (type == LocalTime.class) converted = timeOf(value).toLocalTime();
+        else if (type == Instant.class) converted = timestampOf(value).toInstant();
+        else if (type == OffsetDateTime.class) converted = offsetDateTimeOf(value);
+        else if (type == ZonedDateTime.class) converted = offsetDateTimeOf(value).toZonedDateTime();
+        else if (type == OffsetTime.class) converted = offsetTimeOf(value);
+        else if (type == UUID.class) converted = uuidOf(value);
+        else throw conversionError(value, type);
+        return type.cast(converted);
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException {
+        var value = value(columnIndex);
+        if (value == null) return null;
+        if (value instanceof Blob blob) return blob;
+        return new SerialBlob(bytesOf(value));
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException {
+        var value = value(columnIndex);
+        if (value == null) return null;
+        if (value instanceof Clob clob) return clob;
+        return new SerialClob(stringOf(value).toCharArray());
+    }
+
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException {
+        return valueOf(columnIndex, NClob.class);
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        return valueOf(columnIndex, Array.class);
+    }
+
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException {
+        return valueOf(columnIndex, Ref.class);
+    }
+
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException {
+        return valueOf(columnIndex, RowId.class);
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Xml values are buffered as string. Use getString instead");
+    }
+
+    @Override
+    public URL getURL(int columnIndex) throws SQLException {
+        var value = value(columnIndex);
+        if (value == null) return null;
+        if (value instanceof URL url) return url;
+        try {
+            return new URL(stringOf(value));
+        } catch (MalformedURLException e) {
+            throw new SQLException("Value is not a valid url", e);
+        }
+    }
+
+    private <T> T valueOf(int columnIndex, Class<T> type) throws SQLException {
+        var value = value(columnIndex);
+        if (value == null) return null;
+        if (type.isInstance(value)) return type.cast(value);
+        throw conversionError(value, type);
+    }
+
+    private static String stringOf(Object value) {
+        if (value == null) return null;
+        if (value instanceof String str) return str;
+        if (value instanceof byte[] bytes) return new String(bytes, StandardCharsets.UTF_8);
+        return value.toString();
+    }
+
+    private static boolean booleanOf(Object value) throws SQLException {
+        if (value == null) return false;
+        if (value instanceof Boolean bool) return bool;
+        if (value instanceof Number number) return number.doubleValue() != 0;
+        if (value instanceof String str) {
+            return switch (str.trim().toLowerCase(Locale.ROOT)) {
+                case "true", "t", "yes", "y", "on", "1" -> true;
+                case "false", "f", "no", "n", "off", "0" -> false;
+                default -> throw conversionError(value, boolean.class);
+            };
+        }
+        throw conversionError(value, boolean.class);
+    }
+
+    private static long longOf(Object value) throws SQLException {
+        if (value == null) return 0;
+        if (value instanceof Number number) return number.longValue();
+        if (value instanceof Boolean bool) return bool ? 1 : 0;
+        if (value instanceof String str) {
+            try {
+                return new BigDecimal(str.trim()).longValue();
+            } catch (NumberFormatException e) {
+                throw new SQLException("Value is not a number", e);
+            }
+        }
+        throw conversionError(value, long.class);
+    }
+
+    private static double doubleOf(Object value) throws SQLException {
+        if (value == null) return 0;
+        if (value instanceof Number number) return number.doubleValue();
+        if (value instanceof Boolean bool) return bool ? 1 : 0;
+        if (value instanceof String str) {
+            try {
+                return Double.parseDouble(str.trim());
+            } catch (NumberFormatException e) {
+                throw new SQLException("Value is not a number", e);
+            }
+        }
+        throw conversionError(value, double.class);
+    }
+
+    private static BigDecimal decimalOf(Object value) throws SQLException {
+        if (value == null) return null;
+        if (value instanceof BigDecimal decimal) return decimal;
+        if (value instanceof BigInteger integer) return new BigDecimal(integer);
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Number number) return BigDecimal.valueOf(number.doubleValue());
+        if (value instanceof String str) {
+            try {
+                return new BigDecimal(str.trim());
+            } catch (NumberFormatException e) {
+                throw new SQLException("Value is not a number", e);
+            }
+        }
+        throw conversionError(value, BigDecimal.class);
+    }
+
+    private static byte[] bytesOf(Object value) throws SQLException {
+        if (value == null) return null;
+        if (value instanceof byte[] bytes) return bytes;
+        if (value instanceof String str) return str.getBytes(StandardCharsets.UTF_8);
+        throw conversionError(value, byte[].class);
+    }
+
+    private static UUID uuidOf(Object value) throws SQLException {
+        if (value instanceof String str) return UUID.fromString(str.trim());
+        if (value instanceof byte[] bytes && bytes.length == 16) {
+            var buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        throw conversionError(value, UUID.class);
+    }
+
+    private static Timestamp timestampOf(Object value) throws SQLException {
+        if (value == null) return null;
+        if (value instanceof Timestamp timestamp) return timestamp;
+        if (value instanceof java.util.Date date) return new Timestamp(date.getTime());
+        if (value instanceof LocalDateTime dateTime) return Timestamp.valueOf(dateTime);
+        if (value instanceof LocalDate date) return Timestamp.valueOf(date.atStartOfDay());
+        if (value instanceof OffsetDateTime dateTime) return Timestamp.from(dateTime.toInstant());
+        if (value instanceof ZonedDateTime dateTime) return Timestamp.from(dateTime.toInstant());
+        if (value instanceof Instant instant) return Timestamp.from(instant);
+        if (value instanceof Number number) return new Timestamp(number.longValue());
+        if (value instanceof String str) return parseTimestamp(str.trim());
+        throw conversionError(value, Timestamp.class);
+    }
+
+    private static Timestamp parseTimestamp(String value) throws SQLException {
+        try {
+            return Timestamp.valueOf(value);
+        } catch (IllegalArgumentException ignored) {
+            // not in jdbc escape format
+        }
+        try {
+            if (value.length() == 10) return Timestamp.valueOf(LocalDate.parse(value).atStartOfDay());
+            return Timestamp.valueOf(LocalDateTime.parse(value));
+        } catch (DateTimeParseException ignored) {
+            // not a local date time
+        }
+        try {
+            return Timestamp.from(OffsetDateTime.parse(value).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new SQLException("Value is not a timestamp", e);
+        }
+    }
+
+    private static Date dateOf(Object value) throws SQLException {
+        if (value == null) return null;
+        if (value instanceof Date date) return date;
+        if (value instanceof LocalDate date) return Date.valueOf(date);
+        return Date.valueOf(timestampOf(value).toLocalDateTime().toLocalDate());
+    }
+
+    private static Time timeOf(Object value) throws SQLException {
+        if (value == null) return null;
+        if (value instanceof Time time) return time;
+        if (value instanceof LocalTime time) return Time.valueOf(time);
+        if (value instanceof OffsetTime time) return Time.valueOf(time.toLocalTime());
+        if (value instanceof String str && str.trim().length() <= 15) {
+            try {
+                return Time.valueOf(LocalTime.parse(str.trim()));
+            } catch (DateTimeParseException e) {
+                throw new SQLException("Value is not a time", e);
+            }
+        }
+        return Time.valueOf(timestampOf(value).toLocalDateTime().toLocalTime());
+    }
+
+    private static OffsetDateTime offsetDateTimeOf(Object value) throws SQLException {
+        if (value instanceof OffsetDateTime dateTime) return dateTime;
+        if (value instanceof ZonedDateTime dateTime) return dateTime.toOffsetDateTime();
+        if (value instanceof String str) {
+            try {
+                return OffsetDateTime.parse(str.trim());
+            } catch (DateTimeParseException ignored) {
+                // fall back to timestamp parsing
+            }
+        }
+        return timestampOf(value).toInstant().atOffset(ZoneOffset.UTC);
+    }
+
+    private static OffsetTime offsetTimeOf(Object value) throws SQLException {
+        if (value instanceof OffsetTime time) return time;
+        if (value instanceof OffsetDateTime dateTime) return dateTime.toOffsetTime();
+        if (value instanceof String str) {
+            try {
+                return OffsetTime.parse(str.trim());
+            } catch (DateTimeParseException ignored) {
+                // fall back to a local time
+            }
+        }
+        // Times without a zone are treated as utc, like timestamps in offsetDateTimeOf
+        return timeOf(value).toLocalTime().atOffset(ZoneOffset.UTC);
+    }
+
+    @Override
+    public SQLWarning getWarnings() {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() {
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Buffered result sets have no cursor");
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        assertOpen();
+        return buffer.metaData();
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        var index = buffer.findColumn(columnLabel);
+        if (index == -1) throw new SQLException("Column %s does not exist".formatted(columnLabel));
+        return index;
+    }
+
+    @Override
+    public boolean isBeforeFirst() {
+        return row < from && from < to;
+    }
+
+    @Override
+    public boolean isAfterLast() {
+        return row >= to && from < to;
+    }
+
+    @Override
+    public boolean isFirst() {
+        return row == from && row < to;
+    }
+
+    @Override
+    public boolean isLast() {
+        return row == to - 1 && row >= from;
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        assertOpen();
+        row = from - 1;
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        assertOpen();
+        row = to;
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        return absolute(1);
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        return absolute(-1);
+    }
+
+    @Override
+    public int getRow() {
+        return row >= from && row < to ? row - from + 1 : 0;
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        if (row > 0) return moveTo(from + row - 1);
+        if (row < 0) return moveTo(to + row);
+        return moveTo(from - 1);
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        return moveTo(row + rows);
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        return moveTo(row - 1);
+    }
+
+    private boolean moveTo(int target) throws SQLException {
+        assertOpen();
+        row = Math.max(from - 1, Math.min(to, target));
+        return row >= from && row < to;
+    }
+
+    @Override
+    public void setFetchDirection(int direction) {
+        fetchDirection = direction;
+    }
+
+    @Override
+    public int getFetchDirection() {
+        return fetchDirection;
+    }
+
+    @Override
+    public void setFetchSize(int rows) {
+        fetchSize = rows;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    @Override
+    public int getType() {
+        return TYPE_SCROLL_INSENSITIVE;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return CONCUR_READ_ONLY;
+    }
+
+    @Override
+    public int getHoldability() {
+        return HOLD_CURSORS_OVER_COMMIT;
+    }
+
+    @Override
+    public boolean rowUpdated() {
+        return false;
+    }
+
+    @Override
+    public boolean rowInserted() {
+        return false;
+    }
+
+    @Override
+    public boolean rowDeleted() {
+        return false;
+    }
+
+    @Override
+    public Statement getStatement() {
+        return null;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        return getByte(findColumn(columnLabel));
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        return getFloat(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel), scale);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        return getTime(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        return getAsciiStream(findColumn(columnLabel));
+    }
+
+    @Override
+    @Deprecated
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        return getUnicodeStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        return getBinaryStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        return getCharacterStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    @Override
+    public void updateNull(int columnIndex) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateLong(int columnIndex, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream inputStream, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream inputStream, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader reader, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNull(String columnLabel) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateLong(String columnLabel, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream inputStream, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream inputStream, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        return getObject(findColumn(columnLabel), map);
+    }
+
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException {
+        return getRef(findColumn(columnLabel));
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException {
+        return getBlob(findColumn(columnLabel));
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException {
+        return getClob(findColumn(columnLabel));
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        return getArray(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        return getDate(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        return getTime(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        return getTimestamp(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public URL getURL(String columnLabel) throws SQLException {
+        return getURL(findColumn(columnLabel));
+    }
+
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException {
+        return getRowId(findColumn(columnLabel));
+    }
+
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNString(int columnIndex, String x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNString(String columnLabel, String x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, NClob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, NClob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException {
+        return getNClob(findColumn(columnLabel));
+    }
+
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        return getSQLXML(findColumn(columnLabel));
+    }
+
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        return getNString(findColumn(columnLabel));
+    }
+
+    @Override
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        return getNCharacterStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream inputStream, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream inputStream, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream inputStream, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream inputStream, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream inputStream) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream inputStream) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream inputStream) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream inputStream) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        return getObject(findColumn(columnLabel), type);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.mapper.wrapper;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * A copy of {@link ResultSetMetaData}, which can be read after the result set was closed.
+ */
+final class BufferedResultSetMetaData implements ResultSetMetaData {
+    private final ColumnMeta[] columns;
+
+    private BufferedResultSetMetaData(ColumnMeta[] columns) {
+        this.columns = columns;
+    }
+
+    static BufferedResultSetMetaData of(ResultSetMetaData meta) throws SQLException {
+        var columns = new ColumnMeta[meta.getColumnCount()];
+        for (var column = 1; column <= columns.length; column++) {
+            var i = column;
+            columns[i - 1] = new ColumnMeta(
+                    meta.isAutoIncrement(i),
+                    meta.isCaseSensitive(i),
+                    meta.isSearchable(i),
+                    meta.isCurrency(i),
+                    meta.isNullable(i),
+                    meta.isSigned(i),
+                    meta.getColumnDisplaySize(i),
+                    meta.getColumnLabel(i),
+                    meta.getColumnName(i),
+                    optional(() -> meta.getSchemaName(i), ""),
+                    meta.getPrecision(i),
+                    meta.getScale(i),
+                    optional(() -> meta.getTableName(i), ""),
+                    optional(() -> meta.getCatalogName(i), ""),
+                    meta.getColumnType(i),
+                    meta.getColumnTypeName(i),
+                    meta.isReadOnly(i),
+                    meta.isWritable(i),
+                    meta.isDefinitelyWritable(i),
+                    optional(() -> meta.getColumnClassName(i), Object.class.getName()));
+        }
+        return new BufferedResultSetMetaData(columns);
+    }
+
+    /**
+     * Some drivers do not support all meta data. Those values are replaced with a default.
+     */
+    private static String optional(MetaSupplier supplier, String def) {
+        try {
+            var value = supplier.get();
+            return value == null ? def : value;
+        } catch (SQLException e) {
+            return def;
+        }
+    }
+
+    private ColumnMeta column(int column) throws SQLException {
+        if (column < 1 || column > columns.length) {
+            throw new SQLException("Column index %d is out of range. Columns: %d".formatted(column, columns.length));
+        }
+        return columns[column - 1];
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) throws SQLException {
+        return column(column).autoIncrement();
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+        return column(column).caseSensitive();
+    }
+
+    @Override
+    public boolean isSearchable(int column) throws SQLException {
+        return column(column).searchable();
+    }
+
+    @Override
+    public boolean isCurrency(int column) throws SQLException {
+        return column(column).currency();
+    }
+
+    @Override
+    public int isNullable(int column) throws SQLException {
+        return column(column).nullable();
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+        return column(column).signed();
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) throws SQLException {
+        return column(column).displaySize();
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+        return column(column).label();
+    }
+
+    @Override
+    public String getColumnName(int column) throws SQLException {
+        return column(column).name();
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+        return column(column).schemaName();
+    }
+
+    @Override
+    public int getPrecision(int column) throws SQLException {
+        return column(column).precision();
+    }
+
+    @Override
+    public int getScale(int column) throws SQLException {
+        return column(column).scale();
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+        return column(column).tableName();
+    }
+
+    @Override
+    public String getCatalogName(int column) throws SQLException {
+        return column(column).catalogName();
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        return column(column).type();
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+        return column(column).typeName();
+    }
+
+    @Override
+    public boolean isReadOnly(int column) throws SQLException {
+        return column(column).readOnly();
+    }
+
+    @Override
+    public boolean isWritable(int column) throws SQLException {
+        return column(column).writable();
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+        return column(column).definitelyWritable();
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+        return column(column).className();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    @FunctionalInterface
+    private interface MetaSupplier {
+        String get() throws SQLException;
+    }
+
+    private record ColumnMeta(boolean autoIncrement, boolean caseSensitive, boolean searchable, boolean currency,
+                              int nullable, boolean signed, int displaySize, String label, String name,
+                              String schemaName, int precision, int scale, String tableName, String catalogName,
+                              int type, String typeName, boolean readOnly, boolean writable,
+                              boolean definitelyWritable, String className) {
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.mapper.wrapper;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A compact in memory copy of the rows of a {@link ResultSet}.
+ * <p>
+ * Values are stored column wise. Integral, floating point and boolean columns are stored in primitive arrays, all other columns as objects.
+ * Large objects like blobs, clobs and arrays are materialized, which allows to read the buffer after the connection was closed.
+ * <p>
+ * The buffer can be read via {@link #resultSet()}. Wrapped into a {@link Row} existing {@link de.chojo.sadu.mapper.rowmapper.RowMapping}s can be reused.
+ * Every call creates an independent cursor. Multiple cursors can read the same buffer concurrently.
+ */
+public final class RowBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+    private final BufferedResultSetMetaData meta;
+    private final Column[] columns;
+    private final Map<String, Integer> labels = new HashMap<>();
+    private int size;
+    private int capacity;
+    private long bytes;
+
+    private RowBuffer(BufferedResultSetMetaData meta, int capacity) throws SQLException {
+        this.meta = meta;
+        this.capacity = capacity;
+        columns = new Column[meta.getColumnCount()];
+        for (var i = 0; i < columns.length; i++) {
+            columns[i] = Column.of(meta, i + 1, capacity);
+            labels.putIfAbsent(meta.getColumnLabel(i + 1).toLowerCase(Locale.ROOT), i + 1);
+        }
+    }
+
+    /**
+     * Creates an empty buffer for rows of a result set with this metadata.
+     *
+     * @param meta     metadata of the result set
+     * @param capacity initial capacity
+     * @return empty buffer
+     * @throws SQLException if a database access error occurs
+     */
+    static RowBuffer create(BufferedResultSetMetaData meta, int capacity) throws SQLException {
+        return new RowBuffer(meta, Math.max(1, capacity));
+    }
+
+    /**
+     * Reads all remaining rows of the result set into a buffer.
+     * <p>
+     * The result set is not closed.
+     *
+     * @param resultSet result set to read
+     * @return a buffer containing all remaining rows
+     * @throws SQLException if a database access error occurs
+     */
+    public static RowBuffer drain(ResultSet resultSet) throws SQLException {
+        return drain(resultSet, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads up to {@code maxRows} rows of the result set into a buffer.
+     * <p>
+     * The result set is not closed and positioned on the last read row.
+     *
+     * @param resultSet result set to read
+     * @param maxRows   the maximum amount of rows to read
+     * @return a buffer containing the read rows
+     * @throws SQLException if a database access error occurs
+     */
+    public static RowBuffer drain(ResultSet resultSet, int maxRows) throws SQLException {
+        var buffer = create(BufferedResultSetMetaData.of(resultSet.getMetaData()), INITIAL_CAPACITY);
+        while (buffer.size < maxRows && resultSet.next()) {
+            buffer.read(resultSet);
+        }
+        return buffer;
+    }
+
+    /**
+     * Reads the row the result set is positioned on.
+     *
+     * @param resultSet result set positioned on a row
+     * @throws SQLException if a database access error occurs
+     */
+    void read(ResultSet resultSet) throws SQLException {
+        ensureCapacity();
+        for (var i = 0; i < columns.length; i++) {
+            columns[i].read(resultSet, i + 1, size);
+            bytes += columns[i].estimate(size);
+        }
+        size++;
+    }
+
+    /**
+     * Adds a row of values as returned by {@link #value(int, int)}.
+     *
+     * @param values values of the row
+     */
+    void add(Object[] values) {
+        ensureCapacity();
+        for (var i = 0; i < columns.length; i++) {
+            columns[i].set(size, values[i]);
+            bytes += columns[i].estimate(size);
+        }
+        size++;
+    }
+
+    /**
+     * Removes all rows while keeping the capacity.
+     */
+    void clear() {
+        for (var column : columns) column.clear();
+        size = 0;
+        bytes = 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == capacity) {
+            capacity = capacity * 2;
+            for (var column : columns) column.grow(capacity);
+        }
+    }
+
+    /**
+     * Returns the value of a column as object.
+     *
+     * @param row    row, starting at 0
+     * @param column column, starting at 1
+     * @return value or null
+     */
+    Object value(int row, int column) {
+        return columns[column - 1].get(row);
+    }
+
+    /**
+     * The amount of rows in this buffer.
+     *
+     * @return row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The estimated amount of memory occupied by the values of the buffered rows.
+     *
+     * @return size in bytes
+     */
+    public long estimatedBytes() {
+        return bytes;
+    }
+
+    /**
+     * Checks if this buffer contains no rows.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Creates a new read only result set positioned before the first row of the buffer.
+     *
+     * @return new result set
+     */
+    public ResultSet resultSet() {
+        return resultSet(0, size);
+    }
+
+    /**
+     * Creates a new read only result set, which contains the rows of the buffer from {@code from} inclusive to {@code to} exclusive.
+     *
+     * @param from first row, starting at 0
+     * @param to   last row, exclusive
+     * @return new result set
+     */
+    public ResultSet resultSet(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range %d to %d is out of bounds for %d rows".formatted(from, to, size));
+        }
+        return new BufferedResultSet(this, from, to);
+    }
+
+    BufferedResultSetMetaData metaData() {
+        return meta;
+    }
+
+    int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the index of the column with this label.
+     *
+     * @param label label of the column. Case insensitive
+     * @return index starting at 1 or -1 if the column does not exist
+     */
+    int findColumn(String label) {
+        return labels.getOrDefault(label.toLowerCase(Locale.ROOT), -1);
+    }
+
+    Column column(int index) {
+        return columns[index - 1];
+    }
+
+    abstract static sealed class Column {
+        protected final BitSet nulls = new BitSet();
+
+        private static Column of(ResultSetMetaData meta, int index, int capacity) throws SQLException {
+            var type = meta.getColumnType(index);
+            return switch (type) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> new IntegralColumn(capacity, true);
+                case Types.BIGINT -> meta.isSigned(index) ? new IntegralColumn(capacity, false) : new ObjectColumn(capacity, type);
+                case Types.REAL, Types.FLOAT, Types.DOUBLE -> new FloatingColumn(capacity, type == Types.REAL);
+                case Types.BOOLEAN -> new BooleanColumn();
+                case Types.BIT -> meta.getPrecision(index) <= 1 ? new BooleanColumn() : new ObjectColumn(capacity, type);
+                default -> new ObjectColumn(capacity, type);
+            };
+        }
+
+        boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        void clear() {
+            nulls.clear();
+        }
+
+        abstract void grow(int capacity);
+
+        abstract void read(ResultSet resultSet, int index, int row) throws SQLException;
+
+        abstract void set(int row, Object value);
+
+        /**
+         * Estimates the memory occupied by the value of a row.
+         */
+        abstract long estimate(int row);
+
+        abstract Object get(int row);
+    }
+
+    static final class IntegralColumn extends Column {
+        private final boolean integer;
+        private long[] values;
+
+        IntegralColumn(int capacity, boolean integer) {
+            this.integer = integer;
+            values = new long[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void read(ResultSet resultSet, int index, int row) throws SQLException {
+            // Some databases like sqlite store 64 bit values in integer columns. Reading them as long avoids truncation.
+            values[row] = resultSet.getLong(index);
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (value == null) nulls.set(row);
+            else values[row] = ((Number) value).longValue();
+        }
+
+        @Override
+        long estimate(int row) {
+            return Long.BYTES;
+        }
+
+        long getLong(int row) {
+            return values[row];
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) return null;
+            var value = values[row];
+            if (integer && value == (int) value) return (int) value;
+            return value;
+        }
+    }
+
+    static final class FloatingColumn extends Column {
+        private final boolean real;
+        private double[] values;
+
+        FloatingColumn(int capacity, boolean real) {
+            this.real = real;
+            values = new double[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void read(ResultSet resultSet, int index, int row) throws SQLException {
+            values[row] = resultSet.getDouble(index);
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (value == null) nulls.set(row);
+            else values[row] = ((Number) value).doubleValue();
+        }
+
+        @Override
+        long estimate(int row) {
+            return Double.BYTES;
+        }
+
+        double getDouble(int row) {
+            return values[row];
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) return null;
+            return real ? (Object) (float) values[row] : (Object) values[row];
+        }
+    }
+
+    static final class BooleanColumn extends Column {
+        private final BitSet values = new BitSet();
+
+        @Override
+        void grow(int capacity) {
+        }
+
+        @Override
+        void read(ResultSet resultSet, int index, int row) throws SQLException {
+            values.set(row, resultSet.getBoolean(index));
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        @Override
+        void clear() {
+            super.clear();
+            values.clear();
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (value == null) nulls.set(row);
+            else values.set(row, (Boolean) value);
+        }
+
+        @Override
+        long estimate(int row) {
+            return 1;
+        }
+
+        boolean getBoolean(int row) {
+            return values.get(row);
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) return null;
+            return values.get(row);
+        }
+    }
+
+    static final class ObjectColumn extends Column {
+        private final int type;
+        private Object[] values;
+
+        ObjectColumn(int capacity, int type) {
+            this.type = type;
+            values = new Object[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void read(ResultSet resultSet, int index, int row) throws SQLException {
+            var value = switch (type) {
+                case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> resultSet.getBytes(index);
+                case Types.CLOB, Types.NCLOB, Types.SQLXML -> resultSet.getString(index);
+                default -> detach(resultSet.getObject(index));
+            };
+            if (value == null) nulls.set(row);
+            values[row] = value;
+        }
+
+        @Override
+        void clear() {
+            super.clear();
+            Arrays.fill(values, null);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (value == null) nulls.set(row);
+            values[row] = value;
+        }
+
+        @Override
+        long estimate(int row) {
+            // Reference and object header
+            var size = 24L;
+            var value = values[row];
+            if (value instanceof String string) size += string.length() * 2L;
+            else if (value instanceof byte[] bytes) size += bytes.length;
+            else if (value != null) size += 16;
+            return size;
+        }
+
+        /**
+         * Materializes values, which might require an open connection to be read.
+         */
+        private static Object detach(Object value) throws SQLException {
+            if (value instanceof Blob blob) {
+                try {
+                    return blob.getBytes(1, (int) blob.length());
+                } finally {
+                    blob.free();
+                }
+            }
+            if (value instanceof Clob clob) {
+                try {
+                    return clob.getSubString(1, (int) clob.length());
+                } finally {
+                    clob.free();
+                }
+            }
+            if (value instanceof SQLXML xml) {
+                try {
+                    return xml.getString();
+                } finally {
+                    xml.free();
+                }
+            }
+            if (value instanceof Array array) {
+                return BufferedArray.of(array);
+            }
+            return value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.mapper.wrapper;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.ref.Cleaner;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A copy of the rows of a {@link ResultSet}, which moves rows to disk once a memory budget is exceeded.
+ * <p>
+ * Rows are read into a {@link RowBuffer} until its estimated size reaches the budget. All remaining rows are serialized into a temporary file.
+ * The file is memory mapped, which allows random access to every row without holding the rows on the heap.
+ * <p>
+ * Every row can be read via {@link #resultSet(int)}. Spilled rows are decoded on access. Multiple threads can read rows concurrently.
+ * The buffer needs to be {@link #close() closed} to delete the temporary file.
+ * The file of a buffer, which becomes unreachable without being closed, is deleted once the buffer is garbage collected.
+ */
+public final class SpillableRowBuffer implements AutoCloseable {
+    /**
+     * Maximum size of a mapped segment. Rows never span two segments.
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte FLOAT = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte STRING = 6;
+    private static final byte BYTES = 7;
+    private static final byte DECIMAL = 8;
+    private static final byte TIMESTAMP = 9;
+    private static final byte DATE = 10;
+    private static final byte TIME = 11;
+    private static final byte ID = 12;
+    private static final byte ARRAY = 13;
+    private static final byte SERIALIZED = 14;
+    private static final Cleaner CLEANER = Cleaner.create();
+    private final RowBuffer memory;
+    private final Path file;
+    private final long[] offsets;
+    private final long[] segmentStarts;
+    private final MappedByteBuffer[] segments;
+    private final int spilled;
+    private final Cleaner.Cleanable cleanable;
+    private volatile boolean closed;
+
+    private SpillableRowBuffer(RowBuffer memory, Path file, long[] offsets, long[] segmentStarts, MappedByteBuffer[] segments, int spilled) {
+        this.memory = memory;
+        this.file = file;
+        this.offsets = offsets;
+        this.segmentStarts = segmentStarts;
+        this.segments = segments;
+        this.spilled = spilled;
+        // The action must not reference the buffer, otherwise the buffer never becomes unreachable.
+        this.cleanable = file == null ? null : CLEANER.register(this, () -> delete(file));
+    }
+
+    /**
+     * Reads all remaining rows of the result set.
+     * <p>
+     * The result set is not closed.
+     *
+     * @param resultSet    result set to read
+     * @param memoryBudget the estimated amount of memory the rows may occupy on the heap in bytes
+     * @return a buffer containing all remaining rows
+     * @throws SQLException if a database access error occurs or the rows could not be written to disk
+     */
+    public static SpillableRowBuffer drain(ResultSet resultSet, long memoryBudget) throws SQLException {
+        var meta = BufferedResultSetMetaData.of(resultSet.getMetaData());
+        var memory = RowBuffer.create(meta, 16);
+        while (resultSet.next()) {
+            if (memory.estimatedBytes() >= memoryBudget) return spill(resultSet, memory);
+            memory.read(resultSet);
+        }
+        return new SpillableRowBuffer(memory, null, new long[0], new long[0], new MappedByteBuffer[0], 0);
+    }
+
+    /**
+     * Writes the current and all remaining rows of the result set to a temporary file and maps it.
+     */
+    private static SpillableRowBuffer spill(ResultSet resultSet, RowBuffer memory) throws SQLException {
+        Path file = null;
+        try {
+            file = Files.createTempFile("sadu-spill", ".rows");
+            var scratch = RowBuffer.create(memory.metaData(), 1);
+            var offsets = new long[1024];
+            var segmentStarts = new ArrayList<Long>(List.of(0L));
+            var rows = 0;
+            var position = 0L;
+            var row = new ByteArrayOutputStream();
+            var rowOut = new DataOutputStream(row);
+            try (var out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+                do {
+                    scratch.clear();
+                    scratch.read(resultSet);
+                    row.reset();
+                    for (var column = 1; column <= scratch.columnCount(); column++) {
+                        write(rowOut, scratch.value(0, column));
+                    }
+                    if (row.size() > SEGMENT_SIZE) throw new SQLException("Row %d is too large to be spilled".formatted(memory.size() + rows));
+                    if (position + row.size() - segmentStarts.get(segmentStarts.size() - 1) > SEGMENT_SIZE) segmentStarts.add(position);
+                    if (rows + 1 == offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    offsets[rows++] = position;
+                    row.writeTo(out);
+                    position += row.size();
+                } while (resultSet.next());
+            }
+            offsets[rows] = position;
+            var starts = segmentStarts.stream().mapToLong(Long::longValue).toArray();
+            var segments = new MappedByteBuffer[starts.length];
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (var i = 0; i < starts.length; i++) {
+                    var end = i + 1 < starts.length ? starts[i + 1] : position;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, starts[i], end - starts[i]);
+                }
+            }
+            return new SpillableRowBuffer(memory, file, Arrays.copyOf(offsets, rows + 1), starts, segments, rows);
+        } catch (IOException e) {
+            delete(file);
+            throw new SQLException("Could not spill rows to disk", e);
+        } catch (SQLException | RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INT);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Float number) {
+            out.writeByte(FLOAT);
+            out.writeFloat(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(BYTES);
+            writeBytes(out, bytes);
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(DECIMAL);
+            writeBytes(out, decimal.toString().getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Timestamp timestamp) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof Date date) {
+            out.writeByte(DATE);
+            out.writeLong(date.getTime());
+        } else if (value instanceof Time time) {
+            out.writeByte(TIME);
+            out.writeLong(time.getTime());
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(ID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof BufferedArray array) {
+            out.writeByte(ARRAY);
+            out.writeInt(array.getBaseType());
+            writeBytes(out, array.getBaseTypeName().getBytes(StandardCharsets.UTF_8));
+            writeBytes(out, serialize(array.getArray()));
+        } else {
+            out.writeByte(SERIALIZED);
+            writeBytes(out, serialize(value));
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        if (!(value instanceof Serializable)) {
+            throw new IOException("Values of type %s can not be spilled to disk".formatted(value.getClass().getName()));
+        }
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(ByteBuffer in) throws SQLException {
+        var type = in.get();
+        return switch (type) {
+            case NULL -> null;
+            case INT -> in.getInt();
+            case LONG -> in.getLong();
+            case FLOAT -> in.getFloat();
+            case DOUBLE -> in.getDouble();
+            case BOOLEAN -> in.get() != 0;
+            case STRING -> new String(readBytes(in), StandardCharsets.UTF_8);
+            case BYTES -> readBytes(in);
+            case DECIMAL -> new BigDecimal(new String(readBytes(in), StandardCharsets.UTF_8));
+            case TIMESTAMP -> {
+                var timestamp = new Timestamp(in.getLong());
+                timestamp.setNanos(in.getInt());
+                yield timestamp;
+            }
+            case DATE -> new Date(in.getLong());
+            case TIME -> new Time(in.getLong());
+            case ID -> new UUID(in.getLong(), in.getLong());
+            case ARRAY -> new BufferedArray(in.getInt(), new String(readBytes(in), StandardCharsets.UTF_8), deserialize(readBytes(in)));
+            case SERIALIZED -> deserialize(readBytes(in));
+            default -> throw new SQLException("Unknown value type %d in spilled row".formatted(type));
+        };
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        var bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static Object deserialize(byte[] bytes) throws SQLException {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SQLException("Could not read spilled value", e);
+        }
+    }
+
+    /**
+     * The amount of rows in this buffer.
+     *
+     * @return row count
+     */
+    public int size() {
+        return memory.size() + spilled;
+    }
+
+    /**
+     * The amount of rows held on the heap.
+     *
+     * @return row count
+     */
+    public int memoryRows() {
+        return memory.size();
+    }
+
+    /**
+     * Checks whether rows were written to disk.
+     *
+     * @return true if rows were spilled
+     */
+    public boolean spilled() {
+        return spilled != 0;
+    }
+
+    /**
+     * Creates a new read only result set containing only the requested row. The result set is positioned before the row.
+     *
+     * @param row row, starting at 0
+     * @return new result set
+     * @throws SQLException if the spilled row could not be read
+     */
+    public ResultSet resultSet(int row) throws SQLException {
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("Row %d is out of bounds for %d rows".formatted(row, size()));
+        }
+        if (row < memory.size()) return memory.resultSet(row, row + 1);
+        if (closed) throw new SQLException("The buffer was closed. Spilled rows can no longer be read.");
+        var index = row - memory.size();
+        var segment = segment(offsets[index]);
+        var in = segments[segment].duplicate();
+        in.position((int) (offsets[index] - segmentStarts[segment]));
+        var values = new Object[memory.columnCount()];
+        for (var i = 0; i < values.length; i++) {
+            values[i] = read(in);
+        }
+        var buffer = RowBuffer.create(memory.metaData(), 1);
+        buffer.add(values);
+        return buffer.resultSet();
+    }
+
+    private int segment(long offset) {
+        var index = Arrays.binarySearch(segmentStarts, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Deletes the temporary file. Spilled rows can no longer be read afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (cleanable != null) cleanable.clean();
+    }
+
+    private static void delete(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Mapped files can not be deleted on some systems. Only those files are deleted on exit instead.
+            file.toFile().deleteOnExit();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 module de.chojo.sadu.mapper {
     requires transitive de.chojo.sadu.core;
+    requires java.sql.rowset;
 
     exports de.chojo.sadu.mapper;
     exports de.chojo.sadu.mapper.reader;
@@ -0,0 +1,207 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.mapper.wrapper;
+
+import de.chojo.sadu.core.fake.FakeColumn;
+import de.chojo.sadu.core.fake.FakeResultSet;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BufferedResultSetTest {
+    private static final UUID ID = UUID.fromString("8a1f0c4e-2d3b-4c5a-9e6f-7a8b9c0d1e2f");
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 5, 17, 13, 45, 30);
+
+    /**
+     * Buffers a single row with one column of every kind and positions the buffered result set on it.
+     */
+    private static ResultSet buffered(Object... values) throws SQLException {
+        var fake = FakeResultSet.of(
+                FakeColumn.of("int", Types.INTEGER),
+                FakeColumn.of("big", Types.BIGINT),
+                FakeColumn.of("double", Types.DOUBLE),
+                FakeColumn.of("bool", Types.BOOLEAN),
+                FakeColumn.of("text", Types.VARCHAR),
+                FakeColumn.of("data", Types.BINARY),
+                FakeColumn.of("created", Types.TIMESTAMP),
+                FakeColumn.of("day", Types.DATE),
+                FakeColumn.of("time", Types.TIME),
+                FakeColumn.of("uuid", Types.OTHER),
+                FakeColumn.of("numbers", Types.ARRAY),
+                FakeColumn.of("blob", Types.BLOB),
+                FakeColumn.of("clob", Types.CLOB));
+        var resultSet = RowBuffer.drain(fake.rows(values).resultSet()).resultSet();
+        assertTrue(resultSet.next());
+        return resultSet;
+    }
+
+    private static ResultSet row() throws SQLException {
+        return buffered(new Object[]{42, 5_000_000_000L, 2.5, true, "17", new byte[]{1, 2}, Timestamp.valueOf(CREATED),
+                Date.valueOf(CREATED.toLocalDate()), Time.valueOf(CREATED.toLocalTime()), ID.toString(),
+                new BufferedArray(Types.INTEGER, "int4", new Integer[]{1, 2, 3}),
+                new SerialBlob(new byte[]{3, 4}), new SerialClob("clob".toCharArray())});
+    }
+
+    /**
+     * Buffers a single row of text columns named by their index, starting at c1.
+     */
+    private static ResultSet text(String... values) throws SQLException {
+        var columns = new FakeColumn[values.length];
+        for (var i = 0; i < values.length; i++) columns[i] = FakeColumn.of("c" + (i + 1), Types.VARCHAR);
+        var resultSet = RowBuffer.drain(FakeResultSet.of(columns).rows(new Object[][]{values}).resultSet()).resultSet();
+        assertTrue(resultSet.next());
+        return resultSet;
+    }
+
+    private static ResultSet nulls() throws SQLException {
+        return buffered(new Object[13]);
+    }
+
+    @Test
+    void numericConversions() throws SQLException {
+        var row = row();
+        assertEquals(42, row.getInt("int"));
+        assertEquals(42L, row.getLong(1));
+        assertEquals("42", row.getString(1));
+        assertEquals(42.0, row.getDouble(1));
+        assertEquals(5_000_000_000L, row.getLong("big"));
+        assertEquals(2, row.getInt("double"));
+        assertEquals(2.5f, row.getFloat("double"));
+        assertEquals(17, row.getInt("text"));
+        assertEquals(new BigDecimal("17"), row.getBigDecimal("text"));
+        assertEquals(BigDecimal.valueOf(42), row.getBigDecimal("int"));
+        assertTrue(row.getBoolean("bool"));
+        assertTrue(row.getBoolean("int"));
+        assertEquals(1, row.getInt("bool"));
+    }
+
+    @Test
+    void objectConversions() throws SQLException {
+        var row = row();
+        assertEquals(42, row.getObject("int"));
+        assertEquals(Long.valueOf(42), row.getObject("int", Long.class));
+        assertEquals(Short.valueOf((short) 42), row.getObject("int", Short.class));
+        assertEquals("42", row.getObject("int", String.class));
+        assertEquals(5_000_000_000L, row.getObject("big"));
+        assertEquals(Integer.valueOf(17), row.getObject("text", Integer.class));
+        assertEquals(Boolean.TRUE, row.getObject("bool", Boolean.class));
+        assertEquals(ID, row.getObject("uuid", UUID.class));
+        assertThrows(SQLException.class, () -> row.getObject("bool", UUID.class));
+        assertThrows(SQLException.class, () -> row.getObject("int", Thread.class));
+    }
+
+    @Test
+    void temporalConversions() throws SQLException {
+        var row = row();
+        assertEquals(Timestamp.valueOf(CREATED), row.getTimestamp("created"));
+        assertEquals(CREATED, row.getObject("created", LocalDateTime.class));
+        assertEquals(Timestamp.valueOf(CREATED).toInstant(), row.getObject("created", Instant.class));
+        assertEquals(Timestamp.valueOf(CREATED).toInstant().atOffset(ZoneOffset.UTC), row.getObject("created", OffsetDateTime.class));
+        assertEquals(CREATED.toLocalDate(), row.getObject("created", LocalDate.class));
+        assertEquals(Date.valueOf(CREATED.toLocalDate()), row.getDate("created"));
+        assertEquals(CREATED.toLocalDate(), row.getObject("day", LocalDate.class));
+        assertEquals(Timestamp.valueOf(CREATED.toLocalDate().atStartOfDay()), row.getTimestamp("day"));
+        assertEquals(CREATED.toLocalTime(), row.getObject("time", LocalTime.class));
+        assertEquals(CREATED.toLocalTime().atOffset(ZoneOffset.UTC), row.getObject("time", OffsetTime.class));
+        assertEquals(Time.valueOf(CREATED.toLocalTime()), row.getTime("time"));
+    }
+
+    @Test
+    void textConversions() throws SQLException {
+        var row = text("yes", "2024-05-17 13:45:30", "2024-05-17T13:45:30+02:00", "2024-05-17", "13:45:30+02:00", "13:45:30", ID.toString(), "2.75");
+        assertTrue(row.getBoolean(1));
+        assertThrows(SQLException.class, () -> row.getBoolean(2));
+        assertEquals(Timestamp.valueOf(CREATED), row.getTimestamp(2));
+        assertEquals(CREATED, row.getObject(2, LocalDateTime.class));
+        assertEquals(OffsetDateTime.of(CREATED, ZoneOffset.ofHours(2)), row.getObject(3, OffsetDateTime.class));
+        assertEquals(CREATED.toLocalDate(), row.getObject(4, LocalDate.class));
+        assertEquals(OffsetTime.of(CREATED.toLocalTime(), ZoneOffset.ofHours(2)), row.getObject(5, OffsetTime.class));
+        assertEquals(CREATED.toLocalTime(), row.getObject(6, LocalTime.class));
+        assertEquals(ID, row.getObject(7, UUID.class));
+        assertEquals(2.75, row.getDouble(8));
+        assertEquals(2, row.getInt(8));
+        assertThrows(SQLException.class, () -> row.getInt(1));
+    }
+
+    @Test
+    void nullValues() throws SQLException {
+        var row = nulls();
+        assertEquals(0, row.getInt("int"));
+        assertTrue(row.wasNull());
+        assertEquals(0, row.getLong("big"));
+        assertTrue(row.wasNull());
+        assertEquals(0.0, row.getDouble("double"));
+        assertTrue(row.wasNull());
+        assertFalse(row.getBoolean("bool"));
+        assertTrue(row.wasNull());
+        assertNull(row.getString("text"));
+        assertTrue(row.wasNull());
+        assertNull(row.getObject("created", LocalDateTime.class));
+        assertNull(row.getBytes("data"));
+        assertNull(row.getBlob("data"));
+        assertNull(row.getArray("numbers"));
+        assertTrue(row.wasNull());
+
+        var values = row();
+        values.getInt("int");
+        assertFalse(values.wasNull());
+    }
+
+    @Test
+    void binaryAndLargeObjects() throws SQLException {
+        var row = row();
+        assertArrayEquals(new byte[]{1, 2}, row.getBytes("data"));
+        assertArrayEquals(new byte[]{1, 2}, row.getBlob("data").getBytes(1, 2));
+        // Blobs and clobs are materialized while buffering
+        assertArrayEquals(new byte[]{3, 4}, row.getBytes("blob"));
+        assertArrayEquals(new byte[]{3, 4}, row.getBlob("blob").getBytes(1, 2));
+        assertEquals("clob", row.getString("clob"));
+        assertEquals("clob", row.getClob("clob").getSubString(1, 4));
+        assertEquals("17", row.getClob("text").getSubString(1, 2));
+    }
+
+    @Test
+    void arraysAreBuffered() throws SQLException {
+        var array = row().getArray("numbers");
+        assertEquals(Types.INTEGER, array.getBaseType());
+        assertEquals("int4", array.getBaseTypeName());
+        assertArrayEquals(new Object[]{1, 2, 3}, (Object[]) array.getArray());
+        assertArrayEquals(new Object[]{2, 3}, (Object[]) array.getArray(2, 2));
+    }
+
+    @Test
+    void closedResultSetIsRejected() throws SQLException {
+        var row = row();
+        assertFalse(row.next());
+        assertThrows(SQLException.class, () -> row.getInt(1));
+        row.close();
+        assertThrows(SQLException.class, row::next);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.mapper.wrapper;
+
+import de.chojo.sadu.core.fake.FakeColumn;
+import de.chojo.sadu.core.fake.FakeResultSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpillableRowBufferTest {
+    private static final UUID ID = UUID.randomUUID();
+
+    /**
+     * Creates a result set with {@code rows} rows. The name of every tenth row is null.
+     */
+    private static ResultSet resultSet(int rows) {
+        return FakeResultSet.of(
+                        FakeColumn.of("id", Types.INTEGER),
+                        FakeColumn.of("name", Types.VARCHAR),
+                        FakeColumn.of("data", Types.BINARY),
+                        FakeColumn.of("created", Types.TIMESTAMP),
+                        FakeColumn.of("uuid", Types.OTHER))
+                .rows(rows, row -> {
+                    var id = row + 1;
+                    return new Object[]{id, id % 10 == 0 ? null : "name " + id, new byte[]{(byte) id, 1, 2}, new Timestamp(id * 1000L), ID};
+                })
+                .resultSet();
+    }
+
+    private static long spillFiles() throws IOException {
+        try (var files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("sadu-spill")).count();
+        }
+    }
+
+    @Test
+    void rowsWithinBudgetStayInMemory() throws SQLException {
+        try (var buffer = SpillableRowBuffer.drain(resultSet(10), Long.MAX_VALUE)) {
+            assertEquals(10, buffer.size());
+            assertEquals(10, buffer.memoryRows());
+            assertFalse(buffer.spilled());
+        }
+    }
+
+    @Test
+    void rowsBeyondBudgetAreSpilled() throws SQLException {
+        try (var buffer = SpillableRowBuffer.drain(resultSet(100), 1000)) {
+            assertEquals(100, buffer.size());
+            assertTrue(buffer.spilled());
+            assertTrue(buffer.memoryRows() > 0 && buffer.memoryRows() < 100);
+
+            // Read in random order to access both parts of the buffer
+            for (var row : new int[]{99, 0, 49, buffer.memoryRows(), buffer.memoryRows() - 1}) {
+                var resultSet = buffer.resultSet(row);
+                assertTrue(resultSet.next());
+                var id = row + 1;
+                assertEquals(id, resultSet.getInt("id"));
+                if (id % 10 == 0) assertNull(resultSet.getString("name"));
+                else assertEquals("name " + id, resultSet.getString("name"));
+                assertArrayEquals(new byte[]{(byte) id, 1, 2}, resultSet.getBytes("data"));
+                assertEquals(new Timestamp(id * 1000L), resultSet.getTimestamp("created"));
+                assertEquals(ID, resultSet.getObject("uuid"));
+                assertFalse(resultSet.next());
+            }
+        }
+    }
+
+    @Test
+    void closeDeletesSpillFile() throws SQLException, IOException {
+        var before = spillFiles();
+        var buffer = SpillableRowBuffer.drain(resultSet(100), 1000);
+        assertEquals(before + 1, spillFiles());
+        buffer.close();
+        assertEquals(before, spillFiles());
+    }
+
+    @Test
+    void closedBufferRejectsSpilledRows() throws SQLException {
+        var buffer = SpillableRowBuffer.drain(resultSet(100), 1000);
+        buffer.close();
+        assertTrue(buffer.resultSet(0).next());
+        assertThrows(SQLException.class, () -> buffer.resultSet(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.resultSet(100));
+    }
+}
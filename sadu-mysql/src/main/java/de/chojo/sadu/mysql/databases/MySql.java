@@ -12,6 +12,12 @@ import de.chojo.sadu.core.updater.UpdaterBuilder;
 import de.chojo.sadu.mysql.jdbc.MySQLJdbc;
 import de.chojo.sadu.updater.BaseSqlUpdaterBuilder;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
 /**
  * Represents a SqLite database.
  */
@@ -59,4 +65,35 @@ public class MySql implements DefaultDatabase<MySQLJdbc, BaseSqlUpdaterBuilder<M
     public UpdaterBuilder<MySQLJdbc, BaseSqlUpdaterBuilder<MySQLJdbc, ?>> newSqlUpdaterBuilder() {
         return new BaseSqlUpdaterBuilder<>(this);
     }
+
+    @Override
+    public String upsertClause(List<String> keys, List<String> columns) {
+        // Updating a key with itself keeps the existing row.
+        // The row alias replaces VALUES(column), which is deprecated since MySQL 8.0.20. It requires MySQL 8.0.19.
+        var updates = (columns.isEmpty() ? keys.subList(0, 1) : columns).stream()
+                .map(column -> "%s = new.%s".formatted(column, column))
+                .collect(Collectors.joining(", "));
+        return "AS new ON DUPLICATE KEY UPDATE " + updates;
+    }
+
+    @Override
+    public int maxParameters() {
+        return 65535;
+    }
+
+    /**
+     * Checks the {@code allowMultiQueries} parameter of the jdbc url, ignoring the case.
+     * <p>
+     * Parameters set via the data source or the driver properties are not visible here.
+     * Use {@code QueryConfigurationBuilder#setMultiStatements} in that case.
+     *
+     * @param connection connection of the database
+     * @return true if the url enables multiple queries
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public boolean supportsMultiStatements(Connection connection) throws SQLException {
+        var url = connection.getMetaData().getURL();
+        return url != null && url.toLowerCase(Locale.ROOT).contains("allowmultiqueries=true");
+    }
 }
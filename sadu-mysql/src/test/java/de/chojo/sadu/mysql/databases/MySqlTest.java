@@ -0,0 +1,46 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.mysql.databases;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MySqlTest {
+    @Test
+    void upsertUsesRowAlias() {
+        assertEquals("AS new ON DUPLICATE KEY UPDATE name = new.name, age = new.age",
+                MySql.get().upsertClause(List.of("id"), List.of("name", "age")));
+    }
+
+    @Test
+    void upsertWithoutColumnsKeepsRow() {
+        assertEquals("AS new ON DUPLICATE KEY UPDATE id = new.id", MySql.get().upsertClause(List.of("id"), List.of()));
+    }
+
+    @Test
+    void multiQueriesAreDetectedIgnoringCase() throws SQLException {
+        assertTrue(MySql.get().supportsMultiStatements(connection("jdbc:mysql://localhost/db?allowMultiQueries=true")));
+        assertTrue(MySql.get().supportsMultiStatements(connection("jdbc:mysql://localhost/db?ALLOWMULTIQUERIES=TRUE")));
+        assertFalse(MySql.get().supportsMultiStatements(connection("jdbc:mysql://localhost/db")));
+    }
+
+    private static Connection connection(String url) {
+        var metaData = (DatabaseMetaData) Proxy.newProxyInstance(MySqlTest.class.getClassLoader(), new Class[]{DatabaseMetaData.class},
+                (proxy, method, args) -> method.getName().equals("getURL") ? url : null);
+        return (Connection) Proxy.newProxyInstance(MySqlTest.class.getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> method.getName().equals("getMetaData") ? metaData : null);
+    }
+}
@@ -11,6 +11,10 @@ import de.chojo.sadu.postgresql.jdbc.PostgreSqlJdbc;
 import de.chojo.sadu.postgresql.updater.PostgreSqlUpdaterBuilder;
 import de.chojo.sadu.updater.BaseSqlUpdaterBuilder;
 
+import java.sql.Connection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Represents a PostgreSQL database.
  */
@@ -78,4 +82,34 @@ public class PostgreSql implements DefaultDatabase<PostgreSqlJdbc, PostgreSqlUpd
     public BaseSqlUpdaterBuilder<PostgreSqlJdbc, PostgreSqlUpdaterBuilder> newSqlUpdaterBuilder() {
         return new PostgreSqlUpdaterBuilder(this);
     }
+
+    @Override
+    public String upsertClause(List<String> keys, List<String> columns) {
+        if (columns.isEmpty()) {
+            return "ON CONFLICT (%s) DO NOTHING".formatted(String.join(", ", keys));
+        }
+        var updates = columns.stream().map(column -> "%s = excluded.%s".formatted(column, column)).collect(Collectors.joining(", "));
+        return "ON CONFLICT (%s) DO UPDATE SET %s".formatted(String.join(", ", keys), updates);
+    }
+
+    @Override
+    public int maxParameters() {
+        // Older drivers limit the amount of parameters to a signed short
+        return 32767;
+    }
+
+    @Override
+    public boolean supportsMultiStatements(Connection connection) {
+        return true;
+    }
+
+    @Override
+    public boolean supportsUnnest() {
+        return true;
+    }
+
+    @Override
+    public boolean cursorRequiresTransaction() {
+        return true;
+    }
 }
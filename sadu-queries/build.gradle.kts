@@ -10,6 +10,7 @@ dependencies {
     api(project(":sadu-mapper"))
     testImplementation("org.postgresql", "postgresql", "42.7.5")
     testImplementation(testlibs.bundles.junit)
+    testImplementation(testFixtures(project(":sadu-core")))
     testImplementation(project(":sadu-datasource"))
     testImplementation(project(":sadu-postgresql"))
 
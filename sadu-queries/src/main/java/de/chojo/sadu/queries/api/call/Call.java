@@ -81,6 +81,42 @@ public sealed interface Call permits CallImpl {
 
     Call bind(String token, BigDecimal value);
 
+    Call bind(short value);
+
+    Call bind(String token, short value);
+
+    Call bind(byte value);
+
+    Call bind(String token, byte value);
+
+    /**
+     * Binds an int.
+     * <p>
+     * A {@code char} widens to this overload and is bound as its numeric value. Use {@link #bind(String)} to bind it as text.
+     *
+     * @param value value to bind
+     * @return the same call
+     */
+    Call bind(int value);
+
+    Call bind(String token, int value);
+
+    Call bind(long value);
+
+    Call bind(String token, long value);
+
+    Call bind(float value);
+
+    Call bind(String token, float value);
+
+    Call bind(double value);
+
+    Call bind(String token, double value);
+
+    Call bind(boolean value);
+
+    Call bind(String token, boolean value);
+
     Call bind(Boolean value);
 
     Call bind(String token, Boolean value);
@@ -0,0 +1,105 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.call;
+
+import de.chojo.sadu.queries.api.call.adapter.Adapter;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+
+/**
+ * A reusable set of parameters for a single query.
+ * <p>
+ * The slots of the template are resolved once from the query. Every indexed parameter {@code ?} and every named token is one slot.
+ * Values are set in place and stay set until they are replaced, which allows executing the same template in a loop without creating new calls.
+ * <pre>{@code
+ * CallTemplate template = query.query("INSERT INTO users(id, name) VALUES (?, :name)").template();
+ * for (User user : users) {
+ *     template.set(0, user.id()).set("name", user.name()).addBatch();
+ * }
+ * template.executeBatch();
+ * }</pre>
+ * A template is not thread safe.
+ */
+public interface CallTemplate {
+    CallTemplate set(int index, int value);
+
+    CallTemplate set(int index, long value);
+
+    CallTemplate set(int index, float value);
+
+    CallTemplate set(int index, double value);
+
+    CallTemplate set(int index, boolean value);
+
+    CallTemplate set(int index, String value);
+
+    /**
+     * Sets the value of an indexed parameter.
+     *
+     * @param index   index of the parameter, starting at 0 for the first {@code ?}
+     * @param value   value or null
+     * @param adapter adapter used to set the value
+     * @param <T>     type of the value
+     * @return the same template
+     * @throws de.chojo.sadu.queries.exception.IllegalQueryParameterException if the query has no parameter with this index
+     */
+    <T> CallTemplate set(int index, T value, Adapter<T> adapter);
+
+    CallTemplate set(String token, int value);
+
+    CallTemplate set(String token, long value);
+
+    CallTemplate set(String token, float value);
+
+    CallTemplate set(String token, double value);
+
+    CallTemplate set(String token, boolean value);
+
+    CallTemplate set(String token, String value);
+
+    /**
+     * Sets the value of a named parameter.
+     *
+     * @param token   token with or without the leading colon
+     * @param value   value or null
+     * @param adapter adapter used to set the value
+     * @param <T>     type of the value
+     * @return the same template
+     * @throws de.chojo.sadu.queries.exception.IllegalQueryParameterException if the query has no parameter with this token
+     */
+    <T> CallTemplate set(String token, T value, Adapter<T> adapter);
+
+    /**
+     * Adds the current values as a row of the batch executed by {@link #executeBatch()}.
+     *
+     * @return the same template
+     * @throws de.chojo.sadu.queries.exception.IllegalQueryParameterException if a slot was never set
+     */
+    CallTemplate addBatch();
+
+    /**
+     * The amount of rows added via {@link #addBatch()}, which were not executed yet.
+     *
+     * @return amount of rows
+     */
+    int batchSize();
+
+    /**
+     * Executes the query once with the current values.
+     *
+     * @return The {@link ManipulationResult} of the execution.
+     * @throws de.chojo.sadu.queries.exception.IllegalQueryParameterException if a slot was never set
+     */
+    ManipulationResult update();
+
+    /**
+     * Executes all added rows as one jdbc batch and clears the batch.
+     *
+     * @return The {@link ManipulationBatchResult} containing one result per row.
+     */
+    ManipulationBatchResult<ManipulationResult> executeBatch();
+}
@@ -0,0 +1,74 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.call;
+
+import de.chojo.sadu.queries.call.ColumnBatchImpl;
+
+import java.util.BitSet;
+
+/**
+ * Parameters of a batch held as one array per column.
+ * <p>
+ * The columns are bound to the indexed parameters of the query in the order they were added. Row {@code i} of the batch consists of the value at index {@code i} of every column.
+ * Null values are marked in a bitmap, where a set bit marks the row as null. Null elements of string columns are always null.
+ * <pre>{@code
+ * ColumnBatch columns = ColumnBatch.create().add(ids).add(values, missingValues).add(names);
+ * query.query("INSERT INTO measurements(id, value, name) VALUES (?, ?, ?)").batchColumns(columns);
+ * }</pre>
+ */
+public interface ColumnBatch {
+    /**
+     * Creates a new empty column batch.
+     *
+     * @return new column batch
+     */
+    static ColumnBatch create() {
+        return new ColumnBatchImpl();
+    }
+
+    ColumnBatch add(int[] values);
+
+    ColumnBatch add(int[] values, BitSet nulls);
+
+    ColumnBatch add(long[] values);
+
+    ColumnBatch add(long[] values, BitSet nulls);
+
+    ColumnBatch add(double[] values);
+
+    ColumnBatch add(double[] values, BitSet nulls);
+
+    ColumnBatch add(boolean[] values);
+
+    ColumnBatch add(boolean[] values, BitSet nulls);
+
+    /**
+     * Adds a column of strings.
+     *
+     * @param values values of the column. Null elements are bound as null.
+     * @return the same column batch
+     * @throws IllegalArgumentException if the column length differs from the other columns
+     */
+    ColumnBatch add(String[] values);
+
+    /**
+     * Sets the maximum amount of rows executed per statement.
+     * <p>
+     * Default: 1000
+     *
+     * @param rows rows per statement
+     * @return the same column batch
+     */
+    ColumnBatch chunkSize(int rows);
+
+    /**
+     * The amount of rows in this batch.
+     *
+     * @return rows
+     */
+    int rows();
+}
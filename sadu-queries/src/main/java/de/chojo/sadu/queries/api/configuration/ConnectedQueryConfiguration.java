@@ -6,8 +6,17 @@
 
 package de.chojo.sadu.queries.api.configuration;
 
+import de.chojo.sadu.queries.api.execution.writing.MultiStatementBatch;
+
 import java.sql.Connection;
 
 public interface ConnectedQueryConfiguration extends ActiveQueryConfiguration, AutoCloseable {
     Connection connection();
+
+    /**
+     * Creates a batch of different queries, which are executed on the connection of this configuration in a single round trip.
+     *
+     * @return new empty batch
+     */
+    MultiStatementBatch multiStatement();
 }
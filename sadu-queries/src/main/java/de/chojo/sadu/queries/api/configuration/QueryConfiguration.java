@@ -6,17 +6,24 @@
 
 package de.chojo.sadu.queries.api.configuration;
 
+import de.chojo.sadu.core.databases.Database;
 import de.chojo.sadu.mapper.RowMapperRegistry;
 import de.chojo.sadu.queries.api.configuration.context.QueryContext;
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
 import de.chojo.sadu.queries.api.query.ParsedQuery;
 import de.chojo.sadu.queries.configuration.ConnectedQueryConfigurationImpl;
 import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import de.chojo.sadu.queries.writer.GroupCommitWriterBuilder;
 import org.intellij.lang.annotations.Language;
+import org.jetbrains.annotations.Nullable;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -53,7 +60,16 @@ public interface QueryConfiguration extends de.chojo.sadu.queries.configuration.
                 .setAtomic(atomic())
                 .setExceptionHandler(exceptionHandler())
                 .setRowMapperRegistry(rowMapperRegistry())
-                .setThrowExceptions(throwExceptions());
+                .setThrowExceptions(throwExceptions())
+                .setConcurrencyLimiter(concurrencyLimiter())
+                .setBatchParallelism(batchParallelism())
+                .setDatabase(database())
+                .setBatchSizeController(batchSizeController())
+                .setFetchSize(fetchSize())
+                .setFetchMemoryBudget(fetchMemoryBudget())
+                .setResultLimit(resultLimit())
+                .setExecutor(executor())
+                .setMultiStatements(multiStatements());
     }
 
     /**
@@ -75,6 +91,15 @@ public interface QueryConfiguration extends de.chojo.sadu.queries.configuration.
         return new QueryConfigurationBuilder(source);
     }
 
+    /**
+     * Creates a builder for a {@link de.chojo.sadu.queries.api.writer.GroupCommitWriter}, which commits writes of concurrent callers in shared transactions.
+     *
+     * @return new builder instance
+     */
+    default GroupCommitWriterBuilder groupCommit() {
+        return new GroupCommitWriterBuilder(this);
+    }
+
     /**
      * Returns a new QueryConfiguration object with the provided query and other configuration settings.
      *
@@ -118,6 +143,88 @@ public interface QueryConfiguration extends de.chojo.sadu.queries.configuration.
      */
     Consumer<SQLException> exceptionHandler();
 
+    /**
+     * Retrieves the limiter, which bounds the amount of concurrent database calls.
+     *
+     * @return concurrency limiter
+     */
+    ConcurrencyLimiter concurrencyLimiter();
+
+    /**
+     * Retrieves the amount of connections used to execute a batch of a non atomic configuration.
+     *
+     * @return batch parallelism
+     */
+    int batchParallelism();
+
+    /**
+     * Retrieves the database type of the data source.
+     *
+     * @return database type or null if it was not set
+     */
+    @Nullable
+    Database<?, ?> database();
+
+    /**
+     * Retrieves the controller, which decides how many rows are sent in one jdbc batch.
+     *
+     * @return batch size controller or null if it was not set
+     */
+    @Nullable
+    BatchSizeController batchSizeController();
+
+    /**
+     * Retrieves the amount of rows fetched per round trip while reading.
+     *
+     * @return fetch size or 0 if the default of the driver is used
+     */
+    int fetchSize();
+
+    /**
+     * Retrieves the amount of memory a single fetch of rows should occupy.
+     *
+     * @return budget in bytes or 0 if the fetch size is fixed
+     */
+    long fetchMemoryBudget();
+
+    /**
+     * Retrieves the limit for results, which are read into memory.
+     *
+     * @return result limit
+     */
+    ResultLimit resultLimit();
+
+    /**
+     * Retrieves the executor, which runs the work of a single query on multiple threads.
+     *
+     * @return executor
+     */
+    Executor executor();
+
+    /**
+     * Retrieves whether a prepared statement may contain multiple queries.
+     *
+     * @return true or false if it was set explicitly or null if the {@link #database()} decides
+     */
+    @Nullable
+    Boolean multiStatements();
+
+    /**
+     * Checks whether a prepared statement on this connection may contain multiple queries separated by a semicolon.
+     * <p>
+     * The explicit setting of the configuration has precedence over {@link Database#supportsMultiStatements(Connection)}.
+     *
+     * @param connection connection of the database
+     * @return true if multiple queries are supported
+     * @throws SQLException if a database access error occurs
+     */
+    default boolean supportsMultiStatements(Connection connection) throws SQLException {
+        var multiStatements = multiStatements();
+        if (multiStatements != null) return multiStatements;
+        var database = database();
+        return database != null && database.supportsMultiStatements(connection);
+    }
+
     /**
      * Executes a SQL query with the given SQL statement and format arguments.
      *
@@ -7,10 +7,15 @@
 package de.chojo.sadu.queries.api.execution.reading;
 
 import de.chojo.sadu.queries.api.query.AppendedQuery;
+import de.chojo.sadu.queries.api.results.reading.ColumnarResult;
 import de.chojo.sadu.queries.api.results.reading.Result;
+import de.chojo.sadu.queries.api.results.reading.SpillableList;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Interface for retrieving data from a query.
@@ -27,6 +32,29 @@ public interface Reader<V> {
      */
     Result<V> firstResult();
 
+    /**
+     * Reads the rows of the query into a buffer and maps them after the connection was returned.
+     * <p>
+     * Use this when the mapping is expensive, to keep the time a connection is in use as short as possible.
+     * The rows are held in memory until they are mapped.
+     *
+     * @return the same reader
+     */
+    Reader<V> detached();
+
+    /**
+     * Limits the amount of rows and their estimated size read into memory by this query.
+     * <p>
+     * This overrides the {@link de.chojo.sadu.queries.api.configuration.QueryConfiguration#resultLimit() limit of the configuration}.
+     * The limit applies to reading all rows. Streams and pages are not limited.
+     * Once the limit is exceeded, the statement is cancelled and either a {@link de.chojo.sadu.queries.exception.ResultLimitExceededException} is thrown
+     * or the rows read so far are returned as {@link Result#truncated() truncated} result.
+     *
+     * @param limit the limit
+     * @return the same reader
+     */
+    Reader<V> limit(ResultLimit limit);
+
     /**
      * Retrieves all the results of the query.
      * <p>
@@ -68,4 +96,91 @@ public interface Reader<V> {
      * @return a List of all elements
      */
     List<V> all();
+
+    /**
+     * Retrieves all elements from the Reader and maps them in parallel.
+     * <p>
+     * The rows are read into a buffer first and mapped after the connection was returned.
+     * Chunks of rows are mapped on the {@link de.chojo.sadu.queries.api.configuration.QueryConfiguration#executor() executor} of the configuration,
+     * using the parallelism of the {@link de.chojo.sadu.mapper.MapperConfig} or the amount of available processors if it is not set.
+     * The parallelism only applies to this call.
+     * The order of the rows is preserved. The mapper needs to be thread safe.
+     *
+     * @return a List of all elements
+     */
+    List<V> allParallel();
+
+    /**
+     * Retrieves all elements of the query, while keeping at most the memory budget of rows on the heap.
+     * <p>
+     * Rows are read into memory until their estimated size reaches the budget. All remaining rows are written to a memory mapped temporary file.
+     * Rows are mapped on access. The returned list needs to be closed to delete the temporary file.
+     *
+     * @param memoryBudget the estimated amount of memory the unmapped rows may occupy on the heap in bytes
+     * @return a read only list of all elements
+     */
+    SpillableList<V> allSpillable(long memoryBudget);
+
+    /**
+     * Reads all rows of the query into typed column vectors instead of mapping them.
+     * <p>
+     * The mapper of the reader is not used. This avoids an object per row for queries returning many rows with few columns, like aggregations.
+     * The {@link #limit(ResultLimit) limit} of the reader applies.
+     *
+     * @return the rows stored column wise. Empty if the query failed
+     */
+    ColumnarResult columnar();
+
+    /**
+     * Streams the rows of the query without loading the whole result into memory.
+     * <p>
+     * Rows are fetched in batches of the {@link de.chojo.sadu.queries.api.configuration.QueryConfiguration#fetchSize() fetch size} and mapped while the stream is consumed.
+     * If the database only uses cursors inside a transaction, like PostgreSQL, auto commit is disabled while the stream is open.
+     * <p>
+     * The stream is only valid inside the handler, as the connection is returned afterwards.
+     *
+     * @param handler consumes the stream
+     * @param <R>     type of the result of the handler
+     * @return the result of the handler or null if the query failed
+     */
+    <R> R stream(Function<Stream<V>, R> handler);
+
+    /**
+     * Streams the rows of the query and passes every mapped row to the consumer.
+     * <p>
+     * See {@link #stream(Function)} for details.
+     *
+     * @param consumer consumes every row
+     */
+    default void forEach(Consumer<? super V> consumer) {
+        stream(stream -> {
+            stream.forEach(consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Reads the rows of the query in pages using keyset pagination.
+     * <p>
+     * The query needs to be ordered by a unique key and contain a named {@code :after} token, which restricts the rows to keys after the previous page.
+     * The call binds the key to start after for the first page. Every following page binds the key of the last row of the previous page.
+     * <pre>{@code
+     * query("SELECT id, name FROM users WHERE id > :after ORDER BY id LIMIT :limit")
+     *         .single(Call.of().bind("after", 0))
+     *         .map(User.map())
+     *         .keysetPages(1000, User::id)
+     * }</pre>
+     * The query should contain a named {@code :limit} token, e.g. {@code LIMIT :limit} or {@code FETCH FIRST :limit ROWS ONLY}.
+     * The page size is bound to this token and must not be bound by the call. This way the database sees the limit and can read the page as a bounded range scan of the key index.
+     * Without the token, the query is executed as it is and the page is only limited via {@link java.sql.Statement#setMaxRows(int)}, which the database might not use to plan the query.
+     * <p>
+     * Pages are read lazily. Every page is read with its own connection, unless the configuration is bound to a connection.
+     * A long scan therefore does not hold a connection or a snapshot between pages.
+     * The stream ends with the first page containing fewer rows than the page size.
+     *
+     * @param pageSize     the maximum amount of rows per page
+     * @param keyExtractor extracts the key of a mapped row. The key is bound via {@link java.sql.PreparedStatement#setObject(int, Object)}
+     * @return a lazy stream of pages
+     */
+    Stream<List<V>> keysetPages(int pageSize, Function<V, ?> keyExtractor);
 }
@@ -0,0 +1,87 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.execution.reading;
+
+/**
+ * Limits the size of a result, which is read into memory.
+ * <p>
+ * Limits with a value of 0 are disabled. The size in bytes is estimated based on the column types and the sizes of the first rows.
+ *
+ * @param maxRows  the maximum amount of rows
+ * @param maxBytes the maximum estimated size of the rows in bytes
+ * @param truncate true to return the rows read until the limit was reached instead of throwing a
+ *                 {@link de.chojo.sadu.queries.exception.ResultLimitExceededException}
+ */
+public record ResultLimit(long maxRows, long maxBytes, boolean truncate) {
+    /**
+     * A limit, which does not restrict the result.
+     */
+    public static final ResultLimit NONE = new ResultLimit(0, 0, false);
+
+    public ResultLimit {
+        if (maxRows < 0) throw new IllegalArgumentException("Max rows must not be negative");
+        if (maxBytes < 0) throw new IllegalArgumentException("Max bytes must not be negative");
+    }
+
+    /**
+     * Creates a limit for the amount of rows.
+     *
+     * @param maxRows the maximum amount of rows
+     * @return new limit
+     */
+    public static ResultLimit rows(long maxRows) {
+        return new ResultLimit(maxRows, 0, false);
+    }
+
+    /**
+     * Creates a limit for the estimated size of the rows.
+     *
+     * @param maxBytes the maximum estimated size of the rows in bytes
+     * @return new limit
+     */
+    public static ResultLimit bytes(long maxBytes) {
+        return new ResultLimit(0, maxBytes, false);
+    }
+
+    /**
+     * Creates a copy of this limit with a limit for the amount of rows.
+     *
+     * @param maxRows the maximum amount of rows
+     * @return new limit
+     */
+    public ResultLimit withMaxRows(long maxRows) {
+        return new ResultLimit(maxRows, maxBytes, truncate);
+    }
+
+    /**
+     * Creates a copy of this limit with a limit for the estimated size of the rows.
+     *
+     * @param maxBytes the maximum estimated size of the rows in bytes
+     * @return new limit
+     */
+    public ResultLimit withMaxBytes(long maxBytes) {
+        return new ResultLimit(maxRows, maxBytes, truncate);
+    }
+
+    /**
+     * Creates a copy of this limit, which truncates the result instead of throwing an exception.
+     *
+     * @return new limit
+     */
+    public ResultLimit truncating() {
+        return new ResultLimit(maxRows, maxBytes, true);
+    }
+
+    /**
+     * Checks if any limit is set.
+     *
+     * @return true if the result is limited
+     */
+    public boolean isLimited() {
+        return maxRows > 0 || maxBytes > 0;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.execution.writing;
+
+import de.chojo.sadu.queries.execution.writing.AdaptiveBatchSizeController;
+
+/**
+ * Decides how many rows are sent to the database in one jdbc batch.
+ * <p>
+ * The controller is consulted before every flush and receives the duration of the flush afterwards.
+ * It is used by the batch executions of a configuration, which has a controller set via
+ * {@link de.chojo.sadu.queries.configuration.QueryConfigurationBuilder#setBatchSizeController(BatchSizeController)}.
+ * <p>
+ * Implementations need to be thread safe.
+ */
+public interface BatchSizeController {
+    /**
+     * Creates a controller, which adjusts the batch size based on the observed throughput.
+     * <p>
+     * The size is increased additively while the rows per second do not decrease and halved once they drop.
+     * All queries share the same batch size.
+     *
+     * @param min smallest batch size. At least 1
+     * @param max largest batch size
+     * @return new controller
+     */
+    static BatchSizeController adaptive(int min, int max) {
+        return new AdaptiveBatchSizeController(min, max, false);
+    }
+
+    /**
+     * Creates a controller like {@link #adaptive(int, int)}, which tracks a separate batch size for every query.
+     * <p>
+     * This allows narrow and wide rows to use different sizes with the same configuration.
+     *
+     * @param min smallest batch size. At least 1
+     * @param max largest batch size
+     * @return new controller
+     */
+    static BatchSizeController adaptivePerQuery(int min, int max) {
+        return new AdaptiveBatchSizeController(min, max, true);
+    }
+
+    /**
+     * Retrieves the amount of rows for the next flush.
+     *
+     * @param sql the sql of the query as it was passed to the configuration
+     * @return batch size
+     */
+    int batchSize(String sql);
+
+    /**
+     * Records a flush.
+     *
+     * @param sql   the sql of the query as it was passed to the configuration
+     * @param rows  the amount of rows in the flush
+     * @param nanos the duration of the flush in nanoseconds
+     */
+    void record(String sql, int rows, long nanos);
+
+    /**
+     * Retrieves a snapshot of the metrics of a query.
+     *
+     * @param sql the sql of the query as it was passed to the configuration
+     * @return metrics
+     */
+    BatchSizeMetrics metrics(String sql);
+}
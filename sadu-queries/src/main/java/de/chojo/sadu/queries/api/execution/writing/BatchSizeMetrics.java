@@ -0,0 +1,18 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.execution.writing;
+
+/**
+ * A snapshot of the metrics of a {@link BatchSizeController}.
+ *
+ * @param batchSize     the current batch size
+ * @param rowsPerSecond the smoothed throughput of the recent flushes
+ * @param flushes       amount of recorded flushes
+ * @param rows          amount of recorded rows
+ */
+public record BatchSizeMetrics(int batchSize, double rowsPerSecond, long flushes, long rows) {
+}
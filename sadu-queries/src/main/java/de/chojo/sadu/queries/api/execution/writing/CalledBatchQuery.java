@@ -8,6 +8,7 @@ package de.chojo.sadu.queries.api.execution.writing;
 
 import de.chojo.sadu.queries.api.results.writing.insertion.InsertionBatchResult;
 import de.chojo.sadu.queries.api.results.writing.insertion.InsertionResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.IsolatedBatchResult;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
 
@@ -47,4 +48,27 @@ public interface CalledBatchQuery {
      * @return The {@link ManipulationBatchResult} that represents the results of the delete operations.
      */
     ManipulationBatchResult<ManipulationResult> delete();
+
+    /**
+     * Executes insert, update or delete operations in jdbc batches of {@code chunkSize} calls.
+     * <p>
+     * Every chunk is guarded by a savepoint. When a chunk fails, it is rolled back to the savepoint and split in halves until the failing calls are found.
+     * Failing calls are reported by {@link IsolatedBatchResult#failures()} instead of aborting the transaction. All other calls are written.
+     * <p>
+     * All calls are executed on the same connection, regardless of the {@link de.chojo.sadu.queries.api.configuration.QueryConfiguration#batchParallelism()}.
+     *
+     * @param chunkSize amount of calls per jdbc batch
+     * @return The {@link IsolatedBatchResult} that represents the results of the operations.
+     */
+    IsolatedBatchResult isolated(int chunkSize);
+
+    /**
+     * Executes insert, update or delete operations in jdbc batches of 500 calls.
+     *
+     * @return The {@link IsolatedBatchResult} that represents the results of the operations.
+     * @see #isolated(int)
+     */
+    default IsolatedBatchResult isolated() {
+        return isolated(500);
+    }
 }
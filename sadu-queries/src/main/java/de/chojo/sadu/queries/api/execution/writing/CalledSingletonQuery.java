@@ -9,6 +9,7 @@ package de.chojo.sadu.queries.api.execution.writing;
 import de.chojo.sadu.mapper.MapperConfig;
 import de.chojo.sadu.mapper.rowmapper.RowMapping;
 import de.chojo.sadu.queries.api.execution.reading.Reader;
+import de.chojo.sadu.queries.api.results.reading.ColumnarResult;
 import de.chojo.sadu.queries.api.results.writing.insertion.InsertionResult;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
 
@@ -45,6 +46,67 @@ public interface CalledSingletonQuery {
      */
     <V> Reader<V> mapAs(Class<V> clazz, MapperConfig config);
 
+    /**
+     * Reads all rows of the query into typed column vectors.
+     *
+     * @return the rows stored column wise
+     * @see Reader#columnar()
+     */
+    ColumnarResult columnar();
+
+    /**
+     * Reads the first column of all rows into a long array.
+     * <p>
+     * The values are read directly from the result set without a row mapper or boxing. Null values are read as 0.
+     * Use this for queries returning lists of ids, which would otherwise be mapped into a {@code List<Long>}.
+     *
+     * @return values of the column. Empty if the query failed
+     */
+    long[] readLongs();
+
+    /**
+     * Reads a column of all rows into a long array.
+     *
+     * @param column label of the column
+     * @return values of the column. Empty if the query failed
+     * @see #readLongs()
+     */
+    long[] readLongs(String column);
+
+    /**
+     * Reads the first column of all rows into an int array.
+     *
+     * @return values of the column. Empty if the query failed
+     * @see #readLongs()
+     */
+    int[] readInts();
+
+    /**
+     * Reads a column of all rows into an int array.
+     *
+     * @param column label of the column
+     * @return values of the column. Empty if the query failed
+     * @see #readLongs()
+     */
+    int[] readInts(String column);
+
+    /**
+     * Reads the first column of all rows into a double array.
+     *
+     * @return values of the column. Empty if the query failed
+     * @see #readLongs()
+     */
+    double[] readDoubles();
+
+    /**
+     * Reads a column of all rows into a double array.
+     *
+     * @param column label of the column
+     * @return values of the column. Empty if the query failed
+     * @see #readLongs()
+     */
+    double[] readDoubles(String column);
+
     /**
      * Inserts a row into the database table represented by the initial symbol of the containing class,
      * and returns the result of the manipulation operation.
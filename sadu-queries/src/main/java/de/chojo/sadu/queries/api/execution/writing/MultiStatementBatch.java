@@ -0,0 +1,46 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.execution.writing;
+
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.query.ParsedQuery;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+
+/**
+ * A collection of different writing queries, which are sent to the database in a single round trip.
+ * <p>
+ * The queries are combined into one statement if the {@link de.chojo.sadu.core.databases.Database} of the configuration supports multiple queries per statement.
+ * Otherwise, they are executed one after another on the connection of the configuration.
+ */
+public interface MultiStatementBatch {
+    /**
+     * Adds a query to the batch.
+     *
+     * @param query the query
+     * @param call  the parameters of the query
+     * @return the same batch
+     */
+    MultiStatementBatch add(ParsedQuery query, Call call);
+
+    /**
+     * Adds a query without parameters to the batch.
+     *
+     * @param query the query
+     * @return the same batch
+     */
+    default MultiStatementBatch add(ParsedQuery query) {
+        return add(query, Call.of());
+    }
+
+    /**
+     * Executes all queries of the batch.
+     *
+     * @return The {@link ManipulationBatchResult} containing one result per query in the order they were added.
+     */
+    ManipulationBatchResult<ManipulationResult> execute();
+}
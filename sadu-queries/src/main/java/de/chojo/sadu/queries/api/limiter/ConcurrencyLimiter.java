@@ -0,0 +1,104 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.limiter;
+
+import de.chojo.sadu.queries.exception.QueryRejectedException;
+import de.chojo.sadu.queries.limiter.ConcurrencyLimiterBuilder;
+import de.chojo.sadu.queries.limiter.UnlimitedConcurrencyLimiter;
+
+import java.time.Duration;
+
+/**
+ * A limiter that bounds the amount of concurrent database calls.
+ * <p>
+ * A limiter is applied around the connection retrieval and execution of a query.
+ * Instead of letting every thread pile up in the connection pool, calls wait in a prioritized queue
+ * and are rejected with a {@link QueryRejectedException} when they could not be admitted in time.
+ */
+public interface ConcurrencyLimiter {
+    /**
+     * A wait time, which does not restrict the configured maximum queue wait.
+     */
+    Duration UNBOUNDED_WAIT = Duration.ofNanos(Long.MAX_VALUE);
+
+    /**
+     * A limiter that admits every call.
+     *
+     * @return the unlimited limiter
+     */
+    static ConcurrencyLimiter unlimited() {
+        return UnlimitedConcurrencyLimiter.INSTANCE;
+    }
+
+    /**
+     * Creates a new builder for a concurrency limiter.
+     *
+     * @return a new builder instance
+     */
+    static ConcurrencyLimiterBuilder builder() {
+        return new ConcurrencyLimiterBuilder();
+    }
+
+    /**
+     * Acquires a permit to execute a call.
+     * <p>
+     * This method blocks until a permit is available or the maximum queue wait is exceeded.
+     *
+     * @param priority the priority of the call
+     * @return a permit that has to be released once the call is done
+     * @throws QueryRejectedException when no permit could be acquired in time
+     */
+    default Permit acquire(QueryPriority priority) {
+        return acquire(priority, UNBOUNDED_WAIT);
+    }
+
+    /**
+     * Acquires a permit to execute a call.
+     * <p>
+     * This method blocks until a permit is available or the smaller of the maximum queue wait and the given wait time is exceeded.
+     *
+     * @param priority the priority of the call
+     * @param maxWait  the maximum time the caller is willing to wait
+     * @return a permit that has to be released once the call is done
+     * @throws QueryRejectedException when no permit could be acquired in time
+     */
+    Permit acquire(QueryPriority priority, Duration maxWait);
+
+    /**
+     * The current limit of the limiter.
+     *
+     * @return the current limit
+     */
+    int limit();
+
+    /**
+     * The amount of calls currently holding a permit.
+     *
+     * @return the amount of calls in flight
+     */
+    int inflight();
+
+    /**
+     * The amount of calls currently waiting for a permit.
+     *
+     * @return the amount of queued calls
+     */
+    int queued();
+
+    /**
+     * A permit granted by a {@link ConcurrencyLimiter}.
+     */
+    @SuppressWarnings("InterfaceMayBeAnnotatedFunctional")
+    interface Permit {
+        /**
+         * Releases the permit and reports the outcome of the call to the limit algorithm.
+         *
+         * @param dropped true if the call failed in a way that indicates an overload, like a timeout
+         */
+        void release(boolean dropped);
+    }
+}
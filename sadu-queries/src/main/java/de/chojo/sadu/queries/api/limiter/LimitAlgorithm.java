@@ -0,0 +1,34 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.limiter;
+
+/**
+ * An algorithm that determines the amount of concurrent calls a {@link ConcurrencyLimiter} admits.
+ * <p>
+ * Adaptive implementations adjust the limit based on the latency samples they receive.
+ *
+ * @see de.chojo.sadu.queries.limiter.FixedLimit
+ * @see de.chojo.sadu.queries.limiter.AimdLimit
+ * @see de.chojo.sadu.queries.limiter.GradientLimit
+ */
+public interface LimitAlgorithm {
+    /**
+     * The current limit.
+     *
+     * @return the amount of calls that may run concurrently
+     */
+    int limit();
+
+    /**
+     * Called when a call admitted by the limiter completed.
+     *
+     * @param rttNanos the time the call took in nanoseconds
+     * @param inflight the amount of calls that were in flight when the call was started
+     * @param dropped  true if the call failed in a way that indicates an overload, like a timeout
+     */
+    void onSample(long rttNanos, int inflight, boolean dropped);
+}
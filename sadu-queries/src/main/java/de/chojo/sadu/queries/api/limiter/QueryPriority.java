@@ -0,0 +1,57 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.limiter;
+
+/**
+ * Priority class of a query.
+ * <p>
+ * When a {@link ConcurrencyLimiter} is saturated, queries with a higher priority are admitted first.
+ * Lower priorities may only occupy a share of the current limit, which causes cheap work to be shed before important work.
+ */
+public enum QueryPriority {
+    /**
+     * Queries that must not be shed. They may use the full limit and are admitted before any other priority.
+     */
+    CRITICAL(1.0),
+    /**
+     * Important queries. They may use the full limit.
+     */
+    HIGH(1.0),
+    /**
+     * The default priority of every query.
+     */
+    NORMAL(0.9),
+    /**
+     * Background work like cleanups or statistics, which is shed first.
+     */
+    LOW(0.5);
+
+    private final double share;
+
+    QueryPriority(double share) {
+        this.share = share;
+    }
+
+    /**
+     * The share of the current limit queries of this priority may occupy.
+     *
+     * @return a value between 0 and 1
+     */
+    public double share() {
+        return share;
+    }
+
+    /**
+     * The amount of permits queries of this priority may occupy with the given limit.
+     *
+     * @param limit current limit
+     * @return the amount of usable permits. At least one.
+     */
+    public int usableLimit(int limit) {
+        return Math.max(1, (int) Math.floor(limit * share));
+    }
+}
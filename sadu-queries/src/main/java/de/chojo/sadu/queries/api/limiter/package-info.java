@@ -0,0 +1,4 @@
+/**
+ * Defines the api for limiting the amount of concurrent database calls.
+ */
+package de.chojo.sadu.queries.api.limiter;
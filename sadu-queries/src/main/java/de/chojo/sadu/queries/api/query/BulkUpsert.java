@@ -0,0 +1,141 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.query;
+
+import de.chojo.sadu.core.databases.Database;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.query.BulkUpsertImpl;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Inserts or updates a large amount of rows using multi row insert statements.
+ * <p>
+ * The upsert clause is created by the {@link Database} of the configuration or the database set via {@link #dialect(Database)}.
+ * Rows are split into chunks, which stay below the parameter limit of the database.
+ * <p>
+ * PostgreSQL rejects a statement which updates the same row twice. If rows may share a key, pass a key extractor via
+ * {@link #execute(QueryConfiguration, Stream, Function, BiConsumer)}. The last row of a key in a chunk is written.
+ * <pre>{@code
+ * BulkUpsert.into("users")
+ *         .key("id")
+ *         .columns("name", "age")
+ *         .execute(users.stream(), (user, call) -> call.bind(user.id()).bind(user.name()).bind(user.age()));
+ * }</pre>
+ */
+public interface BulkUpsert {
+    /**
+     * Creates a new bulk upsert into a table.
+     *
+     * @param table name of the table
+     * @return new bulk upsert
+     */
+    static BulkUpsert into(String table) {
+        return new BulkUpsertImpl(table);
+    }
+
+    /**
+     * Sets the columns of the unique key, which decides whether a row is inserted or updated.
+     *
+     * @param columns key columns
+     * @return the same bulk upsert
+     */
+    BulkUpsert key(String... columns);
+
+    /**
+     * Sets the columns which are inserted and updated on a conflict.
+     *
+     * @param columns value columns
+     * @return the same bulk upsert
+     */
+    BulkUpsert columns(String... columns);
+
+    /**
+     * Sets the database used to create the upsert clause and to determine the chunk size.
+     * <p>
+     * Default: {@link QueryConfiguration#database()}
+     *
+     * @param database the database
+     * @return the same bulk upsert
+     */
+    BulkUpsert dialect(Database<?, ?> database);
+
+    /**
+     * Sets the maximum amount of rows per statement.
+     * <p>
+     * The chunk size is always reduced to stay below the parameter limit of the database.
+     * <p>
+     * Default: {@link Integer#MAX_VALUE}
+     *
+     * @param rows maximum rows per statement
+     * @return the same bulk upsert
+     */
+    BulkUpsert chunkSize(int rows);
+
+    /**
+     * Executes the upsert using the default configuration.
+     *
+     * @param rows   rows to upsert
+     * @param binder binds the values of a row. Values have to be bound in the order of the key columns followed by the value columns.
+     * @param <T>    type of rows
+     * @return result with one entry per executed chunk
+     * @see #execute(QueryConfiguration, Stream, BiConsumer)
+     */
+    default <T> ManipulationBatchResult<ManipulationResult> execute(Stream<T> rows, BiConsumer<T, Call> binder) {
+        return execute(QueryConfiguration.getDefault(), rows, binder);
+    }
+
+    /**
+     * Executes the upsert.
+     * <p>
+     * The stream is consumed lazily. Only one chunk of rows is kept in memory.
+     * Use {@link QueryConfiguration#withSingleTransaction()} to execute all chunks in one transaction.
+     *
+     * @param configuration configuration used to execute the chunks
+     * @param rows          rows to upsert
+     * @param binder        binds the values of a row. Values have to be bound in the order of the key columns followed by the value columns.
+     * @param <T>           type of rows
+     * @return result with one entry per executed chunk
+     * @throws IllegalStateException if no key or database is set
+     */
+    <T> ManipulationBatchResult<ManipulationResult> execute(QueryConfiguration configuration, Stream<T> rows, BiConsumer<T, Call> binder);
+
+    /**
+     * Executes the upsert using the default configuration and removes rows with duplicate keys.
+     *
+     * @param rows   rows to upsert
+     * @param key    extracts the key of a row. Keys have to implement equals and hashCode.
+     * @param binder binds the values of a row. Values have to be bound in the order of the key columns followed by the value columns.
+     * @param <T>    type of rows
+     * @return result with one entry per executed chunk
+     * @see #execute(QueryConfiguration, Stream, Function, BiConsumer)
+     */
+    default <T> ManipulationBatchResult<ManipulationResult> execute(Stream<T> rows, Function<T, ?> key, BiConsumer<T, Call> binder) {
+        return execute(QueryConfiguration.getDefault(), rows, key, binder);
+    }
+
+    /**
+     * Executes the upsert and removes rows with duplicate keys.
+     * <p>
+     * If a chunk contains multiple rows with the same key, only the last one is written.
+     * Rows of different chunks are not compared, since later chunks update the rows of earlier chunks anyway.
+     *
+     * @param configuration configuration used to execute the chunks
+     * @param rows          rows to upsert
+     * @param key           extracts the key of a row. Keys have to implement equals and hashCode.
+     * @param binder        binds the values of a row. Values have to be bound in the order of the key columns followed by the value columns.
+     * @param <T>           type of rows
+     * @return result with one entry per executed chunk
+     * @throws IllegalStateException if no key or database is set
+     */
+    <T> ManipulationBatchResult<ManipulationResult> execute(QueryConfiguration configuration, Stream<T> rows, Function<T, ?> key, BiConsumer<T, Call> binder);
+}
@@ -0,0 +1,119 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.query;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Attaches a deadline to all queries created by the current thread.
+ * <p>
+ * Queries capture the deadline when they are created. Queries appended to them share the same deadline.
+ * The remaining time is used to bound the wait for a permit of the concurrency limiter and as the statement query timeout.
+ * Queries whose deadline has already passed are rejected before they are executed.
+ *
+ * <pre>{@code
+ * List<User> users = Deadline.call(Duration.ofMillis(500), () -> query("SELECT * FROM users")
+ *         .single()
+ *         .map(User.map())
+ *         .all());
+ * }</pre>
+ *
+ * @see ParsedQuery#withDeadline(Instant)
+ */
+public final class Deadline {
+    private static final ThreadLocal<Instant> CURRENT = new ThreadLocal<>();
+
+    private Deadline() {
+        throw new UnsupportedOperationException("This is a utility class.");
+    }
+
+    /**
+     * Executes the action with the deadline applied to all queries created in it.
+     * <p>
+     * If a deadline is already set, the earlier deadline is used.
+     *
+     * @param deadline the deadline
+     * @param action   the action to execute
+     * @param <T>      type of the result
+     * @return the result of the action
+     */
+    public static <T> T call(Instant deadline, Supplier<T> action) {
+        var previous = CURRENT.get();
+        CURRENT.set(earliest(previous, deadline));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Executes the action with a deadline of now plus the timeout applied to all queries created in it.
+     *
+     * @param timeout the time the action may take
+     * @param action  the action to execute
+     * @param <T>     type of the result
+     * @return the result of the action
+     */
+    public static <T> T call(Duration timeout, Supplier<T> action) {
+        return call(Instant.now().plus(timeout), action);
+    }
+
+    /**
+     * Executes the action with the deadline applied to all queries created in it.
+     *
+     * @param deadline the deadline
+     * @param action   the action to execute
+     */
+    public static void run(Instant deadline, Runnable action) {
+        call(deadline, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executes the action with a deadline of now plus the timeout applied to all queries created in it.
+     *
+     * @param timeout the time the action may take
+     * @param action  the action to execute
+     */
+    public static void run(Duration timeout, Runnable action) {
+        run(Instant.now().plus(timeout), action);
+    }
+
+    /**
+     * The deadline of the current thread.
+     *
+     * @return the deadline if set
+     */
+    public static Optional<Instant> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Returns the earlier of two deadlines.
+     *
+     * @param first  first deadline or null
+     * @param second second deadline or null
+     * @return the earlier deadline or null if both are null
+     */
+    public static @Nullable Instant earliest(@Nullable Instant first, @Nullable Instant second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.query;
+
+import de.chojo.sadu.mapper.rowmapper.RowMapping;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.query.ParallelScanImpl;
+
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Reads all rows of a table with multiple connections in parallel.
+ * <p>
+ * The table is split into ranges of an integer key column, based on its minimum and maximum value.
+ * Every range is read by its own query on its own connection of the pool. Rows are streamed through a cursor and never held completely in memory.
+ * <pre>{@code
+ * ParallelScan.over("documents", "id")
+ *         .partitions(8)
+ *         .forEach(Document.map(), partition -> document -> index.add(document));
+ * }</pre>
+ * Configurations bound to a single connection read the partitions one after another.
+ */
+public interface ParallelScan {
+    /**
+     * Creates a new scan over a table.
+     *
+     * @param table     name of the table
+     * @param keyColumn integer column used to split the table into ranges. Should be indexed
+     * @return new scan
+     */
+    static ParallelScan over(String table, String keyColumn) {
+        return new ParallelScanImpl(table, keyColumn);
+    }
+
+    /**
+     * Sets the amount of ranges, which are read in parallel.
+     * <p>
+     * Default: 4
+     *
+     * @param partitions amount of partitions
+     * @return the same scan
+     */
+    ParallelScan partitions(int partitions);
+
+    /**
+     * Sets the columns to read.
+     * <p>
+     * Default: all columns
+     *
+     * @param columns columns to read
+     * @return the same scan
+     */
+    ParallelScan columns(String... columns);
+
+    /**
+     * Reads the table using the default configuration.
+     *
+     * @param mapper    maps a row
+     * @param consumers creates the consumer of a partition
+     * @param <V>       type of the mapped rows
+     * @see #forEach(QueryConfiguration, RowMapping, IntFunction)
+     */
+    default <V> void forEach(RowMapping<V> mapper, IntFunction<Consumer<? super V>> consumers) {
+        forEach(QueryConfiguration.getDefault(), mapper, consumers);
+    }
+
+    /**
+     * Reads the table and passes every row to the consumer of its partition.
+     * <p>
+     * Every partition gets its own consumer, which is only called by the thread reading the partition.
+     * The first partition is read by the calling thread. All other partitions are read by the {@link QueryConfiguration#executor() executor} of the configuration.
+     * The {@link Deadline} of the calling thread applies to all partitions.
+     * The method returns once all partitions were read.
+     *
+     * @param configuration configuration used to read the partitions
+     * @param mapper        maps a row
+     * @param consumers     creates the consumer of a partition, starting at 0
+     * @param <V>           type of the mapped rows
+     */
+    <V> void forEach(QueryConfiguration configuration, RowMapping<V> mapper, IntFunction<Consumer<? super V>> consumers);
+
+    /**
+     * Reads the table using the default configuration.
+     *
+     * @param mapper maps a row
+     * @param <V>    type of the mapped rows
+     * @return the merged rows of all partitions
+     * @see #stream(QueryConfiguration, RowMapping)
+     */
+    default <V> Stream<V> stream(RowMapping<V> mapper) {
+        return stream(QueryConfiguration.getDefault(), mapper);
+    }
+
+    /**
+     * Reads the table and merges the rows of all partitions into one stream.
+     * <p>
+     * The partitions are read in the background by the {@link QueryConfiguration#executor() executor} of the configuration, while the stream is consumed. The rows are not ordered.
+     * The executor needs to run the partitions on other threads.
+     * The stream should be closed if it is not consumed completely, to stop reading the partitions. Partitions of an abandoned stream are stopped once the stream is garbage collected.
+     * The {@link Deadline} of the calling thread applies to all partitions.
+     *
+     * @param configuration configuration used to read the partitions
+     * @param mapper        maps a row
+     * @param <V>           type of the mapped rows
+     * @return the merged rows of all partitions
+     */
+    <V> Stream<V> stream(QueryConfiguration configuration, RowMapping<V> mapper);
+}
@@ -7,21 +7,66 @@
 package de.chojo.sadu.queries.api.query;
 
 import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.call.CallTemplate;
+import de.chojo.sadu.queries.api.call.ColumnBatch;
 import de.chojo.sadu.queries.api.call.calls.Calls;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
 import de.chojo.sadu.queries.api.execution.writing.CalledBatchQuery;
 import de.chojo.sadu.queries.api.execution.writing.CalledSingletonQuery;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
 import de.chojo.sadu.queries.calls.BatchCall;
 import de.chojo.sadu.queries.calls.CallSupplier;
 import de.chojo.sadu.queries.calls.SingletonCall;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 /**
  * A Parsed query that is ready for execution
  */
 public interface ParsedQuery {
+    /**
+     * Sets the priority used by the {@link de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter} of the configuration.
+     * <p>
+     * The priority is shared with all queries appended to this query.
+     * <p>
+     * Default: {@link QueryPriority#NORMAL}
+     *
+     * @param priority the priority of the query
+     * @return the same parsed query
+     */
+    ParsedQuery withPriority(QueryPriority priority);
+
+    /**
+     * Sets a deadline for this query and all queries appended to it.
+     * <p>
+     * The remaining time bounds the wait for a permit of the concurrency limiter and is used as the statement query timeout.
+     * Queries are rejected with a {@link de.chojo.sadu.queries.exception.QueryRejectedException} when the deadline passed before they were executed.
+     * <p>
+     * If a deadline is already set via {@link Deadline}, the earlier deadline is used.
+     *
+     * @param deadline the deadline
+     * @return the same parsed query
+     */
+    ParsedQuery withDeadline(Instant deadline);
+
+    /**
+     * Sets a deadline of now plus the timeout for this query and all queries appended to it.
+     *
+     * @param timeout the time the query may take
+     * @return the same parsed query
+     * @see #withDeadline(Instant)
+     */
+    default ParsedQuery withTimeout(Duration timeout) {
+        return withDeadline(Instant.now().plus(timeout));
+    }
+
     /**
      * Define a batch call for your query.
      * This will execute the query with every argument combination that are passed here.
@@ -73,6 +118,68 @@ public interface ParsedQuery {
         return batch(Arrays.stream(calls).toList());
     }
 
+    /**
+     * Executes the query for every element of the stream.
+     * <p>
+     * The flush size is decided by the {@link QueryConfiguration#batchSizeController()} of the configuration. Without a controller the jdbc batch is flushed every 1000 rows.
+     *
+     * @param rows   the rows to write
+     * @param binder binds the parameters of a row
+     * @param <T>    type of the rows
+     * @return The {@link ManipulationBatchResult} containing one result per flush.
+     * @see #batch(Stream, BiConsumer, int)
+     */
+    <T> ManipulationBatchResult<ManipulationResult> batch(Stream<T> rows, BiConsumer<T, Call> binder);
+
+    /**
+     * Executes the query for every element of the stream.
+     * <p>
+     * Elements are pulled lazily and bound into a reused call. The call passed to the binder is cleared before every row and must not be kept.
+     * The jdbc batch is flushed every {@code flushSize} rows, which keeps the memory usage constant regardless of the size of the stream.
+     * All flushes use the same connection and are written in one transaction. The stream is closed afterwards.
+     *
+     * @param rows      the rows to write
+     * @param binder    binds the parameters of a row
+     * @param flushSize amount of rows per jdbc batch
+     * @param <T>       type of the rows
+     * @return The {@link ManipulationBatchResult} containing one result per flush.
+     * @see #batch(Stream, BiConsumer, int, int)
+     */
+    <T> ManipulationBatchResult<ManipulationResult> batch(Stream<T> rows, BiConsumer<T, Call> binder, int flushSize);
+
+    /**
+     * Executes the query for every element of the stream and commits every {@code commitInterval} flushes.
+     * <p>
+     * Works like {@link #batch(Stream, BiConsumer, int)}, but every {@code commitInterval} flushes are written in their own transaction with their own connection.
+     * This keeps long running imports from holding one transaction and one connection of the pool for the whole stream.
+     * <p>
+     * A failure only rolls back the flushes since the last commit. Earlier flushes stay committed and are part of the result, while the rest of the stream is not written.
+     * Connected configurations keep using their connection and do not commit.
+     *
+     * @param rows           the rows to write
+     * @param binder         binds the parameters of a row
+     * @param flushSize      amount of rows per jdbc batch
+     * @param commitInterval amount of flushes per transaction. 0 writes the whole stream in one transaction.
+     * @param <T>            type of the rows
+     * @return The {@link ManipulationBatchResult} containing one result per flush.
+     */
+    <T> ManipulationBatchResult<ManipulationResult> batch(Stream<T> rows, BiConsumer<T, Call> binder, int flushSize, int commitInterval);
+
+    /**
+     * Executes the query with every row of the column batch.
+     * <p>
+     * The columns are bound to the indexed parameters of the query without creating a {@link Call} per row.
+     * Rows are executed as jdbc batch in chunks of {@link ColumnBatch#chunkSize(int)} rows.
+     * <p>
+     * If the {@link de.chojo.sadu.core.databases.Database} of the configuration supports unnest,
+     * a query of the form {@code INSERT INTO table(a, b) VALUES (?, ?)} is executed once per chunk with every column bound as one array.
+     *
+     * @param columns the column batch
+     * @return The {@link ManipulationBatchResult} containing one result per executed chunk.
+     * @throws de.chojo.sadu.queries.exception.IllegalQueryParameterException if the query uses named parameters or the amount of indexed parameters does not match the columns
+     */
+    ManipulationBatchResult<ManipulationResult> batchColumns(ColumnBatch columns);
+
     /**
      * Define a call for your query.
      * This will execute the query with your arguments.
@@ -110,4 +217,13 @@ public interface ParsedQuery {
      * @return A called singleton query
      */
     CalledSingletonQuery single(CallSupplier<SingletonCall> call);
+
+    /**
+     * Creates a reusable template for the parameters of this query.
+     * <p>
+     * The slots of the template are resolved once, which avoids creating a new {@link Call} for every execution.
+     *
+     * @return new template
+     */
+    CallTemplate template();
 }
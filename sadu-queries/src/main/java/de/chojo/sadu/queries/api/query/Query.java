@@ -7,6 +7,9 @@
 package de.chojo.sadu.queries.api.query;
 
 import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.execution.reading.Reader;
+import de.chojo.sadu.queries.api.results.reading.MultiReadResult;
+import de.chojo.sadu.queries.execution.reading.MultiReadImpl;
 import de.chojo.sadu.queries.query.ParsedQueryImpl;
 import de.chojo.sadu.queries.query.QueryImpl;
 import org.intellij.lang.annotations.Language;
@@ -41,4 +44,22 @@ public interface Query {
     static ParsedQuery query(@Language("sql") String sql, Object... format) {
         return ParsedQueryImpl.create(new QueryImpl(QueryConfiguration.getDefault()), sql, format);
     }
+
+    /**
+     * Reads all rows of multiple independent queries.
+     * <p>
+     * If all readers use the same data source and its {@link de.chojo.sadu.core.databases.Database} supports multiple queries per statement,
+     * the queries are sent in one round trip and every result set is mapped by its reader.
+     * Otherwise, the readers are executed in parallel on separate connections.
+     * <pre>{@code
+     * MultiReadResult result = Query.multi(users, birthdays);
+     * List<User> userList = result.get(users);
+     * }</pre>
+     *
+     * @param readers the readers to execute. Readers should not be executed on their own.
+     * @return the results of all readers
+     */
+    static MultiReadResult multi(Reader<?>... readers) {
+        return new MultiReadImpl(readers).execute();
+    }
 }
@@ -0,0 +1,226 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.results.reading;
+
+import de.chojo.sadu.queries.api.results.BaseResult;
+
+import java.util.OptionalDouble;
+
+/**
+ * The rows of a query stored column wise in typed vectors.
+ * <p>
+ * Integral and floating point columns are stored in primitive arrays and can be read without boxing.
+ * Text columns are dictionary encoded, which stores repeated values only once.
+ * Rows start at 0, columns start at 1 like in a {@link java.sql.ResultSet}.
+ * <p>
+ * Null values are read as 0 by the primitive getters. Use {@link #isNull(int, int)} to distinguish them. Aggregations ignore null values.
+ */
+public interface ColumnarResult extends BaseResult {
+    /**
+     * The amount of rows.
+     *
+     * @return row count
+     */
+    int size();
+
+    /**
+     * The amount of columns.
+     *
+     * @return column count
+     */
+    int columnCount();
+
+    /**
+     * The label of a column.
+     *
+     * @param column index of the column
+     * @return label of the column
+     */
+    String label(int column);
+
+    /**
+     * Finds the index of a column.
+     *
+     * @param label label of the column. Case insensitive
+     * @return index of the column
+     * @throws IllegalArgumentException if the column does not exist
+     */
+    int findColumn(String label);
+
+    /**
+     * Checks whether the result was truncated, because it exceeded the {@link de.chojo.sadu.queries.api.execution.reading.ResultLimit} of the query.
+     *
+     * @return true if rows were omitted
+     */
+    boolean truncated();
+
+    /**
+     * Checks whether a value is null.
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return true if the value is null
+     */
+    boolean isNull(int row, int column);
+
+    /**
+     * Reads a value as int.
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return value or 0 if null
+     * @throws ArithmeticException   if the value does not fit into an int
+     * @throws IllegalStateException if the column is not numeric
+     */
+    int getInt(int row, int column);
+
+    /**
+     * Reads a value as long.
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return value or 0 if null
+     * @throws IllegalStateException if the column is not numeric
+     */
+    long getLong(int row, int column);
+
+    /**
+     * Reads a value as double.
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return value or 0 if null
+     * @throws IllegalStateException if the column is not numeric
+     */
+    double getDouble(int row, int column);
+
+    /**
+     * Reads a value as string.
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return value or null
+     */
+    String getString(int row, int column);
+
+    /**
+     * Reads a value as object.
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return value or null
+     */
+    Object getObject(int row, int column);
+
+    /**
+     * Copies the values of a column into an int array.
+     *
+     * @param column index of the column
+     * @return array with one value per row. Null values are 0
+     * @throws ArithmeticException   if a value does not fit into an int
+     * @throws IllegalStateException if the column is not numeric
+     */
+    int[] ints(int column);
+
+    /**
+     * Copies the values of a column into a long array.
+     *
+     * @param column index of the column
+     * @return array with one value per row. Null values are 0
+     * @throws IllegalStateException if the column is not numeric
+     */
+    long[] longs(int column);
+
+    /**
+     * Copies the values of a column into a double array.
+     *
+     * @param column index of the column
+     * @return array with one value per row. Null values are 0
+     * @throws IllegalStateException if the column is not numeric
+     */
+    double[] doubles(int column);
+
+    /**
+     * The distinct values of a text column.
+     * <p>
+     * Together with {@link #codes(int)} this allows to group rows without comparing strings.
+     *
+     * @param column index of the column
+     * @return distinct values in order of their first occurrence
+     * @throws IllegalStateException if the column is not a text column
+     */
+    String[] dictionary(int column);
+
+    /**
+     * The codes of the values of a text column.
+     *
+     * @param column index of the column
+     * @return array with one code per row. The code is the index of the value in the {@link #dictionary(int)} or -1 if null
+     * @throws IllegalStateException if the column is not a text column
+     */
+    int[] codes(int column);
+
+    /**
+     * The amount of non null values of a column.
+     *
+     * @param column index of the column
+     * @return amount of non null values
+     */
+    int count(int column);
+
+    /**
+     * The sum of the values of a column.
+     * <p>
+     * The sum is calculated as double and is therefore approximate. Integers above 2^53 can not be represented exactly.
+     * Use {@link #sumLong(int)} for an exact sum of an integer column.
+     *
+     * @param column index of the column
+     * @return sum or 0 if the column contains no values
+     * @throws IllegalStateException if the column is not numeric
+     */
+    double sum(int column);
+
+    /**
+     * The exact sum of the values of an integer column.
+     *
+     * @param column index of the column
+     * @return sum or 0 if the column contains no values
+     * @throws IllegalStateException if the column contains values, which are not integers
+     * @throws ArithmeticException   if the sum does not fit into a long
+     */
+    long sumLong(int column);
+
+    /**
+     * The smallest value of a column.
+     *
+     * @param column index of the column
+     * @return smallest value or empty if the column contains no values
+     * @throws IllegalStateException if the column is not numeric
+     */
+    OptionalDouble min(int column);
+
+    /**
+     * The largest value of a column.
+     *
+     * @param column index of the column
+     * @return largest value or empty if the column contains no values
+     * @throws IllegalStateException if the column is not numeric
+     */
+    OptionalDouble max(int column);
+
+    /**
+     * The average of the values of a column.
+     *
+     * @param column index of the column
+     * @return average or empty if the column contains no values
+     * @throws IllegalStateException if the column is not numeric
+     */
+    default OptionalDouble average(int column) {
+        var count = count(column);
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum(column) / count);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.results.reading;
+
+import de.chojo.sadu.queries.api.execution.reading.Reader;
+
+import java.util.List;
+
+/**
+ * The results of multiple readers executed via {@link de.chojo.sadu.queries.api.query.Query#multi(Reader[])}.
+ */
+public interface MultiReadResult {
+    /**
+     * Get the rows read by a reader.
+     *
+     * @param reader one of the readers passed to {@link de.chojo.sadu.queries.api.query.Query#multi(Reader[])}
+     * @param <T>    type of the rows
+     * @return the mapped rows. Empty if the query failed.
+     * @throws IllegalArgumentException if the reader was not part of the execution
+     */
+    <T> List<T> get(Reader<T> reader);
+}
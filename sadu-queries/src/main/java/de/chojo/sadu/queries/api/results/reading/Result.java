@@ -27,6 +27,15 @@ public interface Result<T> extends BaseResult {
      */
     T result();
 
+    /**
+     * Checks whether the result was truncated, because it exceeded the {@link de.chojo.sadu.queries.api.execution.reading.ResultLimit} of the query.
+     *
+     * @return true if rows were omitted
+     */
+    default boolean truncated() {
+        return false;
+    }
+
     /**
      * Retrieves the result of the query as an optional value.
      *
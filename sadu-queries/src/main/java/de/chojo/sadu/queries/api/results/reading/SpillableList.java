@@ -0,0 +1,32 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.results.reading;
+
+import java.util.List;
+
+/**
+ * A read only list of mapped rows, which might be partially stored on disk.
+ * <p>
+ * Rows are mapped on every access. Mapped rows are not cached, which keeps the heap usage within the memory budget.
+ * The list needs to be closed to delete the temporary file.
+ *
+ * @param <V> type of the mapped rows
+ */
+public interface SpillableList<V> extends List<V>, AutoCloseable {
+    /**
+     * Checks whether rows were written to disk, because the memory budget was exceeded.
+     *
+     * @return true if rows were spilled
+     */
+    boolean spilled();
+
+    /**
+     * Deletes the temporary file of the spilled rows.
+     */
+    @Override
+    void close();
+}
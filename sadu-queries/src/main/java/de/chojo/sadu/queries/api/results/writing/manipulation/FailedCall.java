@@ -0,0 +1,21 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.results.writing.manipulation;
+
+import de.chojo.sadu.queries.api.call.Call;
+
+import java.sql.SQLException;
+
+/**
+ * A call of a batch, which failed while the other calls of the batch were written.
+ *
+ * @param index     index of the call in the batch
+ * @param call      the failed call
+ * @param exception the exception thrown while executing the call
+ */
+public record FailedCall(int index, Call call, SQLException exception) {
+}
@@ -0,0 +1,32 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.results.writing.manipulation;
+
+import java.util.List;
+
+/**
+ * The result of a batch, which was executed with failure isolation.
+ * <p>
+ * The results contain one entry per call of the batch. Failed calls have no changed rows.
+ */
+public interface IsolatedBatchResult extends ManipulationBatchResult<ManipulationResult> {
+    /**
+     * Returns the calls, which failed. The changes of all other calls were written.
+     *
+     * @return failed calls ordered by their index
+     */
+    List<FailedCall> failures();
+
+    /**
+     * Checks whether all calls were written.
+     *
+     * @return true if no call failed
+     */
+    default boolean successful() {
+        return failures().isEmpty();
+    }
+}
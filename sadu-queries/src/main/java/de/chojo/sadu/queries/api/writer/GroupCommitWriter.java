@@ -0,0 +1,53 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.writer;
+
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.query.ParsedQuery;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A writer, which collects writes of concurrent callers and commits them together in a shared transaction.
+ * <p>
+ * Writes are collected until the maximum delay passed or the maximum batch size is reached.
+ * The collected writes are executed in one transaction in the order they were submitted.
+ * Consecutive writes with the same query are sent as one jdbc batch.
+ * <p>
+ * If the shared transaction fails, it is rolled back and every write is executed in its own transaction.
+ * This way a failing write only fails the future of its caller.
+ * <p>
+ * The group waits for a permit of the {@link de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter} with the highest {@link de.chojo.sadu.queries.api.limiter.QueryPriority priority} of its writes.
+ * Writes whose {@link de.chojo.sadu.queries.api.query.Deadline deadline} passed before the group is executed are rejected.
+ */
+public interface GroupCommitWriter extends AutoCloseable {
+    /**
+     * Submits a write.
+     * <p>
+     * The future completes with the result of the write after the transaction containing it was committed.
+     * It completes exceptionally with a {@link java.sql.SQLException} if the write failed.
+     *
+     * @param query the query to execute
+     * @param call  the call of the query
+     * @return a future completing with the result of the write
+     */
+    CompletableFuture<ManipulationResult> submit(ParsedQuery query, Call call);
+
+    /**
+     * The amount of writes waiting to be committed.
+     *
+     * @return pending writes
+     */
+    int pending();
+
+    /**
+     * Stops accepting new writes, commits all pending writes and stops the writer.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,25 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.writer;
+
+/**
+ * Defines what happens when a call is added to a full {@link WriteBehindQueue}.
+ */
+public enum OverflowPolicy {
+    /**
+     * The caller blocks until the queue has space.
+     */
+    BLOCK,
+    /**
+     * The call is dropped and counted in {@link WriteBehindMetrics#dropped()}.
+     */
+    DROP,
+    /**
+     * The caller flushes pending calls together with its own call on its own thread.
+     */
+    CALLER_RUNS
+}
@@ -0,0 +1,24 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.writer;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the metrics of a {@link WriteBehindQueue}.
+ *
+ * @param depth            amount of calls waiting to be written
+ * @param written          amount of calls written successfully
+ * @param dropped          amount of calls dropped because the queue was full
+ * @param failed           amount of calls, which were part of a failed flush
+ * @param flushes          amount of flushes
+ * @param lastFlushLatency duration of the last flush
+ * @param maxFlushLatency  longest duration of a flush
+ */
+public record WriteBehindMetrics(int depth, long written, long dropped, long failed, long flushes,
+                                 Duration lastFlushLatency, Duration maxFlushLatency) {
+}
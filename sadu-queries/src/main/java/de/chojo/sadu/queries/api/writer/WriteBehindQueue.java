@@ -0,0 +1,57 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.writer;
+
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.query.ParsedQuery;
+import de.chojo.sadu.queries.writer.WriteBehindQueueBuilder;
+
+/**
+ * A queue, which collects calls of a query and writes them in the background.
+ * <p>
+ * Calls are kept in a bounded buffer and written as jdbc batch, once the flush size is reached or the flush interval passed.
+ * Writes are not guaranteed. Failed flushes are reported to the exception handler of the configuration and counted in the metrics.
+ */
+public interface WriteBehindQueue extends AutoCloseable {
+    /**
+     * Creates a new builder for a queue writing calls of the query.
+     *
+     * @param query the query to execute for every call
+     * @return new builder instance
+     */
+    static WriteBehindQueueBuilder builder(ParsedQuery query) {
+        return new WriteBehindQueueBuilder(query);
+    }
+
+    /**
+     * Adds a call to the queue.
+     * <p>
+     * If the queue is full, the {@link OverflowPolicy} decides what happens.
+     *
+     * @param call call to add
+     * @return true if the call was accepted or written, false if it was dropped
+     */
+    boolean offer(Call call);
+
+    /**
+     * Writes all pending calls on the calling thread.
+     */
+    void flush();
+
+    /**
+     * Retrieves the current metrics of the queue.
+     *
+     * @return metrics snapshot
+     */
+    WriteBehindMetrics metrics();
+
+    /**
+     * Stops accepting calls, writes all pending calls and stops the queue.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,4 @@
+/**
+ * Defines the api for writers, which collect writes of multiple callers and execute them together.
+ */
+package de.chojo.sadu.queries.api.writer;
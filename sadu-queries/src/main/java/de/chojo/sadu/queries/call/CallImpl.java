@@ -40,17 +40,28 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A call is a subelement of a {@link Calls}. It represents a single query call of any kind.
  */
 public final class CallImpl implements Call {
     private final List<BaseParameter> parameter = new ArrayList<>();
+    private PrimitiveSlots slots;
     private int index = 1;
 
     public CallImpl() {
     }
 
+    /**
+     * Removes all bound parameters, which allows reusing the call for another row.
+     */
+    public void clear() {
+        parameter.clear();
+        if (slots != null) slots.clear();
+        index = 1;
+    }
+
     private int nextIndex() {
         return index++;
     }
@@ -65,6 +76,21 @@ public final class CallImpl implements Call {
         return this;
     }
 
+    private PrimitiveSlots slots() {
+        if (slots == null) slots = new PrimitiveSlots();
+        return slots;
+    }
+
+    private Call addSlot(byte type, long value) {
+        slots().add(nextIndex(), type, value);
+        return this;
+    }
+
+    private Call addSlot(String token, byte type, long value) {
+        slots().add(TokenParameter.normalize(token), type, value);
+        return this;
+    }
+
     private ThrowingBiConsumer<PreparedStatement, Integer, SQLException> nullSave(Object value, ThrowingBiConsumer<PreparedStatement, Integer, SQLException> apply, int type) {
         if (value == null) return (stmt, index) -> stmt.setNull(index, type);
         return apply;
@@ -110,6 +136,76 @@ public final class CallImpl implements Call {
         return bind(token, value, StandardAdapter.INTEGER);
     }
 
+    @Override
+    public Call bind(short value) {
+        return addSlot(PrimitiveSlots.SHORT, value);
+    }
+
+    @Override
+    public Call bind(String token, short value) {
+        return addSlot(token, PrimitiveSlots.SHORT, value);
+    }
+
+    @Override
+    public Call bind(byte value) {
+        return addSlot(PrimitiveSlots.BYTE, value);
+    }
+
+    @Override
+    public Call bind(String token, byte value) {
+        return addSlot(token, PrimitiveSlots.BYTE, value);
+    }
+
+    @Override
+    public Call bind(int value) {
+        return addSlot(PrimitiveSlots.INT, value);
+    }
+
+    @Override
+    public Call bind(String token, int value) {
+        return addSlot(token, PrimitiveSlots.INT, value);
+    }
+
+    @Override
+    public Call bind(long value) {
+        return addSlot(PrimitiveSlots.LONG, value);
+    }
+
+    @Override
+    public Call bind(String token, long value) {
+        return addSlot(token, PrimitiveSlots.LONG, value);
+    }
+
+    @Override
+    public Call bind(float value) {
+        return addSlot(PrimitiveSlots.FLOAT, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public Call bind(String token, float value) {
+        return addSlot(token, PrimitiveSlots.FLOAT, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public Call bind(double value) {
+        return addSlot(PrimitiveSlots.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public Call bind(String token, double value) {
+        return addSlot(token, PrimitiveSlots.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public Call bind(boolean value) {
+        return addSlot(PrimitiveSlots.BOOLEAN, value ? 1 : 0);
+    }
+
+    @Override
+    public Call bind(String token, boolean value) {
+        return addSlot(token, PrimitiveSlots.BOOLEAN, value ? 1 : 0);
+    }
+
     @Override
     public Call bind(Boolean value) {
         return bind(value, StandardAdapter.BOOLEAN);
@@ -351,6 +447,18 @@ public final class CallImpl implements Call {
     }
 
     public void apply(TokenizedQuery query, PreparedStatement stmt) throws SQLException {
+        apply(query, stmt, Set.of());
+    }
+
+    /**
+     * Applies the parameters of the call to the statement.
+     *
+     * @param query   the tokenized query
+     * @param stmt    the statement to bind the parameters to
+     * @param managed named tokens which are bound by the caller and therefore do not need to be bound by the call
+     * @throws SQLException if a parameter could not be bound
+     */
+    public void apply(TokenizedQuery query, PreparedStatement stmt, Set<String> managed) throws SQLException {
         int indexCount = 0;
         var tokens = query.getNamedTokens();
         for (var param : parameter) {
@@ -358,7 +466,9 @@ public final class CallImpl implements Call {
             if (param instanceof IndexParameter) indexCount++;
             if (param instanceof TokenParameter token) tokens.remove(token.token());
         }
+        if (slots != null) indexCount += slots.apply(query, stmt, tokens);
         Check.assertIndexFilled(indexCount, query);
+        tokens.removeAll(managed);
         Check.missingToken(tokens, query);
     }
 
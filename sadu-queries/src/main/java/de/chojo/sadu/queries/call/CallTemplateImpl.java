@@ -0,0 +1,264 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.call;
+
+import de.chojo.sadu.queries.api.call.CallTemplate;
+import de.chojo.sadu.queries.api.call.adapter.Adapter;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.call.adapter.StandardAdapter;
+import de.chojo.sadu.queries.exception.IllegalQueryParameterException;
+import de.chojo.sadu.queries.execution.batch.JdbcBatch;
+import de.chojo.sadu.queries.query.ParsedQueryImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationBatchResultImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationResultImpl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class CallTemplateImpl implements CallTemplate {
+    private static final byte UNSET = -1;
+    private final ParsedQueryImpl query;
+    private final int indexSlots;
+    private final int[][] positions;
+    private final String[] names;
+    private final Map<String, Integer> tokenSlots = new HashMap<>();
+    private final byte[] types;
+    private final long[] primitives;
+    private final Object[] objects;
+    private final Adapter<?>[] adapters;
+    private int unset;
+    private byte[] rowTypes = new byte[0];
+    private long[] rowPrimitives = new long[0];
+    private Object[] rowObjects = new Object[0];
+    private Adapter<?>[] rowAdapters = new Adapter<?>[0];
+    private int rows;
+
+    public CallTemplateImpl(ParsedQueryImpl query) {
+        this.query = query;
+        var sql = query.sql();
+        indexSlots = sql.indexSize();
+        var tokens = sql.getNamedTokens().stream().sorted().toList();
+        var slots = indexSlots + tokens.size();
+        positions = new int[slots][];
+        names = new String[slots];
+        for (var i = 0; i < indexSlots; i++) {
+            positions[i] = new int[]{sql.getIndexTokenIndex(i + 1)};
+            names[i] = "index " + i;
+        }
+        for (var i = 0; i < tokens.size(); i++) {
+            var token = tokens.get(i);
+            var slot = indexSlots + i;
+            positions[slot] = sql.getNamedTokenIndex(token).stream().mapToInt(Integer::intValue).toArray();
+            names[slot] = token;
+            tokenSlots.put(token, slot);
+            tokenSlots.put(token.substring(1), slot);
+        }
+        types = new byte[slots];
+        Arrays.fill(types, UNSET);
+        primitives = new long[slots];
+        objects = new Object[slots];
+        adapters = new Adapter<?>[slots];
+        unset = slots;
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= indexSlots) {
+            throw new IllegalQueryParameterException("No parameter with index %s exists in query \"%s\". Only %s parameter(s) is/are defined".formatted(index, query.sql().sql(), indexSlots));
+        }
+        return index;
+    }
+
+    private int slot(String token) {
+        var slot = tokenSlots.get(token);
+        if (slot == null) {
+            throw new IllegalQueryParameterException("Parameter \"%s\" is not present in query: \"%s\"".formatted(token, query.sql().sql()));
+        }
+        return slot;
+    }
+
+    private CallTemplate setPrimitive(int slot, byte type, long value) {
+        if (types[slot] == UNSET) unset--;
+        types[slot] = type;
+        primitives[slot] = value;
+        objects[slot] = null;
+        adapters[slot] = null;
+        return this;
+    }
+
+    private <T> CallTemplate setObject(int slot, T value, Adapter<T> adapter) {
+        if (types[slot] == UNSET) unset--;
+        types[slot] = PrimitiveSlots.OBJECT;
+        objects[slot] = value;
+        adapters[slot] = adapter;
+        return this;
+    }
+
+    @Override
+    public CallTemplate set(int index, int value) {
+        return setPrimitive(slot(index), PrimitiveSlots.INT, value);
+    }
+
+    @Override
+    public CallTemplate set(int index, long value) {
+        return setPrimitive(slot(index), PrimitiveSlots.LONG, value);
+    }
+
+    @Override
+    public CallTemplate set(int index, float value) {
+        return setPrimitive(slot(index), PrimitiveSlots.FLOAT, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public CallTemplate set(int index, double value) {
+        return setPrimitive(slot(index), PrimitiveSlots.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public CallTemplate set(int index, boolean value) {
+        return setPrimitive(slot(index), PrimitiveSlots.BOOLEAN, value ? 1 : 0);
+    }
+
+    @Override
+    public CallTemplate set(int index, String value) {
+        return setObject(slot(index), value, StandardAdapter.STRING);
+    }
+
+    @Override
+    public <T> CallTemplate set(int index, T value, Adapter<T> adapter) {
+        return setObject(slot(index), value, adapter);
+    }
+
+    @Override
+    public CallTemplate set(String token, int value) {
+        return setPrimitive(slot(token), PrimitiveSlots.INT, value);
+    }
+
+    @Override
+    public CallTemplate set(String token, long value) {
+        return setPrimitive(slot(token), PrimitiveSlots.LONG, value);
+    }
+
+    @Override
+    public CallTemplate set(String token, float value) {
+        return setPrimitive(slot(token), PrimitiveSlots.FLOAT, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public CallTemplate set(String token, double value) {
+        return setPrimitive(slot(token), PrimitiveSlots.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public CallTemplate set(String token, boolean value) {
+        return setPrimitive(slot(token), PrimitiveSlots.BOOLEAN, value ? 1 : 0);
+    }
+
+    @Override
+    public CallTemplate set(String token, String value) {
+        return setObject(slot(token), value, StandardAdapter.STRING);
+    }
+
+    @Override
+    public <T> CallTemplate set(String token, T value, Adapter<T> adapter) {
+        return setObject(slot(token), value, adapter);
+    }
+
+    private void assertComplete() {
+        if (unset == 0) return;
+        var missing = IntStream.range(0, types.length)
+                .filter(slot -> types[slot] == UNSET)
+                .mapToObj(slot -> names[slot])
+                .collect(Collectors.joining(", "));
+        throw new IllegalQueryParameterException("The parameters %s are not bound in query: %s".formatted(missing, query.sql().sql()));
+    }
+
+    @Override
+    public CallTemplate addBatch() {
+        assertComplete();
+        var slots = types.length;
+        var offset = rows * slots;
+        if (offset + slots > rowTypes.length) {
+            var capacity = Math.max(16 * slots, rowTypes.length * 2);
+            rowTypes = Arrays.copyOf(rowTypes, capacity);
+            rowPrimitives = Arrays.copyOf(rowPrimitives, capacity);
+            rowObjects = Arrays.copyOf(rowObjects, capacity);
+            rowAdapters = Arrays.copyOf(rowAdapters, capacity);
+        }
+        System.arraycopy(types, 0, rowTypes, offset, slots);
+        System.arraycopy(primitives, 0, rowPrimitives, offset, slots);
+        System.arraycopy(objects, 0, rowObjects, offset, slots);
+        System.arraycopy(adapters, 0, rowAdapters, offset, slots);
+        rows++;
+        return this;
+    }
+
+    @Override
+    public int batchSize() {
+        return rows;
+    }
+
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    @Override
+    public ManipulationResult update() {
+        assertComplete();
+        return query.query().callConnection(() -> ManipulationResultImpl.empty(query), conn -> {
+            try (var stmt = conn.prepareStatement(query.sql().tokenizedSql())) {
+                apply(stmt, types, primitives, objects, adapters, 0);
+                return new ManipulationResultImpl(query, stmt.executeUpdate());
+            }
+        });
+    }
+
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    @Override
+    public ManipulationBatchResult<ManipulationResult> executeBatch() {
+        if (rows == 0) return new ManipulationBatchResultImpl<>(query, Collections.emptyList());
+        try {
+            return new ManipulationBatchResultImpl<>(query, query.query().callConnection(Collections::emptyList, conn -> {
+                try (var stmt = conn.prepareStatement(query.sql().tokenizedSql())) {
+                    for (var row = 0; row < rows; row++) {
+                        apply(stmt, rowTypes, rowPrimitives, rowObjects, rowAdapters, row * types.length);
+                        stmt.addBatch();
+                    }
+                    var counts = stmt.executeBatch();
+                    List<ManipulationResult> results = new ArrayList<>(counts.length);
+                    for (var count : counts) results.add(new ManipulationResultImpl(query, JdbcBatch.rows(count)));
+                    return results;
+                }
+            }));
+        } finally {
+            Arrays.fill(rowObjects, 0, rows * types.length, null);
+            rows = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(PreparedStatement stmt, byte[] types, long[] primitives, Object[] objects, Adapter<?>[] adapters, int offset) throws SQLException {
+        for (var slot = 0; slot < positions.length; slot++) {
+            var type = types[offset + slot];
+            for (var position : positions[slot]) {
+                if (type != PrimitiveSlots.OBJECT) {
+                    PrimitiveSlots.set(stmt, position, type, primitives[offset + slot]);
+                    continue;
+                }
+                var adapter = (Adapter<Object>) adapters[offset + slot];
+                var value = objects[offset + slot];
+                if (value == null) stmt.setNull(position, adapter.type());
+                else adapter.apply(stmt, position, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.call;
+
+import de.chojo.sadu.queries.api.call.ColumnBatch;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation of a {@link ColumnBatch}, which holds the columns until the batch is executed.
+ */
+public class ColumnBatchImpl implements ColumnBatch {
+    private final List<Column> columns = new ArrayList<>();
+    private int chunkSize = 1000;
+    private int rows = -1;
+
+    public ColumnBatchImpl() {
+    }
+
+    private ColumnBatch add(Column column) {
+        if (rows != -1 && column.size() != rows) {
+            throw new IllegalArgumentException("Column has %d rows, but the batch has %d rows".formatted(column.size(), rows));
+        }
+        rows = column.size();
+        columns.add(column);
+        return this;
+    }
+
+    private static BitSet nonNull(BitSet nulls) {
+        return nulls == null ? new BitSet() : nulls;
+    }
+
+    @Override
+    public ColumnBatch add(int[] values) {
+        return add(values, null);
+    }
+
+    @Override
+    public ColumnBatch add(int[] values, BitSet nulls) {
+        return add(new IntColumn(values, nonNull(nulls)));
+    }
+
+    @Override
+    public ColumnBatch add(long[] values) {
+        return add(values, null);
+    }
+
+    @Override
+    public ColumnBatch add(long[] values, BitSet nulls) {
+        return add(new LongColumn(values, nonNull(nulls)));
+    }
+
+    @Override
+    public ColumnBatch add(double[] values) {
+        return add(values, null);
+    }
+
+    @Override
+    public ColumnBatch add(double[] values, BitSet nulls) {
+        return add(new DoubleColumn(values, nonNull(nulls)));
+    }
+
+    @Override
+    public ColumnBatch add(boolean[] values) {
+        return add(values, null);
+    }
+
+    @Override
+    public ColumnBatch add(boolean[] values, BitSet nulls) {
+        return add(new BooleanColumn(values, nonNull(nulls)));
+    }
+
+    @Override
+    public ColumnBatch add(String[] values) {
+        return add(new StringColumn(values));
+    }
+
+    @Override
+    public ColumnBatch chunkSize(int rows) {
+        if (rows < 1) throw new IllegalArgumentException("Chunk size must be at least 1");
+        chunkSize = rows;
+        return this;
+    }
+
+    @Override
+    public int rows() {
+        return Math.max(0, rows);
+    }
+
+    /**
+     * The amount of rows per executed chunk. Only used when executing the batch.
+     *
+     * @return chunk size
+     */
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * The columns of the batch in the order they were added. Only used when executing the batch.
+     *
+     * @return unmodifiable list of columns
+     */
+    public List<Column> columns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * A column of the batch.
+     */
+    public abstract static sealed class Column {
+        protected final BitSet nulls;
+        private final int jdbcType;
+        private final String arrayType;
+
+        private Column(BitSet nulls, int jdbcType, String arrayType) {
+            this.nulls = nulls;
+            this.jdbcType = jdbcType;
+            this.arrayType = arrayType;
+        }
+
+        /**
+         * The name of the array element type used by {@link Connection#createArrayOf(String, Object[])}.
+         *
+         * @return type name
+         */
+        public String arrayType() {
+            return arrayType;
+        }
+
+        /**
+         * Sets the value of a row.
+         *
+         * @param stmt  statement
+         * @param index parameter index
+         * @param row   row of the batch
+         * @throws SQLException if a database access error occurs
+         */
+        public void set(PreparedStatement stmt, int index, int row) throws SQLException {
+            if (nulls.get(row)) stmt.setNull(index, jdbcType);
+            else setValue(stmt, index, row);
+        }
+
+        /**
+         * Creates an array containing the rows from {@code from} inclusive to {@code to} exclusive.
+         *
+         * @param conn connection creating the array
+         * @param from first row
+         * @param to   last row exclusive
+         * @return sql array
+         * @throws SQLException if a database access error occurs
+         */
+        public Array array(Connection conn, int from, int to) throws SQLException {
+            var elements = new Object[to - from];
+            for (var row = from; row < to; row++) {
+                elements[row - from] = nulls.get(row) ? null : value(row);
+            }
+            return conn.createArrayOf(arrayType, elements);
+        }
+
+        abstract int size();
+
+        abstract void setValue(PreparedStatement stmt, int index, int row) throws SQLException;
+
+        abstract Object value(int row);
+    }
+
+    private static final class IntColumn extends Column {
+        private final int[] values;
+
+        private IntColumn(int[] values, BitSet nulls) {
+            super(nulls, Types.INTEGER, "integer");
+            this.values = values;
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        void setValue(PreparedStatement stmt, int index, int row) throws SQLException {
+            stmt.setInt(index, values[row]);
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private final long[] values;
+
+        private LongColumn(long[] values, BitSet nulls) {
+            super(nulls, Types.BIGINT, "bigint");
+            this.values = values;
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        void setValue(PreparedStatement stmt, int index, int row) throws SQLException {
+            stmt.setLong(index, values[row]);
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private final double[] values;
+
+        private DoubleColumn(double[] values, BitSet nulls) {
+            super(nulls, Types.DOUBLE, "float8");
+            this.values = values;
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        void setValue(PreparedStatement stmt, int index, int row) throws SQLException {
+            stmt.setDouble(index, values[row]);
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+        private final boolean[] values;
+
+        private BooleanColumn(boolean[] values, BitSet nulls) {
+            super(nulls, Types.BOOLEAN, "boolean");
+            this.values = values;
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        void setValue(PreparedStatement stmt, int index, int row) throws SQLException {
+            stmt.setBoolean(index, values[row]);
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        private final String[] values;
+
+        private StringColumn(String[] values) {
+            super(new BitSet(), Types.VARCHAR, "text");
+            this.values = values;
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        public void set(PreparedStatement stmt, int index, int row) throws SQLException {
+            if (values[row] == null) stmt.setNull(index, Types.VARCHAR);
+            else stmt.setString(index, values[row]);
+        }
+
+        @Override
+        void setValue(PreparedStatement stmt, int index, int row) throws SQLException {
+            stmt.setString(index, values[row]);
+        }
+
+        @Override
+        public Array array(Connection conn, int from, int to) throws SQLException {
+            return conn.createArrayOf(arrayType(), Arrays.copyOfRange(values, from, to));
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.call;
+
+import de.chojo.sadu.queries.exception.Check;
+import de.chojo.sadu.queries.exception.IllegalQueryParameterException;
+import de.chojo.sadu.queries.query.TokenizedQuery;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Stores primitive parameters of a call in packed arrays.
+ * <p>
+ * Values are stored as raw long bits with a type tag. Floating point values are stored as the bits of a double.
+ * Positional parameters store their index, named parameters their token.
+ */
+final class PrimitiveSlots {
+    static final byte INT = 0;
+    static final byte LONG = 1;
+    static final byte FLOAT = 2;
+    static final byte DOUBLE = 3;
+    static final byte BOOLEAN = 4;
+    static final byte SHORT = 5;
+    static final byte BYTE = 6;
+    // Marks slots of an object. Kept outside of the primitive tags, so it is never mistaken for one.
+    static final byte OBJECT = 7;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int[] indices = new int[INITIAL_CAPACITY];
+    private String[] tokens = new String[INITIAL_CAPACITY];
+    private int size;
+
+    void add(int index, byte type, long value) {
+        add(index, null, type, value);
+    }
+
+    void add(String token, byte type, long value) {
+        add(0, token, type, value);
+    }
+
+    private void add(int index, String token, byte type, long value) {
+        if (size == types.length) {
+            var capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+            indices = Arrays.copyOf(indices, capacity);
+            tokens = Arrays.copyOf(tokens, capacity);
+        }
+        types[size] = type;
+        values[size] = value;
+        indices[size] = index;
+        tokens[size] = token;
+        size++;
+    }
+
+    void clear() {
+        Arrays.fill(tokens, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Applies all slots to the statement.
+     *
+     * @param query  query of the statement
+     * @param stmt   statement
+     * @param tokens named tokens of the query. Applied tokens are removed.
+     * @return the amount of applied positional parameters
+     * @throws SQLException if a database access error occurs
+     */
+    int apply(TokenizedQuery query, PreparedStatement stmt, Set<String> tokens) throws SQLException {
+        var indexCount = 0;
+        for (var i = 0; i < size; i++) {
+            var token = this.tokens[i];
+            if (token == null) {
+                Check.assertIndexRange(indices[i], query);
+                set(stmt, query.getIndexTokenIndex(indices[i]), i);
+                indexCount++;
+                continue;
+            }
+            var positions = query.getNamedTokenIndex(token);
+            if (positions.isEmpty()) {
+                throw new IllegalQueryParameterException("Parameter \"%s\" is bound, but not present in query: \"%s\"".formatted(token, query.sql()));
+            }
+            for (var position : positions) set(stmt, position, i);
+            tokens.remove(token);
+        }
+        return indexCount;
+    }
+
+    private void set(PreparedStatement stmt, int index, int slot) throws SQLException {
+        set(stmt, index, types[slot], values[slot]);
+    }
+
+    /**
+     * Sets a packed primitive value.
+     *
+     * @param stmt  statement
+     * @param index parameter index
+     * @param type  type tag of the value
+     * @param value raw bits of the value
+     * @throws SQLException if a database access error occurs
+     */
+    static void set(PreparedStatement stmt, int index, byte type, long value) throws SQLException {
+        switch (type) {
+            case INT -> stmt.setInt(index, (int) value);
+            case LONG -> stmt.setLong(index, value);
+            case FLOAT -> stmt.setFloat(index, (float) Double.longBitsToDouble(value));
+            case DOUBLE -> stmt.setDouble(index, Double.longBitsToDouble(value));
+            case BOOLEAN -> stmt.setBoolean(index, value != 0);
+            case SHORT -> stmt.setShort(index, (short) value);
+            case BYTE -> stmt.setByte(index, (byte) value);
+            default -> throw new IllegalStateException("Unknown slot type " + type);
+        }
+    }
+}
@@ -6,21 +6,26 @@
 
 package de.chojo.sadu.queries.configuration;
 
+import de.chojo.sadu.core.databases.Database;
 import de.chojo.sadu.mapper.RowMapperRegistry;
 import de.chojo.sadu.queries.api.configuration.ActiveQueryConfiguration;
 import de.chojo.sadu.queries.api.configuration.context.QueryContext;
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
 import de.chojo.sadu.queries.exception.WrappedQueryExecutionException;
 import org.jetbrains.annotations.NotNull;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public class ActiveQueryConfigurationImpl extends QueryConfigurationImpl implements ActiveQueryConfiguration {
     protected final @NotNull QueryContext context;
 
-    public ActiveQueryConfigurationImpl(@NotNull DataSource dataSource, boolean atomic, boolean throwExceptions, Consumer<SQLException> exceptionHandler, RowMapperRegistry rowMapperRegistry, @NotNull QueryContext context) {
-        super(dataSource, atomic, throwExceptions, exceptionHandler, rowMapperRegistry);
+    public ActiveQueryConfigurationImpl(@NotNull DataSource dataSource, boolean atomic, boolean throwExceptions, Consumer<SQLException> exceptionHandler, RowMapperRegistry rowMapperRegistry, ConcurrencyLimiter concurrencyLimiter, int batchParallelism, Database<?, ?> database, BatchSizeController batchSizeController, int fetchSize, long fetchMemoryBudget, ResultLimit resultLimit, Executor executor, Boolean multiStatements, @NotNull QueryContext context) {
+        super(dataSource, atomic, throwExceptions, exceptionHandler, rowMapperRegistry, concurrencyLimiter, batchParallelism, database, batchSizeController, fetchSize, fetchMemoryBudget, resultLimit, executor, multiStatements);
         this.context = context;
     }
 
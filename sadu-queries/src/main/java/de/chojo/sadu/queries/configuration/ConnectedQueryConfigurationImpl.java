@@ -6,23 +6,34 @@
 
 package de.chojo.sadu.queries.configuration;
 
+import de.chojo.sadu.core.databases.Database;
 import de.chojo.sadu.mapper.RowMapperRegistry;
 import de.chojo.sadu.queries.api.configuration.ConnectedQueryConfiguration;
 import de.chojo.sadu.queries.api.configuration.context.QueryContext;
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.execution.writing.MultiStatementBatch;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
 import de.chojo.sadu.queries.exception.WrappedQueryExecutionException;
+import de.chojo.sadu.queries.execution.writing.MultiStatementBatchImpl;
 import org.jetbrains.annotations.Nullable;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public class ConnectedQueryConfigurationImpl extends ActiveQueryConfigurationImpl implements ConnectedQueryConfiguration {
+    /**
+     * The amount of prepared statements kept open per connection.
+     */
+    private static final int STATEMENT_CACHE_SIZE = 32;
     private Connection connection;
 
-    ConnectedQueryConfigurationImpl(QueryContext context, DataSource dataSource, @Nullable Connection connection, boolean atomic, boolean throwExceptions, Consumer<SQLException> exceptionHandler, RowMapperRegistry rowMapperRegistry) {
-        super(dataSource, atomic, throwExceptions, exceptionHandler, rowMapperRegistry, context);
-        this.connection = connection;
+    ConnectedQueryConfigurationImpl(QueryContext context, DataSource dataSource, @Nullable Connection connection, boolean atomic, boolean throwExceptions, Consumer<SQLException> exceptionHandler, RowMapperRegistry rowMapperRegistry, ConcurrencyLimiter concurrencyLimiter, int batchParallelism, Database<?, ?> database, BatchSizeController batchSizeController, int fetchSize, long fetchMemoryBudget, ResultLimit resultLimit, Executor executor, Boolean multiStatements) {
+        super(dataSource, atomic, throwExceptions, exceptionHandler, rowMapperRegistry, concurrencyLimiter, batchParallelism, database, batchSizeController, fetchSize, fetchMemoryBudget, resultLimit, executor, multiStatements, context);
+        this.connection = connection == null ? null : new StatementCachingConnection(connection, STATEMENT_CACHE_SIZE);
     }
 
     @Override
@@ -31,10 +42,15 @@ public class ConnectedQueryConfigurationImpl extends ActiveQueryConfigurationImp
         return new ConnectedQueryQueryConfigurationDelegate(this);
     }
 
+    @Override
+    public MultiStatementBatch multiStatement() {
+        return new MultiStatementBatchImpl(this);
+    }
+
     @Override
     public ConnectedQueryConfiguration withConnection(Connection connection) {
         close();
-        this.connection = connection;
+        this.connection = new StatementCachingConnection(connection, STATEMENT_CACHE_SIZE);
         return this;
     }
 
@@ -56,7 +72,7 @@ public class ConnectedQueryConfigurationImpl extends ActiveQueryConfigurationImp
     public Connection connection() {
         if (connection == null) {
             try {
-                connection = dataSource.getConnection();
+                connection = new StatementCachingConnection(dataSource.getConnection(), STATEMENT_CACHE_SIZE);
                 connection.setAutoCommit(!atomic);
             } catch (SQLException e) {
                 handleException(e);
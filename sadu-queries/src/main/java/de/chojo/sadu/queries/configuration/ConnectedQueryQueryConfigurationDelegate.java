@@ -6,14 +6,20 @@
 
 package de.chojo.sadu.queries.configuration;
 
+import de.chojo.sadu.core.databases.Database;
 import de.chojo.sadu.mapper.RowMapperRegistry;
 import de.chojo.sadu.queries.api.configuration.ConnectedQueryConfiguration;
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.execution.writing.MultiStatementBatch;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
 import de.chojo.sadu.queries.api.query.ParsedQuery;
 import de.chojo.sadu.queries.api.configuration.context.QueryContext;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public class ConnectedQueryQueryConfigurationDelegate implements ConnectedQueryConfiguration {
@@ -28,6 +34,11 @@ public class ConnectedQueryQueryConfigurationDelegate implements ConnectedQueryC
         return configuration.connection();
     }
 
+    @Override
+    public MultiStatementBatch multiStatement() {
+        return configuration.multiStatement();
+    }
+
     @Override
     public void close() {
         configuration.close();
@@ -58,6 +69,51 @@ public class ConnectedQueryQueryConfigurationDelegate implements ConnectedQueryC
         return configuration.rowMapperRegistry();
     }
 
+    @Override
+    public ConcurrencyLimiter concurrencyLimiter() {
+        return configuration.concurrencyLimiter();
+    }
+
+    @Override
+    public int batchParallelism() {
+        return configuration.batchParallelism();
+    }
+
+    @Override
+    public Database<?, ?> database() {
+        return configuration.database();
+    }
+
+    @Override
+    public BatchSizeController batchSizeController() {
+        return configuration.batchSizeController();
+    }
+
+    @Override
+    public int fetchSize() {
+        return configuration.fetchSize();
+    }
+
+    @Override
+    public long fetchMemoryBudget() {
+        return configuration.fetchMemoryBudget();
+    }
+
+    @Override
+    public ResultLimit resultLimit() {
+        return configuration.resultLimit();
+    }
+
+    @Override
+    public Executor executor() {
+        return configuration.executor();
+    }
+
+    @Override
+    public Boolean multiStatements() {
+        return configuration.multiStatements();
+    }
+
     @Override
     public boolean throwExceptions() {
         return configuration.throwExceptions();
@@ -6,16 +6,35 @@
 
 package de.chojo.sadu.queries.configuration;
 
+import de.chojo.sadu.core.databases.Database;
 import de.chojo.sadu.core.exceptions.ExceptionTransformer;
 import de.chojo.sadu.mapper.RowMapperRegistry;
 import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
 import org.jetbrains.annotations.NotNull;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 public class QueryConfigurationBuilder {
+    private static final Executor SHARED_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NotNull Runnable runnable) {
+            var thread = new Thread(runnable, "sadu-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
     private final DataSource dataSource;
     private boolean atomic = true;
     private boolean throwExceptions;
@@ -25,6 +44,15 @@ public class QueryConfigurationBuilder {
         throwable.printStackTrace();
     };
     private RowMapperRegistry rowMapperRegistry = new RowMapperRegistry();
+    private ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.unlimited();
+    private int batchParallelism = 1;
+    private Database<?, ?> database;
+    private BatchSizeController batchSizeController;
+    private int fetchSize = 1000;
+    private long fetchMemoryBudget;
+    private ResultLimit resultLimit = ResultLimit.NONE;
+    private Executor executor = SHARED_EXECUTOR;
+    private Boolean multiStatements;
 
     /**
      * QueryConfigurationBuilder is a builder class used to create an instance of QueryConfiguration.
@@ -82,12 +110,149 @@ public class QueryConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Sets the {@link ConcurrencyLimiter} that bounds the amount of concurrent database calls.
+     * <p>
+     * The limiter is applied around the connection retrieval and execution of queries, which do not run in a transaction
+     * created via {@link QueryConfiguration#withSingleTransaction()}.
+     * <p>
+     * Default: {@link ConcurrencyLimiter#unlimited()}
+     *
+     * @param concurrencyLimiter the limiter to use
+     * @return the QueryConfigurationBuilder instance
+     * @see ConcurrencyLimiter#builder()
+     */
+    public QueryConfigurationBuilder setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        return this;
+    }
+
+    /**
+     * Sets the amount of connections used to execute a batch concurrently.
+     * <p>
+     * Only applied to non atomic configurations. The calls of a batch are split into partitions, which are executed on their own connection.
+     * The results are merged in the order of the calls.
+     * <p>
+     * Default: 1
+     *
+     * @param batchParallelism amount of connections used per batch. At least 1
+     * @return the QueryConfigurationBuilder instance
+     */
+    public QueryConfigurationBuilder setBatchParallelism(int batchParallelism) {
+        if (batchParallelism < 1) throw new IllegalArgumentException("Batch parallelism must be at least 1");
+        this.batchParallelism = batchParallelism;
+        return this;
+    }
+
+    /**
+     * Sets the database type of the data source.
+     * <p>
+     * The database is used by features which create dialect specific queries, like {@link de.chojo.sadu.queries.api.query.BulkUpsert}.
+     * <p>
+     * Default: not set
+     *
+     * @param database the database type
+     * @return the QueryConfigurationBuilder instance
+     */
+    public QueryConfigurationBuilder setDatabase(Database<?, ?> database) {
+        this.database = database;
+        return this;
+    }
+
+    /**
+     * Sets the controller, which decides how many rows are sent in one jdbc batch.
+     * <p>
+     * Without a controller the calls of a batch are executed one by one and streamed batches are flushed every 1000 rows.
+     *
+     * @param batchSizeController the controller or null to disable adaptive batching
+     * @return the QueryConfigurationBuilder instance
+     */
+    public QueryConfigurationBuilder setBatchSizeController(BatchSizeController batchSizeController) {
+        this.batchSizeController = batchSizeController;
+        return this;
+    }
+
+    /**
+     * Sets the amount of rows fetched per round trip while reading.
+     * <p>
+     * Drivers like the one of PostgreSQL only fetch rows in batches when a fetch size is set and the connection is not in auto commit mode.
+     * Otherwise, the whole result is loaded into memory. Readers take care of the connection state if the {@link #setDatabase(Database) database} requires it.
+     *
+     * @param fetchSize amount of rows per fetch. 0 to use the default of the driver
+     * @return the QueryConfigurationBuilder instance
+     */
+    public QueryConfigurationBuilder setFetchSize(int fetchSize) {
+        if (fetchSize < 0) throw new IllegalArgumentException("Fetch size must not be negative");
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Sets the amount of memory a single fetch of rows should occupy.
+     * <p>
+     * The first fetch uses the {@link #setFetchSize(int) fetch size}. Afterwards, the fetch size is adjusted based on the estimated size of a row.
+     * The estimate starts with the column types and is refined with the sizes of the first rows.
+     *
+     * @param fetchMemoryBudget budget in bytes. 0 to use the fixed fetch size
+     * @return the QueryConfigurationBuilder instance
+     */
+    public QueryConfigurationBuilder setFetchMemoryBudget(long fetchMemoryBudget) {
+        if (fetchMemoryBudget < 0) throw new IllegalArgumentException("Fetch memory budget must not be negative");
+        this.fetchMemoryBudget = fetchMemoryBudget;
+        return this;
+    }
+
+    /**
+     * Sets the limit for results, which are read into memory.
+     * <p>
+     * The limit can be overridden per query via {@link de.chojo.sadu.queries.api.execution.reading.Reader#limit(ResultLimit)}.
+     *
+     * @param resultLimit the limit
+     * @return the QueryConfigurationBuilder instance
+     */
+    public QueryConfigurationBuilder setResultLimit(@NotNull ResultLimit resultLimit) {
+        this.resultLimit = Objects.requireNonNull(resultLimit);
+        return this;
+    }
+
+    /**
+     * Sets the executor, which runs the work of a single query on multiple threads.
+     * <p>
+     * The executor runs the partitions of {@link #setBatchParallelism(int) parallel batches}, the statements of multi reads and the partitions of parallel scans.
+     * Those tasks block while they wait for the database.
+     * <p>
+     * Default: a cached pool of daemon threads shared by all configurations
+     *
+     * @param executor the executor
+     * @return the QueryConfigurationBuilder instance
+     */
+    public QueryConfigurationBuilder setExecutor(@NotNull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Sets whether a prepared statement may contain multiple queries separated by a semicolon.
+     * <p>
+     * By default, the {@link #setDatabase(Database) database} decides. MySQL and MariaDB only detect the {@code allowMultiQueries} parameter of the jdbc url.
+     * Set this explicitly if the parameter is set via the data source or the driver properties.
+     * <p>
+     * Default: not set
+     *
+     * @param multiStatements true or false to override the database or null to let the database decide
+     * @return the QueryConfigurationBuilder instance
+     */
+    public QueryConfigurationBuilder setMultiStatements(Boolean multiStatements) {
+        this.multiStatements = multiStatements;
+        return this;
+    }
+
     /**
      * Returns a new {@link QueryConfigurationImpl} object based on the current configuration settings.
      *
      * @return a new {@link QueryConfigurationImpl} object
      */
     public QueryConfiguration build() {
-        return new QueryConfigurationImpl(dataSource, atomic, throwExceptions, exceptionHandler, rowMapperRegistry);
+        return new QueryConfigurationImpl(dataSource, atomic, throwExceptions, exceptionHandler, rowMapperRegistry, concurrencyLimiter, batchParallelism, database, batchSizeController, fetchSize, fetchMemoryBudget, resultLimit, executor, multiStatements);
     }
 }
@@ -6,6 +6,7 @@
 
 package de.chojo.sadu.queries.configuration;
 
+import de.chojo.sadu.core.databases.Database;
 import de.chojo.sadu.mapper.RowMapperRegistry;
 import de.chojo.sadu.queries.api.configuration.ActiveQueryConfiguration;
 import de.chojo.sadu.queries.api.configuration.ConnectedQueryConfiguration;
@@ -13,13 +14,18 @@ import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
 import de.chojo.sadu.queries.api.query.ParsedQuery;
 import de.chojo.sadu.queries.api.query.Query;
 import de.chojo.sadu.queries.api.configuration.context.QueryContext;
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
 import de.chojo.sadu.queries.configuration.context.SimpleQueryContext;
 import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public class QueryConfigurationImpl implements QueryConfiguration {
@@ -28,18 +34,36 @@ public class QueryConfigurationImpl implements QueryConfiguration {
     protected final boolean throwExceptions;
     protected final Consumer<SQLException> exceptionHandler;
     protected final RowMapperRegistry rowMapperRegistry;
+    protected final ConcurrencyLimiter concurrencyLimiter;
+    protected final int batchParallelism;
+    protected final Database<?, ?> database;
+    protected final BatchSizeController batchSizeController;
+    protected final int fetchSize;
+    protected final long fetchMemoryBudget;
+    protected final ResultLimit resultLimit;
+    protected final Executor executor;
+    protected final Boolean multiStatements;
 
-    QueryConfigurationImpl(@NotNull DataSource dataSource, boolean atomic, boolean throwExceptions, Consumer<SQLException> exceptionHandler, RowMapperRegistry rowMapperRegistry) {
+    QueryConfigurationImpl(@NotNull DataSource dataSource, boolean atomic, boolean throwExceptions, Consumer<SQLException> exceptionHandler, RowMapperRegistry rowMapperRegistry, ConcurrencyLimiter concurrencyLimiter, int batchParallelism, Database<?, ?> database, BatchSizeController batchSizeController, int fetchSize, long fetchMemoryBudget, ResultLimit resultLimit, Executor executor, Boolean multiStatements) {
         this.dataSource = dataSource;
         this.atomic = atomic;
         this.throwExceptions = throwExceptions;
         this.exceptionHandler = exceptionHandler;
         this.rowMapperRegistry = rowMapperRegistry;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.batchParallelism = batchParallelism;
+        this.database = database;
+        this.batchSizeController = batchSizeController;
+        this.fetchSize = fetchSize;
+        this.fetchMemoryBudget = fetchMemoryBudget;
+        this.resultLimit = resultLimit;
+        this.executor = executor;
+        this.multiStatements = multiStatements;
     }
 
     @Override
     public ActiveQueryConfiguration forQuery(QueryContext context) {
-        return new ActiveQueryConfigurationImpl(dataSource, atomic, throwExceptions, exceptionHandler, rowMapperRegistry, context);
+        return new ActiveQueryConfigurationImpl(dataSource, atomic, throwExceptions, exceptionHandler, rowMapperRegistry, concurrencyLimiter, batchParallelism, database, batchSizeController, fetchSize, fetchMemoryBudget, resultLimit, executor, multiStatements, context);
     }
 
     @Override
@@ -67,6 +91,51 @@ public class QueryConfigurationImpl implements QueryConfiguration {
         return exceptionHandler;
     }
 
+    @Override
+    public ConcurrencyLimiter concurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    @Override
+    public int batchParallelism() {
+        return batchParallelism;
+    }
+
+    @Override
+    public Database<?, ?> database() {
+        return database;
+    }
+
+    @Override
+    public BatchSizeController batchSizeController() {
+        return batchSizeController;
+    }
+
+    @Override
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    @Override
+    public long fetchMemoryBudget() {
+        return fetchMemoryBudget;
+    }
+
+    @Override
+    public ResultLimit resultLimit() {
+        return resultLimit;
+    }
+
+    @Override
+    public Executor executor() {
+        return executor;
+    }
+
+    @Override
+    public @Nullable Boolean multiStatements() {
+        return multiStatements;
+    }
+
     @Override
     public ParsedQuery query(@Language("sql") String sql, Object... format) {
         return Query.query(this, sql, format);
@@ -74,11 +143,11 @@ public class QueryConfigurationImpl implements QueryConfiguration {
 
     @Override
     public ConnectedQueryConfigurationImpl withSingleTransaction() {
-        return new ConnectedQueryConfigurationImpl(new SimpleQueryContext(null), dataSource, null, true, throwExceptions, exceptionHandler, rowMapperRegistry);
+        return new ConnectedQueryConfigurationImpl(new SimpleQueryContext(null), dataSource, null, true, throwExceptions, exceptionHandler, rowMapperRegistry, concurrencyLimiter, batchParallelism, database, batchSizeController, fetchSize, fetchMemoryBudget, resultLimit, executor, multiStatements);
     }
 
     @Override
     public ConnectedQueryConfiguration withConnection(Connection connection) {
-        return new ConnectedQueryConfigurationImpl(new SimpleQueryContext(null), dataSource, connection, true, throwExceptions, exceptionHandler, rowMapperRegistry);
+        return new ConnectedQueryConfigurationImpl(new SimpleQueryContext(null), dataSource, connection, true, throwExceptions, exceptionHandler, rowMapperRegistry, concurrencyLimiter, batchParallelism, database, batchSizeController, fetchSize, fetchMemoryBudget, resultLimit, executor, multiStatements);
     }
 }
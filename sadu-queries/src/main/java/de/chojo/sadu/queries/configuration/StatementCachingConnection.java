@@ -0,0 +1,182 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.configuration;
+
+import de.chojo.sadu.core.connection.ConnectionDelegate;
+import de.chojo.sadu.core.connection.PreparedStatementDelegate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A connection which keeps the most recently used prepared statements open and reuses them for the same sql.
+ * <p>
+ * Closing a statement returns it to the cache. The statements are closed when they are evicted or when the connection is closed.
+ * If a statement of the same sql is still in use, a new uncached statement is created.
+ */
+class StatementCachingConnection extends ConnectionDelegate {
+    private final Map<String, CachedStatement> statements;
+
+    StatementCachingConnection(Connection connection, int size) {
+        super(connection);
+        statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= size) return false;
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return cached(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return cached(sql, autoGeneratedKeys);
+    }
+
+    private synchronized PreparedStatement cached(String sql, int autoGeneratedKeys) throws SQLException {
+        var key = autoGeneratedKeys + ":" + sql;
+        var cached = statements.get(key);
+        if (cached != null && cached.discarded()) {
+            statements.remove(key);
+            cached = null;
+        }
+        if (cached == null) {
+            cached = new CachedStatement(connection.prepareStatement(sql, autoGeneratedKeys));
+            statements.put(key, cached);
+        } else if (cached.inUse) {
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+        cached.inUse = true;
+        return cached;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        synchronized (this) {
+            for (var statement : statements.values()) {
+                try {
+                    statement.discard();
+                } catch (SQLException e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+            statements.clear();
+        }
+        try {
+            super.close();
+        } catch (SQLException e) {
+            if (failure != null) e.addSuppressed(failure);
+            throw e;
+        }
+        if (failure != null) throw failure;
+    }
+
+    private final class CachedStatement extends PreparedStatementDelegate {
+        private final List<ResultSet> results = new ArrayList<>();
+        private final int fetchSize;
+        private final int maxRows;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(PreparedStatement statement) throws SQLException {
+            super(statement);
+            fetchSize = statement.getFetchSize();
+            maxRows = statement.getMaxRows();
+        }
+
+        private boolean discarded() throws SQLException {
+            return statement.isClosed();
+        }
+
+        private void discard() throws SQLException {
+            statement.close();
+        }
+
+        private void evict() {
+            evicted = true;
+            if (inUse) return;
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // The statement is no longer used.
+            }
+        }
+
+        @Override
+        public ResultSet executeQuery() throws SQLException {
+            return track(super.executeQuery());
+        }
+
+        @Override
+        public ResultSet getResultSet() throws SQLException {
+            return track(super.getResultSet());
+        }
+
+        @Override
+        public ResultSet getGeneratedKeys() throws SQLException {
+            return track(super.getGeneratedKeys());
+        }
+
+        private ResultSet track(ResultSet resultSet) {
+            if (resultSet != null) results.add(resultSet);
+            return resultSet;
+        }
+
+        @Override
+        public boolean isClosed() throws SQLException {
+            return !inUse || super.isClosed();
+        }
+
+        /**
+         * Resets the state of the statement and returns it to the cache.
+         */
+        @Override
+        public void close() throws SQLException {
+            synchronized (StatementCachingConnection.this) {
+                if (!inUse) return;
+                if (evicted) {
+                    inUse = false;
+                    statement.close();
+                    return;
+                }
+            }
+            try {
+                for (var result : results) result.close();
+                results.clear();
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                statement.setFetchSize(fetchSize);
+                statement.setMaxRows(maxRows);
+                statement.setQueryTimeout(0);
+            } catch (SQLException e) {
+                // A statement in an unknown state must not be reused.
+                statement.close();
+                throw e;
+            } finally {
+                synchronized (StatementCachingConnection.this) {
+                    inUse = false;
+                }
+            }
+        }
+    }
+}
@@ -10,11 +10,11 @@ import de.chojo.sadu.queries.api.configuration.context.QueryContext;
 import de.chojo.sadu.queries.query.QueryImpl;
 
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class SimpleQueryContext implements QueryContext {
-    private final List<Exception> exceptions = new LinkedList<>();
+    private final List<Exception> exceptions = new CopyOnWriteArrayList<>();
     private final QueryImpl query;
 
     public SimpleQueryContext(QueryImpl query) {
@@ -0,0 +1,52 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.exception;
+
+/**
+ * Thrown when a query was rejected before it was executed on the database.
+ */
+public class QueryRejectedException extends RuntimeQueryException {
+    private final Reason reason;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param reason  the reason of the rejection
+     * @param message message
+     */
+    public QueryRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    /**
+     * The reason why the query was rejected.
+     *
+     * @return reason
+     */
+    public Reason reason() {
+        return reason;
+    }
+
+    /**
+     * The reasons a query can be rejected for.
+     */
+    public enum Reason {
+        /**
+         * The query waited longer for a permit of the concurrency limiter than allowed.
+         */
+        QUEUE_TIMEOUT,
+        /**
+         * The thread was interrupted while waiting for a permit of the concurrency limiter.
+         */
+        INTERRUPTED,
+        /**
+         * The deadline of the query passed before it could be executed.
+         */
+        DEADLINE_EXCEEDED
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.exception;
+
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+
+/**
+ * Thrown when a result exceeds the {@link ResultLimit} of a query.
+ */
+public class ResultLimitExceededException extends RuntimeQueryException {
+    private final transient ResultLimit limit;
+    private final long rows;
+    private final long estimatedBytes;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param limit          the exceeded limit
+     * @param rows           the amount of rows read when the limit was exceeded
+     * @param estimatedBytes the estimated size of the read rows or 0 if the size was not estimated
+     */
+    public ResultLimitExceededException(ResultLimit limit, long rows, long estimatedBytes) {
+        super("The result exceeded the limit of %d rows and %d bytes with %d rows and an estimated size of %d bytes. 0 means unlimited."
+                .formatted(limit.maxRows(), limit.maxBytes(), rows, estimatedBytes));
+        this.limit = limit;
+        this.rows = rows;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * The exceeded limit.
+     *
+     * @return limit
+     */
+    public ResultLimit limit() {
+        return limit;
+    }
+
+    /**
+     * The amount of rows read when the limit was exceeded.
+     *
+     * @return rows
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * The estimated size of the read rows.
+     *
+     * @return size in bytes or 0 if the size was not estimated
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.batch;
+
+import de.chojo.sadu.queries.call.CallImpl;
+import de.chojo.sadu.queries.query.TokenizedQuery;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Utility to execute multiple calls of a query as one jdbc batch.
+ */
+public final class JdbcBatch {
+    private JdbcBatch() {
+        throw new UnsupportedOperationException("This is a utility class.");
+    }
+
+    /**
+     * Executes the calls as one batch.
+     *
+     * @param conn  connection to use
+     * @param sql   query to execute
+     * @param calls calls of the query
+     * @return the changed rows of the calls as returned by {@link #rows(int)}
+     * @throws SQLException if a database access error occurs
+     */
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    public static int[] execute(Connection conn, TokenizedQuery sql, List<CallImpl> calls) throws SQLException {
+        try (var stmt = conn.prepareStatement(sql.tokenizedSql())) {
+            for (var call : calls) {
+                call.apply(sql, stmt);
+                stmt.addBatch();
+            }
+            var counts = stmt.executeBatch();
+            for (var i = 0; i < counts.length; i++) {
+                counts[i] = rows(counts[i]);
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Converts an update count of a batch into the amount of changed rows.
+     * <p>
+     * Some drivers report {@link Statement#SUCCESS_NO_INFO} for statements, which succeeded without a known update count.
+     * Oracle does this and so do MySQL and MariaDB with rewritten batched statements.
+     * Such a statement is counted as one changed row, so its result is still reported as {@link de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult#changed() changed}.
+     *
+     * @param count update count reported by the driver
+     * @return changed rows. 1 if the statement succeeded with an unknown count and 0 if it failed
+     */
+    public static int rows(int count) {
+        if (count == Statement.SUCCESS_NO_INFO) return 1;
+        return Math.max(0, count);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Internal helpers for executing jdbc batches. This package is not exported.
+ */
+package de.chojo.sadu.queries.execution.batch;
@@ -0,0 +1,64 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.reading;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Adjusts the fetch size of a result set, so that a fetched batch of rows fills a memory budget.
+ * <p>
+ * The first estimate is based on the column types. It is refined once the first {@link #SAMPLE_ROWS} rows were read.
+ * The adjusted fetch size is used by the driver for all following fetches.
+ */
+final class AdaptiveFetchSize {
+    static final int SAMPLE_ROWS = 32;
+    /**
+     * Upper bound for the fetch size, to limit the amount of rows per round trip for very narrow rows.
+     */
+    private static final int MAX_FETCH_SIZE = 100_000;
+    private static final AdaptiveFetchSize DISABLED = new AdaptiveFetchSize(null, 0, null);
+    private final ResultSet resultSet;
+    private final long budget;
+    private final RowSizeEstimator estimator;
+
+    private AdaptiveFetchSize(ResultSet resultSet, long budget, RowSizeEstimator estimator) {
+        this.resultSet = resultSet;
+        this.budget = budget;
+        this.estimator = estimator;
+    }
+
+    /**
+     * Starts adjusting the fetch size of the result set.
+     *
+     * @param resultSet result set
+     * @param budget    memory budget per fetch in bytes. 0 to keep the fetch size
+     * @return fetch size adjustment
+     * @throws SQLException if a database access error occurs
+     */
+    static AdaptiveFetchSize start(ResultSet resultSet, long budget) throws SQLException {
+        if (budget <= 0) return DISABLED;
+        var fetchSize = new AdaptiveFetchSize(resultSet, budget, RowSizeEstimator.of(resultSet.getMetaData()));
+        fetchSize.apply();
+        return fetchSize;
+    }
+
+    /**
+     * Registers a read row. Needs to be called while the result set is positioned on the row.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    void row() throws SQLException {
+        if (estimator == null || estimator.sampledRows() >= SAMPLE_ROWS) return;
+        estimator.sample(resultSet);
+        if (estimator.sampledRows() == SAMPLE_ROWS) apply();
+    }
+
+    private void apply() throws SQLException {
+        resultSet.setFetchSize(Math.min(MAX_FETCH_SIZE, estimator.rows(budget)));
+    }
+}
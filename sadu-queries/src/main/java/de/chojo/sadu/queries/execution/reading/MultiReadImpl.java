@@ -0,0 +1,142 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.reading;
+
+import de.chojo.sadu.queries.api.configuration.ConnectedQueryConfiguration;
+import de.chojo.sadu.queries.api.execution.reading.Reader;
+import de.chojo.sadu.queries.api.results.reading.MultiReadResult;
+import de.chojo.sadu.queries.call.CallImpl;
+import de.chojo.sadu.queries.execution.writing.OffsetPreparedStatement;
+import de.chojo.sadu.queries.results.reading.MultiReadResultImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Executes multiple readers in one round trip or in parallel.
+ */
+public class MultiReadImpl {
+    /**
+     * Returned by {@link #executeCombined(Connection)} if the database can not execute multiple queries per statement.
+     */
+    private static final Map<Reader<?>, List<?>> UNSUPPORTED = Map.of();
+    private final List<ReaderImpl<?>> readers;
+
+    public MultiReadImpl(Reader<?>... readers) {
+        this.readers = new ArrayList<>(readers.length);
+        for (var reader : readers) this.readers.add((ReaderImpl<?>) reader);
+    }
+
+    public MultiReadResult execute() {
+        if (readers.size() <= 1 || !sharedConnection()) return new MultiReadResultImpl(executeSeparate());
+        var results = readers.get(0).query().callConnection(() -> null, this::executeCombined);
+        // The failure was already handled. Like a single reader, every reader returns an empty result.
+        if (results == null) results = empty();
+        if (results == UNSUPPORTED) results = executeSeparate();
+        return new MultiReadResultImpl(results);
+    }
+
+    private Map<Reader<?>, List<?>> empty() {
+        Map<Reader<?>, List<?>> results = new IdentityHashMap<>();
+        readers.forEach(reader -> results.put(reader, List.of()));
+        return results;
+    }
+
+    /**
+     * Checks whether all readers can be executed on the same connection.
+     * <p>
+     * Readers of a connected configuration might depend on uncommitted changes of its transaction and can only be combined with readers of the same connection.
+     * Other readers must not be pulled into such a transaction.
+     *
+     * @return true if the readers can be combined
+     */
+    private boolean sharedConnection() {
+        var first = readers.get(0).query().configuration();
+        if (first instanceof ConnectedQueryConfiguration connected) {
+            var connection = connected.connection();
+            return readers.stream().allMatch(reader -> reader.query().configuration() instanceof ConnectedQueryConfiguration other
+                                                       && other.connection() == connection);
+        }
+        var source = first.dataSource();
+        return readers.stream().allMatch(reader -> !(reader.query().configuration() instanceof ConnectedQueryConfiguration)
+                                                   && reader.query().configuration().dataSource() == source);
+    }
+
+    /**
+     * Executes all queries as one statement and maps one result set per reader.
+     *
+     * @return results or {@link #UNSUPPORTED} if the database does not support multiple queries per statement
+     */
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private Map<Reader<?>, List<?>> executeCombined(Connection conn) throws SQLException {
+        if (!readers.get(0).query().configuration().supportsMultiStatements(conn)) return UNSUPPORTED;
+        var sql = readers.stream()
+                .map(reader -> reader.sql().tokenizedSql().strip())
+                .map(query -> query.endsWith(";") ? query.substring(0, query.length() - 1) : query)
+                .collect(Collectors.joining(";\n"));
+        try (var stmt = conn.prepareStatement(sql)) {
+            var offset = 0;
+            for (var reader : readers) {
+                ((CallImpl) reader.call()).apply(reader.sql(), new OffsetPreparedStatement(stmt, offset));
+                offset += reader.sql().parameterCount();
+            }
+            Map<Reader<?>, List<?>> results = new IdentityHashMap<>();
+            var resultSet = stmt.execute();
+            for (var reader : readers) {
+                if (resultSet) {
+                    try (var rows = stmt.getResultSet()) {
+                        results.put(reader, reader.mapAll(rows));
+                    }
+                } else {
+                    // The query did not return any rows
+                    results.put(reader, List.of());
+                }
+                resultSet = stmt.getMoreResults();
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Executes every reader on its own. Readers are executed in parallel unless they use a single connection.
+     */
+    private Map<Reader<?>, List<?>> executeSeparate() {
+        Map<Reader<?>, List<?>> results = new IdentityHashMap<>();
+        var parallel = readers.stream().filter(reader -> !(reader.query().configuration() instanceof ConnectedQueryConfiguration)).toList();
+        for (var reader : readers) {
+            if (!parallel.contains(reader)) results.put(reader, reader.all());
+        }
+        if (parallel.size() <= 1) {
+            parallel.forEach(reader -> results.put(reader, reader.all()));
+            return results;
+        }
+
+        var tasks = new ArrayList<CompletableFuture<? extends List<?>>>(parallel.size());
+        for (var reader : parallel) {
+            tasks.add(CompletableFuture.supplyAsync(reader::all, reader.query().configuration().executor()));
+        }
+        try {
+            for (var i = 0; i < parallel.size(); i++) {
+                results.put(parallel.get(i), tasks.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException ex) throw ex;
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+}
@@ -6,38 +6,77 @@
 
 package de.chojo.sadu.queries.execution.reading;
 
+import de.chojo.sadu.core.exceptions.ThrowingFunction;
 import de.chojo.sadu.mapper.MapperConfig;
 import de.chojo.sadu.mapper.rowmapper.RowMapping;
 import de.chojo.sadu.mapper.wrapper.Row;
+import de.chojo.sadu.mapper.wrapper.RowBuffer;
+import de.chojo.sadu.mapper.wrapper.SpillableRowBuffer;
 import de.chojo.sadu.queries.api.base.QueryProvider;
 import de.chojo.sadu.queries.api.call.Call;
 import de.chojo.sadu.queries.api.execution.reading.Reader;
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
 import de.chojo.sadu.queries.api.query.AppendedQuery;
+import de.chojo.sadu.queries.api.results.reading.ColumnarResult;
 import de.chojo.sadu.queries.api.results.reading.Result;
+import de.chojo.sadu.queries.api.results.reading.SpillableList;
 import de.chojo.sadu.queries.call.CallImpl;
 import de.chojo.sadu.queries.exception.Check;
+import de.chojo.sadu.queries.exception.IllegalQueryParameterException;
 import de.chojo.sadu.queries.query.AppendedQueryImpl;
 import de.chojo.sadu.queries.query.QueryImpl;
 import de.chojo.sadu.queries.query.TokenizedQuery;
+import de.chojo.sadu.queries.results.reading.ColumnVector;
+import de.chojo.sadu.queries.results.reading.ColumnarResultImpl;
 import de.chojo.sadu.queries.results.reading.MultiResult;
 import de.chojo.sadu.queries.results.reading.SingleResult;
+import de.chojo.sadu.queries.results.reading.SpillableListImpl;
 import de.chojo.sadu.queries.execution.writing.CalledSingletonQueryImpl;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class ReaderImpl<V> implements QueryProvider, Reader<V> {
+    private static final int MIN_CHUNK_SIZE = 64;
+    private static final Set<String> PAGE_TOKENS = Set.of(":limit");
     private final CalledSingletonQueryImpl query;
+    private boolean detached;
+    private ResultLimit limit;
 
     public ReaderImpl(CalledSingletonQueryImpl query) {
         this.query = query;
     }
 
+    @Override
+    public Reader<V> detached() {
+        detached = true;
+        return this;
+    }
+
+    @Override
+    public Reader<V> limit(ResultLimit limit) {
+        this.limit = Objects.requireNonNull(limit);
+        return this;
+    }
+
     @Override
     public Result<V> firstResult() {
         return mapOne();
@@ -45,7 +84,7 @@ public abstract class ReaderImpl<V> implements QueryProvider, Reader<V> {
 
     @Override
     public Result<List<V>> allResults() {
-        return mapAll();
+        return mapAll(mapperConfig().parallelism());
     }
 
     @Override
@@ -56,7 +95,7 @@ public abstract class ReaderImpl<V> implements QueryProvider, Reader<V> {
 
     @Override
     public AppendedQuery storeAllAndAppend(String key) {
-        store(key, mapAll());
+        store(key, mapAll(mapperConfig().parallelism()));
         return new AppendedQueryImpl(this);
     }
 
@@ -66,6 +105,10 @@ public abstract class ReaderImpl<V> implements QueryProvider, Reader<V> {
 
     @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
     private SingleResult<V> mapOne() {
+        if (detached) {
+            var mapped = mapDetached(1, new ResultGuard(ResultLimit.NONE), 1);
+            return new SingleResult<>(this, mapped == null || mapped.isEmpty() ? null : mapped.get(0));
+        }
         return query().callConnection(() -> new SingleResult<>(this, null), conn -> {
             try (var stmt = conn.prepareStatement(sql().tokenizedSql())) {
                 ((CallImpl) call()).apply(sql(), stmt);
@@ -81,23 +124,377 @@ public abstract class ReaderImpl<V> implements QueryProvider, Reader<V> {
     }
 
     @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
-    private MultiResult<List<V>> mapAll() {
-        return query().callConnection(() -> new MultiResult<>(this, Collections.emptyList()), conn -> {
-            var result = new ArrayList<V>();
-            try (var stmt = conn.prepareStatement(sql().tokenizedSql())) {
-                ((CallImpl) call()).apply(sql(), stmt);
+    private MultiResult<List<V>> mapAll(int parallelism) {
+        var guard = new ResultGuard(limit());
+        if (detached || parallelism > 1) {
+            var mapped = Objects.requireNonNullElse(mapDetached(Integer.MAX_VALUE, guard, parallelism), Collections.<V>emptyList());
+            return new MultiResult<>(this, mapped, guard.truncated());
+        }
+        return query().callConnection(() -> new MultiResult<>(this, Collections.emptyList()), conn -> withCursor(conn, cursor -> {
+            try (var stmt = prepareCursor(cursor)) {
+                stmt.setMaxRows(guard.statementMaxRows());
+                var mapped = mapAll(stmt.executeQuery(), guard);
+                return new MultiResult<>(this, mapped, guard.truncated());
+            }
+        }));
+    }
+
+    /**
+     * Maps all remaining rows of the result set within the {@link #limit(ResultLimit) limit} of the reader.
+     *
+     * @param resultSet result set to map
+     * @return mapped rows
+     * @throws SQLException if a database access error occurs
+     */
+    List<V> mapAll(ResultSet resultSet) throws SQLException {
+        return mapAll(resultSet, new ResultGuard(limit()));
+    }
+
+    private List<V> mapAll(ResultSet resultSet, ResultGuard guard) throws SQLException {
+        var result = new ArrayList<V>();
+        var row = new Row(resultSet, mapperConfig());
+        var fetchSize = adaptFetchSize(resultSet);
+        guard.start(resultSet);
+        while (resultSet.next()) {
+            fetchSize.row();
+            if (!guard.admit()) break;
+            V mapped = mapper(resultSet).map(row);
+            Check.assertQueryResult(mapped);
+            result.add(mapped);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the rows into a buffer and maps them after the connection was released.
+     *
+     * @param maxRows     max rows to read
+     * @param guard       guard of the result limit
+     * @param parallelism max amount of chunks, which are mapped in parallel
+     * @return mapped rows or null if the query failed
+     */
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private List<V> mapDetached(int maxRows, ResultGuard guard, int parallelism) {
+        Buffered buffered = query().callConnection(() -> null, conn -> withCursor(conn, cursor -> {
+            try (var stmt = prepareCursor(cursor)) {
+                stmt.setMaxRows(guard.statementMaxRows());
                 var resultSet = stmt.executeQuery();
-                var row = new Row(resultSet, mapperConfig());
+                adaptFetchSize(resultSet);
+                guard.start(resultSet);
+                var buffer = RowBuffer.drain(resultSet, guard.bufferRows(maxRows));
+                return new Buffered(buffer, guard.admit(buffer.size()));
+            }
+        }));
+        if (buffered == null) return null;
+        try {
+            var buffer = buffered.buffer();
+            var mapper = mapper(buffer.resultSet());
+            var chunks = Math.min(parallelism, buffered.rows() / MIN_CHUNK_SIZE);
+            if (chunks <= 1) return mapRange(buffer, mapper, 0, buffered.rows());
+            return mapParallel(buffer, buffered.rows(), mapper, chunks);
+        } catch (SQLException e) {
+            query().handleException(e);
+        }
+        return null;
+    }
+
+    private List<V> mapParallel(RowBuffer buffer, int rows, RowMapping<V> mapper, int chunks) throws SQLException {
+        var chunkSize = (rows + chunks - 1) / chunks;
+        var tasks = new ArrayList<CompletableFuture<List<V>>>(chunks);
+        for (var from = 0; from < rows; from += chunkSize) {
+            var start = from;
+            var end = Math.min(rows, from + chunkSize);
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mapRange(buffer, mapper, start, end);
+                } catch (SQLException e) {
+                    // Unwrapped again by get, which reports the SQLException as cause.
+                    throw new CompletionException(e);
+                }
+            }, query().configuration().executor()));
+        }
+        var result = new ArrayList<V>(rows);
+        try {
+            // Joining the chunks in submission order preserves the row order.
+            for (var task : tasks) {
+                result.addAll(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while mapping rows", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException ex) throw ex;
+            if (e.getCause() instanceof RuntimeException ex) throw ex;
+            throw new SQLException("Could not map rows", e.getCause());
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+        return result;
+    }
+
+    private List<V> mapRange(RowBuffer buffer, RowMapping<V> mapper, int from, int to) throws SQLException {
+        var resultSet = buffer.resultSet(from, to);
+        var row = new Row(resultSet, mapperConfig());
+        var result = new ArrayList<V>(to - from);
+        while (resultSet.next()) {
+            V mapped = mapper.map(row);
+            Check.assertQueryResult(mapped);
+            result.add(mapped);
+        }
+        return result;
+    }
+
+    @Override
+    public SpillableList<V> allSpillable(long memoryBudget) {
+        SpillableRowBuffer buffer = query().callConnection(() -> null, conn -> withCursor(conn, cursor -> {
+            try (var stmt = prepareCursor(cursor)) {
+                var resultSet = stmt.executeQuery();
+                adaptFetchSize(resultSet);
+                return SpillableRowBuffer.drain(resultSet, memoryBudget);
+            }
+        }));
+        return new SpillableListImpl<>(buffer, this::mapper, mapperConfig());
+    }
+
+    @Override
+    public ColumnarResult columnar() {
+        var guard = new ResultGuard(limit());
+        return query().callConnection(() -> ColumnarResultImpl.empty(this), conn -> withCursor(conn, cursor -> {
+            try (var stmt = prepareCursor(cursor)) {
+                stmt.setMaxRows(guard.statementMaxRows());
+                var resultSet = stmt.executeQuery();
+                var fetchSize = adaptFetchSize(resultSet);
+                guard.start(resultSet);
+                var meta = resultSet.getMetaData();
+                var columns = ColumnVector.of(meta);
+                var labels = new String[columns.length];
+                for (var i = 0; i < labels.length; i++) labels[i] = meta.getColumnLabel(i + 1);
+                var rows = 0;
                 while (resultSet.next()) {
-                    V mapped = mapper(resultSet).map(row);
-                    Check.assertQueryResult(mapped);
-                    result.add(mapped);
+                    fetchSize.row();
+                    if (!guard.admit()) break;
+                    for (var i = 0; i < columns.length; i++) {
+                        columns[i] = columns[i].read(resultSet, i + 1, rows);
+                    }
+                    rows++;
                 }
+                return new ColumnarResultImpl(this, labels, columns, rows, guard.truncated());
+            }
+        }));
+    }
+
+    /**
+     * Reads a single column of all rows into a long array without mapping the rows.
+     *
+     * @param column label of the column or null for the first column
+     * @return values of the column. Null values are 0
+     */
+    public long[] readLongs(String column) {
+        return readColumn(column, new Longs());
+    }
+
+    /**
+     * Reads a single column of all rows into an int array without mapping the rows.
+     *
+     * @param column label of the column or null for the first column
+     * @return values of the column. Null values are 0
+     */
+    public int[] readInts(String column) {
+        return readColumn(column, new Ints());
+    }
+
+    /**
+     * Reads a single column of all rows into a double array without mapping the rows.
+     *
+     * @param column label of the column or null for the first column
+     * @return values of the column. Null values are 0
+     */
+    public double[] readDoubles(String column) {
+        return readColumn(column, new Doubles());
+    }
+
+    private <A> A readColumn(String column, PrimitiveArray<A> values) {
+        var guard = new ResultGuard(limit());
+        var empty = values.toArray();
+        return query().callConnection(() -> empty, conn -> withCursor(conn, cursor -> {
+            try (var stmt = prepareCursor(cursor)) {
+                stmt.setMaxRows(guard.statementMaxRows());
+                var resultSet = stmt.executeQuery();
+                var index = column == null ? 1 : resultSet.findColumn(column);
+                var fetchSize = adaptFetchSize(resultSet);
+                guard.start(resultSet);
+                while (resultSet.next()) {
+                    fetchSize.row();
+                    if (!guard.admit()) break;
+                    values.add(resultSet, index);
+                }
+                return values.toArray();
+            }
+        }));
+    }
+
+    @Override
+    public <R> R stream(Function<Stream<V>, R> handler) {
+        return query().callConnection(() -> null, conn -> withCursor(conn, cursor -> {
+            try (var stmt = prepareCursor(cursor); var resultSet = stmt.executeQuery()) {
+                var mapper = mapper(resultSet);
+                var row = new Row(resultSet, mapperConfig());
+                var fetchSize = adaptFetchSize(resultSet);
+                var stream = StreamSupport.stream(new Spliterators.AbstractSpliterator<V>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                    @Override
+                    public boolean tryAdvance(Consumer<? super V> action) {
+                        try {
+                            if (!resultSet.next()) return false;
+                            fetchSize.row();
+                            V mapped = mapper.map(row);
+                            Check.assertQueryResult(mapped);
+                            action.accept(mapped);
+                            return true;
+                        } catch (SQLException e) {
+                            throw new CursorException(e);
+                        }
+                    }
+                }, false);
+                try {
+                    return handler.apply(stream);
+                } catch (CursorException e) {
+                    throw e.getCause();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Prepares the statement of the query for reading a forward only and read only result set with the configured fetch size.
+     *
+     * @param conn connection to use
+     * @return prepared statement with applied call
+     * @throws SQLException if a database access error occurs
+     */
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private PreparedStatement prepareCursor(Connection conn) throws SQLException {
+        // Forward only and read only is the default. The plain overload is also served by the statement cache of connected configurations.
+        var stmt = conn.prepareStatement(sql().tokenizedSql());
+        try {
+            ((CallImpl) call()).apply(sql(), stmt);
+            var fetchSize = query().configuration().fetchSize();
+            if (fetchSize > 0) stmt.setFetchSize(fetchSize);
+        } catch (SQLException | RuntimeException e) {
+            stmt.close();
+            throw e;
+        }
+        return stmt;
+    }
+
+    /**
+     * Adjusts the fetch size of the result set to the memory budget of the configuration.
+     * <p>
+     * The detached mode does not report its rows and only uses the estimate based on the column types.
+     *
+     * @param resultSet result set to adjust
+     * @return the adjustment, which needs to be notified about every read row
+     * @throws SQLException if a database access error occurs
+     */
+    private AdaptiveFetchSize adaptFetchSize(ResultSet resultSet) throws SQLException {
+        return AdaptiveFetchSize.start(resultSet, query().configuration().fetchMemoryBudget());
+    }
+
+    /**
+     * Disables auto commit while reading, if the database only fetches rows in batches inside a transaction.
+     * <p>
+     * Connections of the pool are already used without auto commit. This only affects connections provided by the user.
+     *
+     * @param conn   connection to use
+     * @param reader reads the result from the connection
+     * @param <T>    type of result
+     * @return the result of the reader
+     * @throws SQLException if a database access error occurs
+     */
+    private <T> T withCursor(Connection conn, ThrowingFunction<T, Connection, SQLException> reader) throws SQLException {
+        var database = query().configuration().database();
+        if (database == null || !database.cursorRequiresTransaction() || !conn.getAutoCommit()) return reader.apply(conn);
+        conn.setAutoCommit(false);
+        try {
+            var result = reader.apply(conn);
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    @Override
+    public Stream<List<V>> keysetPages(int pageSize, Function<V, ?> keyExtractor) {
+        if (pageSize < 1) throw new IllegalArgumentException("Page size must be at least 1");
+        var after = sql().getNamedTokenIndex(":after");
+        if (after.isEmpty()) {
+            throw new IllegalQueryParameterException("Keyset pagination requires an :after token in the query");
+        }
+        var pageQuery = pageQuery();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<List<V>>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private boolean first = true;
+            private boolean done;
+            private Object key;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super List<V>> action) {
+                if (done) return false;
+                var page = readPage(pageQuery, pageSize, first, key, after);
+                first = false;
+                if (page == null || page.size() < pageSize) done = true;
+                if (page == null || page.isEmpty()) return false;
+                key = keyExtractor.apply(page.get(page.size() - 1));
+                action.accept(page);
+                return true;
+            }
+        }, false);
+    }
+
+    /**
+     * Builds the sql of a keyset page. The page size is bound to the {@code :limit} token if the query contains one.
+     * Otherwise, the query is used as it is and the page is only limited via the max rows of the statement.
+     *
+     * @return the page query
+     */
+    private PageQuery pageQuery() {
+        return new PageQuery(sql().tokenizedSql(), sql().getNamedTokenIndex(":limit"));
+    }
+
+    /**
+     * Reads a single page of a keyset pagination.
+     *
+     * @param page     the page query
+     * @param pageSize max amount of rows
+     * @param first    whether this is the first page, which uses the key bound by the call
+     * @param key      key of the last row of the previous page
+     * @param after    indices of the :after token
+     * @return mapped rows or null if the query failed
+     */
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private List<V> readPage(PageQuery page, int pageSize, boolean first, Object key, List<Integer> after) {
+        return query().callConnection(() -> null, conn -> {
+            try (var stmt = conn.prepareStatement(page.sql())) {
+                ((CallImpl) call()).apply(sql(), stmt, PAGE_TOKENS);
+                if (!first) {
+                    for (var index : after) stmt.setObject(index, key);
+                }
+                for (var index : page.limit()) stmt.setInt(index, pageSize);
+                stmt.setMaxRows(pageSize);
+                return mapAll(stmt.executeQuery(), new ResultGuard(ResultLimit.NONE));
             }
-            return new MultiResult<>(this, result);
         });
     }
 
+    private record PageQuery(String sql, List<Integer> limit) {
+    }
+
+    private ResultLimit limit() {
+        return limit == null ? query().configuration().resultLimit() : limit;
+    }
+
     protected abstract RowMapping<V> mapper(ResultSet set) throws SQLException;
 
     protected MapperConfig mapperConfig() {
@@ -114,6 +511,12 @@ public abstract class ReaderImpl<V> implements QueryProvider, Reader<V> {
         return Objects.requireNonNullElse(allResults().result(), Collections.emptyList());
     }
 
+    @Override
+    public List<V> allParallel() {
+        var parallelism = mapperConfig().parallelism() > 1 ? mapperConfig().parallelism() : Runtime.getRuntime().availableProcessors();
+        return Objects.requireNonNullElse(mapAll(parallelism).result(), Collections.emptyList());
+    }
+
     public TokenizedQuery sql() {
         return query.sql();
     }
@@ -126,4 +529,88 @@ public abstract class ReaderImpl<V> implements QueryProvider, Reader<V> {
     public QueryImpl query() {
         return query.query();
     }
+
+    /**
+     * A primitive array, which doubles its capacity when full.
+     *
+     * @param <A> type of the array
+     */
+    private abstract static class PrimitiveArray<A> {
+        protected int size;
+
+        abstract void add(ResultSet resultSet, int index) throws SQLException;
+
+        /**
+         * Copies the values into an array of the exact size.
+         */
+        abstract A toArray();
+    }
+
+    private static final class Longs extends PrimitiveArray<long[]> {
+        private long[] values = new long[16];
+
+        @Override
+        void add(ResultSet resultSet, int index) throws SQLException {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = resultSet.getLong(index);
+        }
+
+        @Override
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class Ints extends PrimitiveArray<int[]> {
+        private int[] values = new int[16];
+
+        @Override
+        void add(ResultSet resultSet, int index) throws SQLException {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = resultSet.getInt(index);
+        }
+
+        @Override
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class Doubles extends PrimitiveArray<double[]> {
+        private double[] values = new double[16];
+
+        @Override
+        void add(ResultSet resultSet, int index) throws SQLException {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = resultSet.getDouble(index);
+        }
+
+        @Override
+        double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Rows read into a buffer.
+     *
+     * @param buffer the buffer
+     * @param rows   the amount of rows within the result limit
+     */
+    private record Buffered(RowBuffer buffer, int rows) {
+    }
+
+    /**
+     * Transports a {@link SQLException} thrown while advancing the cursor out of the stream.
+     */
+    private static final class CursorException extends RuntimeException {
+        private CursorException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
 }
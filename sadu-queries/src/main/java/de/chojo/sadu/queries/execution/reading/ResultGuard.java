@@ -0,0 +1,139 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.reading;
+
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+import de.chojo.sadu.queries.exception.ResultLimitExceededException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Enforces a {@link ResultLimit} while the rows of a result set are read.
+ * <p>
+ * Once the limit is exceeded, the result set is closed and no further rows are read.
+ * The statement is only cancelled if it may still produce rows, which is the case when the byte limit is exceeded before the max rows of the statement.
+ * Depending on the limit, an exception is thrown or the result is marked as truncated.
+ */
+final class ResultGuard {
+    private final ResultLimit limit;
+    private ResultSet resultSet;
+    private RowSizeEstimator estimator;
+    private long rows;
+    private boolean truncated;
+
+    ResultGuard(ResultLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * The max rows for the statement, which allows to detect that the row limit was exceeded without reading more rows.
+     *
+     * @return max rows or 0 if the rows are not limited
+     */
+    int statementMaxRows() {
+        return limit.maxRows() == 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, limit.maxRows() + 1);
+    }
+
+    /**
+     * Starts guarding the result set.
+     *
+     * @param resultSet result set to guard
+     * @return the same guard
+     * @throws SQLException if a database access error occurs
+     */
+    ResultGuard start(ResultSet resultSet) throws SQLException {
+        this.resultSet = resultSet;
+        if (limit.maxBytes() > 0) estimator = RowSizeEstimator.of(resultSet.getMetaData());
+        return this;
+    }
+
+    /**
+     * Registers the row the result set is positioned on.
+     *
+     * @return true if the row can be read. false if the limit was exceeded and the result is truncated
+     * @throws SQLException                 if a database access error occurs
+     * @throws ResultLimitExceededException if the limit was exceeded and the result should not be truncated
+     */
+    boolean admit() throws SQLException {
+        if (!limit.isLimited()) return true;
+        rows++;
+        if (estimator != null && estimator.sampledRows() < AdaptiveFetchSize.SAMPLE_ROWS) estimator.sample(resultSet);
+        return !exceeded(rows) || exceed();
+    }
+
+    /**
+     * The amount of rows to read into a buffer, which allows to detect that the limit was exceeded.
+     * <p>
+     * Rows read into a buffer are not sampled. The size is estimated based on the column types only.
+     *
+     * @param maxRows the rows requested by the reader
+     * @return amount of rows to read
+     */
+    int bufferRows(int maxRows) {
+        var rows = (long) maxRows;
+        if (limit.maxRows() > 0) rows = Math.min(rows, limit.maxRows() + 1);
+        if (estimator != null) rows = Math.min(rows, limit.maxBytes() / estimator.rowBytes() + 1);
+        return (int) Math.min(Integer.MAX_VALUE, rows);
+    }
+
+    /**
+     * Registers the rows read into a buffer.
+     *
+     * @param buffered amount of buffered rows
+     * @return amount of rows, which can be read
+     * @throws SQLException                 if a database access error occurs
+     * @throws ResultLimitExceededException if the limit was exceeded and the result should not be truncated
+     */
+    int admit(int buffered) throws SQLException {
+        rows = buffered;
+        if (!limit.isLimited() || !exceeded(buffered)) return buffered;
+        exceed();
+        return buffered - 1;
+    }
+
+    /**
+     * Checks whether the result was truncated because the limit was exceeded.
+     *
+     * @return true if truncated
+     */
+    boolean truncated() {
+        return truncated;
+    }
+
+    /**
+     * Checks whether the statement may still produce rows.
+     * <p>
+     * Once the rows reached the max rows of the statement, the database has no rows left to produce.
+     * A cancel is not needed in that case and could even hit the next statement of the connection, as some drivers cancel asynchronously.
+     *
+     * @return true if the statement may still be running
+     */
+    private boolean running() {
+        var maxRows = statementMaxRows();
+        return maxRows == 0 || rows < maxRows;
+    }
+
+    private boolean exceeded(long rows) {
+        if (limit.maxRows() > 0 && rows > limit.maxRows()) return true;
+        return estimator != null && estimator.rowBytes() * rows > limit.maxBytes();
+    }
+
+    private boolean exceed() throws SQLException {
+        if (running()) {
+            // Stops the database from producing rows, which would be discarded anyway.
+            var statement = resultSet.getStatement();
+            if (statement != null) statement.cancel();
+        }
+        resultSet.close();
+        if (!limit.truncate()) {
+            throw new ResultLimitExceededException(limit, rows, estimator == null ? 0 : estimator.rowBytes() * rows);
+        }
+        truncated = true;
+        return false;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.reading;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Estimates the amount of bytes a row of a result set occupies in memory.
+ * <p>
+ * Fixed width columns are estimated based on their type. Variable width columns start with an estimate based on their declared size
+ * and are replaced by the average size of the sampled values once rows were sampled.
+ */
+final class RowSizeEstimator {
+    /**
+     * Overhead of a single value, like the array or object header used by the driver.
+     */
+    private static final int VALUE_OVERHEAD = 16;
+    /**
+     * Overhead of a single row.
+     */
+    private static final int ROW_OVERHEAD = 24;
+    /**
+     * Estimate for variable width columns without a usable declared size, like text or bytea.
+     */
+    private static final int UNBOUNDED_ESTIMATE = 64;
+    private final int fixedBytes;
+    private final int variableEstimate;
+    private final int[] variableColumns;
+    private final boolean[] binary;
+    private long sampledBytes;
+    private int sampledRows;
+
+    private RowSizeEstimator(int fixedBytes, int variableEstimate, int[] variableColumns, boolean[] binary) {
+        this.fixedBytes = fixedBytes;
+        this.variableEstimate = variableEstimate;
+        this.variableColumns = variableColumns;
+        this.binary = binary;
+    }
+
+    /**
+     * Creates a new estimator based on the metadata of a result set.
+     *
+     * @param meta meta data of the result set
+     * @return new estimator
+     * @throws SQLException if a database access error occurs
+     */
+    static RowSizeEstimator of(ResultSetMetaData meta) throws SQLException {
+        var fixed = ROW_OVERHEAD;
+        var variable = 0;
+        var columns = new int[meta.getColumnCount()];
+        var binary = new boolean[meta.getColumnCount()];
+        var variableCount = 0;
+        for (var index = 1; index <= meta.getColumnCount(); index++) {
+            var type = meta.getColumnType(index);
+            var size = fixedSize(type);
+            if (size > 0) {
+                fixed += size + VALUE_OVERHEAD;
+                continue;
+            }
+            var declared = meta.getColumnDisplaySize(index);
+            variable += (declared > 0 && declared < UNBOUNDED_ESTIMATE * 4 ? declared : UNBOUNDED_ESTIMATE) + VALUE_OVERHEAD;
+            binary[variableCount] = isBinary(type);
+            columns[variableCount++] = index;
+        }
+        var variableColumns = new int[variableCount];
+        System.arraycopy(columns, 0, variableColumns, 0, variableCount);
+        var binaryColumns = new boolean[variableCount];
+        System.arraycopy(binary, 0, binaryColumns, 0, variableCount);
+        return new RowSizeEstimator(fixed, variable, variableColumns, binaryColumns);
+    }
+
+    private static int fixedSize(int type) {
+        return switch (type) {
+            case Types.BIT, Types.BOOLEAN, Types.TINYINT -> 1;
+            case Types.SMALLINT -> 2;
+            case Types.INTEGER, Types.REAL -> 4;
+            case Types.BIGINT, Types.DOUBLE, Types.FLOAT, Types.DATE, Types.TIME -> 8;
+            case Types.TIMESTAMP, Types.TIME_WITH_TIMEZONE, Types.TIMESTAMP_WITH_TIMEZONE, Types.DECIMAL, Types.NUMERIC -> 16;
+            default -> 0;
+        };
+    }
+
+    private static boolean isBinary(int type) {
+        return type == Types.BINARY || type == Types.VARBINARY || type == Types.LONGVARBINARY || type == Types.BLOB;
+    }
+
+    /**
+     * Measures the variable width values of the current row of the result set.
+     *
+     * @param resultSet result set positioned on a row
+     * @throws SQLException if a database access error occurs
+     */
+    void sample(ResultSet resultSet) throws SQLException {
+        var bytes = 0L;
+        for (var i = 0; i < variableColumns.length; i++) {
+            bytes += VALUE_OVERHEAD + valueSize(resultSet, variableColumns[i], binary[i]);
+        }
+        sampledBytes += bytes;
+        sampledRows++;
+    }
+
+    private static int valueSize(ResultSet resultSet, int index, boolean binary) throws SQLException {
+        if (binary) {
+            var value = resultSet.getBytes(index);
+            return value == null ? 0 : value.length;
+        }
+        var value = resultSet.getString(index);
+        return value == null ? 0 : value.length();
+    }
+
+    /**
+     * The amount of sampled rows.
+     *
+     * @return sampled rows
+     */
+    int sampledRows() {
+        return sampledRows;
+    }
+
+    /**
+     * The estimated average size of a row.
+     *
+     * @return size in bytes
+     */
+    long rowBytes() {
+        if (sampledRows == 0) return fixedBytes + variableEstimate;
+        return fixedBytes + sampledBytes / sampledRows;
+    }
+
+    /**
+     * Calculates the amount of rows, which fit into the budget.
+     *
+     * @param budget budget in bytes
+     * @return amount of rows. At least 1
+     */
+    int rows(long budget) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, budget / rowBytes()));
+    }
+}
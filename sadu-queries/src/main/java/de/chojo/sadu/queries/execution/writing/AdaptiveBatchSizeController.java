@@ -0,0 +1,91 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.writing;
+
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link BatchSizeController} using additive increase and multiplicative decrease.
+ * <p>
+ * The throughput of every full flush is compared with the smoothed throughput of the previous flushes.
+ * If it did not drop by more than {@link #TOLERANCE}, the size grows by a twentieth of the range between min and max.
+ * Otherwise, the size is halved. Flushes with fewer rows than the current size, like the last flush of a batch, only update the metrics.
+ */
+public class AdaptiveBatchSizeController implements BatchSizeController {
+    private static final double TOLERANCE = 0.05;
+    private static final double SMOOTHING = 0.3;
+    private static final int STEPS = 20;
+    private final int min;
+    private final int max;
+    private final int step;
+    private final boolean perQuery;
+    private final State shared;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    public AdaptiveBatchSizeController(int min, int max, boolean perQuery) {
+        if (min < 1) throw new IllegalArgumentException("Min batch size must be at least 1");
+        if (max < min) throw new IllegalArgumentException("Max batch size must not be smaller than min batch size");
+        this.min = min;
+        this.max = max;
+        this.step = Math.max(1, (max - min) / STEPS);
+        this.perQuery = perQuery;
+        this.shared = perQuery ? null : new State();
+    }
+
+    @Override
+    public int batchSize(String sql) {
+        return state(sql).size();
+    }
+
+    @Override
+    public void record(String sql, int rows, long nanos) {
+        state(sql).record(rows, nanos);
+    }
+
+    @Override
+    public BatchSizeMetrics metrics(String sql) {
+        return state(sql).metrics();
+    }
+
+    private State state(String sql) {
+        return perQuery ? states.computeIfAbsent(sql, key -> new State()) : shared;
+    }
+
+    private final class State {
+        private int size = min;
+        private double rowsPerSecond;
+        private long flushes;
+        private long rows;
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void record(int rows, long nanos) {
+            flushes++;
+            this.rows += rows;
+            if (rows == 0) return;
+            var rate = rows * 1_000_000_000D / Math.max(1, nanos);
+            if (rows >= size) {
+                if (rowsPerSecond == 0 || rate >= rowsPerSecond * (1 - TOLERANCE)) {
+                    size = Math.min(max, size + step);
+                } else {
+                    size = Math.max(min, size / 2);
+                }
+            }
+            rowsPerSecond = rowsPerSecond == 0 ? rate : rowsPerSecond * (1 - SMOOTHING) + rate * SMOOTHING;
+        }
+
+        synchronized BatchSizeMetrics metrics() {
+            return new BatchSizeMetrics(size, rowsPerSecond, flushes, rows);
+        }
+    }
+}
@@ -8,25 +8,38 @@ package de.chojo.sadu.queries.execution.writing;
 
 import de.chojo.sadu.mapper.util.Results;
 import de.chojo.sadu.queries.api.base.QueryProvider;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.configuration.ConnectedQueryConfiguration;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
 import de.chojo.sadu.queries.api.execution.writing.CalledBatchQuery;
 import de.chojo.sadu.queries.api.results.writing.insertion.InsertionBatchResult;
 import de.chojo.sadu.queries.api.results.writing.insertion.InsertionResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.FailedCall;
+import de.chojo.sadu.queries.api.results.writing.manipulation.IsolatedBatchResult;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
 import de.chojo.sadu.queries.call.CallImpl;
 import de.chojo.sadu.queries.calls.BatchCall;
 import de.chojo.sadu.queries.exception.QueryException;
+import de.chojo.sadu.queries.execution.batch.JdbcBatch;
 import de.chojo.sadu.queries.query.ParsedQueryImpl;
 import de.chojo.sadu.queries.query.QueryImpl;
 import de.chojo.sadu.queries.results.writing.insertion.InsertionBatchResultImpl;
 import de.chojo.sadu.queries.results.writing.insertion.InsertionResultImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.IsolatedBatchResultImpl;
 import de.chojo.sadu.queries.results.writing.manipulation.ManipulationBatchResultImpl;
 import de.chojo.sadu.queries.results.writing.manipulation.ManipulationResultImpl;
 
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntFunction;
 
 public class CalledBatchQueryImpl implements QueryProvider, CalledBatchQuery {
     private final ParsedQueryImpl parsedQuery;
@@ -37,54 +50,38 @@ public class CalledBatchQueryImpl implements QueryProvider, CalledBatchQuery {
         this.calls = calls;
     }
 
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
     @Override
     public InsertionBatchResult<InsertionResult> insertAndGetKeys() {
-        return query().callConnection(() -> new InsertionBatchResultImpl(this, Collections.emptyList()), conn -> {
-            var changed = new ArrayList<InsertionResult>();
-            for (var call : calls.calls()) {
-                try (var stmt = conn.prepareStatement(parsedQuery.sql().tokenizedSql(), Statement.RETURN_GENERATED_KEYS)) {
-                    ((CallImpl) call).apply(parsedQuery.sql(), stmt);
-                    var changes = stmt.executeUpdate();
-                    changed.add(new InsertionResultImpl(this, changes, Results.generatedKeys(stmt)));
-                } catch (SQLException ex) {
-                    query().handleException(new QueryException(parsedQuery, ex));
-                }
+        return new InsertionBatchResultImpl(this, execute((conn, call) -> {
+            try (var stmt = conn.prepareStatement(parsedQuery.sql().tokenizedSql(), Statement.RETURN_GENERATED_KEYS)) {
+                call.apply(parsedQuery.sql(), stmt);
+                var changes = stmt.executeUpdate();
+                return new InsertionResultImpl(this, changes, Results.generatedKeys(stmt));
             }
-            return new InsertionBatchResultImpl(this, changed);
-        });
+        }));
     }
 
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
     @Override
     public InsertionBatchResult<InsertionResult> insert() {
-        return query().callConnection(() -> new InsertionBatchResultImpl(this, Collections.emptyList()), conn -> {
-            var changed = new ArrayList<InsertionResult>();
-            for (var call : calls.calls()) {
-                try (var stmt = conn.prepareStatement(parsedQuery.sql().tokenizedSql())) {
-                    ((CallImpl) call).apply(parsedQuery.sql(), stmt);
-                    changed.add(new InsertionResultImpl(this, stmt.executeUpdate(), Collections.emptyList()));
-                } catch (SQLException ex) {
-                    query().handleException(new QueryException(parsedQuery, ex));
-                }
+        return new InsertionBatchResultImpl(this, execute((conn, call) -> {
+            try (var stmt = conn.prepareStatement(parsedQuery.sql().tokenizedSql())) {
+                call.apply(parsedQuery.sql(), stmt);
+                return new InsertionResultImpl(this, stmt.executeUpdate(), Collections.emptyList());
             }
-            return new InsertionBatchResultImpl(this, changed);
-        });
+        }, count -> new InsertionResultImpl(this, count, Collections.emptyList())));
     }
 
     @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
     @Override
     public ManipulationBatchResult<ManipulationResult> update() {
-        return query().callConnection(() -> new ManipulationBatchResultImpl<>(this, Collections.emptyList()), conn -> {
-            var changed = new ArrayList<ManipulationResult>();
-            for (var call : calls.calls()) {
-                try (var stmt = conn.prepareStatement(parsedQuery.sql().tokenizedSql())) {
-                    ((CallImpl) call).apply(parsedQuery.sql(), stmt);
-                    changed.add(new ManipulationResultImpl(this, stmt.executeUpdate()));
-                } catch (SQLException ex) {
-                    query().handleException(new QueryException(parsedQuery, ex));
-                }
+        return new ManipulationBatchResultImpl<>(this, execute((conn, call) -> {
+            try (var stmt = conn.prepareStatement(parsedQuery.sql().tokenizedSql())) {
+                call.apply(parsedQuery.sql(), stmt);
+                return new ManipulationResultImpl(this, stmt.executeUpdate());
             }
-            return new ManipulationBatchResultImpl<>(this, changed);
-        });
+        }, count -> new ManipulationResultImpl(this, count)));
     }
 
     @Override
@@ -92,8 +89,234 @@ public class CalledBatchQueryImpl implements QueryProvider, CalledBatchQuery {
         return update();
     }
 
+    @Override
+    public IsolatedBatchResult isolated(int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be at least 1");
+        var batch = calls.calls();
+        var counts = new int[batch.size()];
+        var failures = new ArrayList<FailedCall>();
+        query().callConnection(() -> null, conn -> {
+            // Savepoints require a transaction
+            var autoCommit = conn.getAutoCommit();
+            if (autoCommit) conn.setAutoCommit(false);
+            try {
+                for (var start = 0; start < batch.size(); start += chunkSize) {
+                    executeIsolated(conn, start, Math.min(batch.size(), start + chunkSize), counts, failures);
+                }
+                if (autoCommit) conn.commit();
+            } finally {
+                if (autoCommit) conn.setAutoCommit(true);
+            }
+            return null;
+        });
+        var results = new ArrayList<ManipulationResult>(counts.length);
+        for (var count : counts) results.add(new ManipulationResultImpl(this, count));
+        return new IsolatedBatchResultImpl(this, results, failures);
+    }
+
+    /**
+     * Executes the calls from {@code from} inclusive to {@code to} exclusive as one jdbc batch.
+     * <p>
+     * If the batch fails, the changes are rolled back and both halves are executed separately.
+     */
+    private void executeIsolated(Connection conn, int from, int to, int[] counts, List<FailedCall> failures) throws SQLException {
+        var batch = calls.calls().subList(from, to);
+        var savepoint = conn.setSavepoint();
+        try {
+            var result = JdbcBatch.execute(conn, parsedQuery.sql(), batch.stream().map(CallImpl.class::cast).toList());
+            System.arraycopy(result, 0, counts, from, Math.min(result.length, to - from));
+        } catch (SQLException e) {
+            conn.rollback(savepoint);
+            conn.releaseSavepoint(savepoint);
+            if (to - from == 1) {
+                failures.add(new FailedCall(from, batch.get(0), unwrap(e)));
+                return;
+            }
+            var mid = (from + to) >>> 1;
+            executeIsolated(conn, from, mid, counts, failures);
+            executeIsolated(conn, mid, to, counts, failures);
+            return;
+        }
+        conn.releaseSavepoint(savepoint);
+    }
+
+    /**
+     * Drivers report failures of a single statement batch as {@link BatchUpdateException}, which wraps the actual cause.
+     */
+    private static SQLException unwrap(SQLException e) {
+        if (e instanceof BatchUpdateException && e.getNextException() != null) return e.getNextException();
+        return e;
+    }
+
     @Override
     public QueryImpl query() {
         return parsedQuery.query();
     }
+
+    /**
+     * Executes all calls of the batch one by one.
+     *
+     * @param executor executor for a single call
+     * @param <T>      type of result
+     * @return results in the order of the calls
+     */
+    private <T> List<T> execute(CallExecutor<T> executor) {
+        return execute(partition -> executePartition(partition, executor));
+    }
+
+    /**
+     * Executes all calls of the batch.
+     * <p>
+     * If the configuration has a {@link BatchSizeController}, the calls are sent as jdbc batches of the size decided by the controller.
+     * Otherwise, the calls are executed one by one.
+     *
+     * @param executor executor for a single call
+     * @param result   creates the result of a call from its update count
+     * @param <T>      type of result
+     * @return results in the order of the calls
+     */
+    private <T> List<T> execute(CallExecutor<T> executor, IntFunction<T> result) {
+        var controller = query().configuration().batchSizeController();
+        if (controller == null) return execute(executor);
+        return execute(partition -> executeChunked(partition, controller, executor, result));
+    }
+
+    /**
+     * Executes all calls of the batch.
+     * <p>
+     * Non atomic configurations with a batch parallelism larger than 1 execute partitions of the batch on their own connection.
+     *
+     * @param executor executor for a partition of the calls
+     * @param <T>      type of result
+     * @return results in the order of the calls
+     */
+    private <T> List<T> execute(PartitionExecutor<T> executor) {
+        var configuration = query().configuration();
+        var parallelism = Math.min(configuration.batchParallelism(), calls.calls().size());
+        if (parallelism <= 1 || configuration.atomic() || configuration instanceof ConnectedQueryConfiguration) {
+            return executor.execute(calls.calls());
+        }
+        return executeParallel(parallelism, executor);
+    }
+
+    private <T> List<T> executeParallel(int parallelism, PartitionExecutor<T> executor) {
+        var partitionSize = (calls.calls().size() + parallelism - 1) / parallelism;
+        var partitions = new ArrayList<List<Call>>();
+        for (var start = 0; start < calls.calls().size(); start += partitionSize) {
+            partitions.add(calls.calls().subList(start, Math.min(calls.calls().size(), start + partitionSize)));
+        }
+        var tasks = new ArrayList<CompletableFuture<List<T>>>();
+        for (var partition : partitions.subList(1, partitions.size())) {
+            tasks.add(CompletableFuture.supplyAsync(() -> executor.execute(partition), query().configuration().executor()));
+        }
+        try {
+            // The calling thread executes the first partition itself.
+            var results = new ArrayList<T>(executor.execute(partitions.get(0)));
+            RuntimeException failure = null;
+            for (var task : tasks) {
+                try {
+                    results.addAll(task.get());
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof RuntimeException ex)) throw new IllegalStateException(e.getCause());
+                    if (failure == null) failure = ex;
+                    else failure.addSuppressed(ex);
+                }
+            }
+            if (failure != null) throw failure;
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while executing batch", e);
+        }
+    }
+
+    private <T> List<T> executePartition(List<Call> partition, CallExecutor<T> executor) {
+        return query().callConnection(Collections::emptyList, conn -> {
+            var results = new ArrayList<T>(partition.size());
+            for (var call : partition) {
+                try {
+                    results.add(executor.execute(conn, (CallImpl) call));
+                } catch (SQLException ex) {
+                    query().handleException(new QueryException(parsedQuery, ex));
+                }
+            }
+            return results;
+        });
+    }
+
+    private <T> List<T> executeChunked(List<Call> partition, BatchSizeController controller, CallExecutor<T> executor, IntFunction<T> result) {
+        var sql = parsedQuery.sql();
+        return query().callConnection(Collections::emptyList, conn -> {
+            var results = new ArrayList<T>(partition.size());
+            var start = 0;
+            while (start < partition.size()) {
+                var end = Math.min(partition.size(), start + Math.max(1, controller.batchSize(sql.sql())));
+                var chunk = partition.subList(start, end).stream().map(CallImpl.class::cast).toList();
+                try {
+                    executeChunk(conn, chunk, controller, executor, result, results);
+                } catch (SQLException ex) {
+                    query().handleException(new QueryException(parsedQuery, ex));
+                }
+                start = end;
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Executes a chunk of calls as one jdbc batch.
+     * <p>
+     * If a call of the batch fails, the remaining calls are executed one by one, like batches without a {@link BatchSizeController}.
+     * Inside a transaction the batch is rolled back to a savepoint first and all calls of the chunk are executed again.
+     * Otherwise, the calls the driver reported as executed are kept and only the calls after them are executed again.
+     * This way only the failing calls are skipped and every other call reports its result.
+     * <p>
+     * Failed chunks are not recorded by the controller.
+     */
+    private <T> void executeChunk(Connection conn, List<CallImpl> chunk, BatchSizeController controller, CallExecutor<T> executor,
+                                  IntFunction<T> result, List<T> results) throws SQLException {
+        var sql = parsedQuery.sql();
+        var savepoint = conn.getAutoCommit() ? null : conn.setSavepoint();
+        var begin = System.nanoTime();
+        int[] counts;
+        try {
+            counts = JdbcBatch.execute(conn, sql, chunk);
+        } catch (BatchUpdateException ex) {
+            var done = 0;
+            if (savepoint != null) {
+                conn.rollback(savepoint);
+                conn.releaseSavepoint(savepoint);
+            } else {
+                var executed = ex.getUpdateCounts() == null ? new int[0] : ex.getUpdateCounts();
+                for (; done < executed.length && done < chunk.size(); done++) {
+                    if (executed[done] == Statement.EXECUTE_FAILED) {
+                        query().handleException(new QueryException(parsedQuery, unwrap(ex)));
+                    } else {
+                        results.add(result.apply(JdbcBatch.rows(executed[done])));
+                    }
+                }
+            }
+            for (var call : chunk.subList(done, chunk.size())) {
+                try {
+                    results.add(executor.execute(conn, call));
+                } catch (SQLException e) {
+                    query().handleException(new QueryException(parsedQuery, e));
+                }
+            }
+            return;
+        }
+        if (savepoint != null) conn.releaseSavepoint(savepoint);
+        controller.record(sql.sql(), chunk.size(), System.nanoTime() - begin);
+        for (var count : counts) results.add(result.apply(count));
+    }
+
+    @FunctionalInterface
+    private interface PartitionExecutor<T> {
+        List<T> execute(List<Call> partition);
+    }
+
+    @FunctionalInterface
+    private interface CallExecutor<T> {
+        T execute(Connection conn, CallImpl call) throws SQLException;
+    }
 }
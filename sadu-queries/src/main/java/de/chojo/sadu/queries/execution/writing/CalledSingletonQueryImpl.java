@@ -13,6 +13,7 @@ import de.chojo.sadu.queries.api.base.QueryProvider;
 import de.chojo.sadu.queries.api.call.Call;
 import de.chojo.sadu.queries.api.execution.reading.Reader;
 import de.chojo.sadu.queries.api.execution.writing.CalledSingletonQuery;
+import de.chojo.sadu.queries.api.results.reading.ColumnarResult;
 import de.chojo.sadu.queries.api.results.writing.insertion.InsertionResult;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
 import de.chojo.sadu.queries.call.CallImpl;
@@ -54,6 +55,42 @@ public class CalledSingletonQueryImpl implements QueryProvider, CalledSingletonQ
         return new AutoMappedQuery<>(this, clazz, config);
     }
 
+    @Override
+    public ColumnarResult columnar() {
+        // Columnar reads do not map rows
+        return new MappedQuery<>(this, row -> null).columnar();
+    }
+
+    @Override
+    public long[] readLongs() {
+        return readLongs(null);
+    }
+
+    @Override
+    public long[] readLongs(String column) {
+        return new MappedQuery<>(this, row -> null).readLongs(column);
+    }
+
+    @Override
+    public int[] readInts() {
+        return readInts(null);
+    }
+
+    @Override
+    public int[] readInts(String column) {
+        return new MappedQuery<>(this, row -> null).readInts(column);
+    }
+
+    @Override
+    public double[] readDoubles() {
+        return readDoubles(null);
+    }
+
+    @Override
+    public double[] readDoubles(String column) {
+        return new MappedQuery<>(this, row -> null).readDoubles(column);
+    }
+
     @Override
     public InsertionResult insert() {
         return query.callConnection(() -> InsertionResultImpl.empty(this), conn -> {
@@ -0,0 +1,117 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.writing;
+
+import de.chojo.sadu.queries.api.base.QueryProvider;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.call.ColumnBatchImpl;
+import de.chojo.sadu.queries.exception.IllegalQueryParameterException;
+import de.chojo.sadu.queries.execution.batch.JdbcBatch;
+import de.chojo.sadu.queries.query.ParsedQueryImpl;
+import de.chojo.sadu.queries.query.QueryImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationBatchResultImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationResultImpl;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Executes a query with the rows of a {@link ColumnBatchImpl}.
+ * <p>
+ * Simple inserts of the form {@code INSERT INTO table(a, b) VALUES (?, ?)} with a single tuple are rewritten to {@code INSERT INTO table(a, b) SELECT * FROM unnest(?, ?)} on databases supporting unnest.
+ * Every column of a chunk is then bound as one array parameter. All other queries are executed as jdbc batch.
+ */
+public class ColumnBatchQueryImpl implements QueryProvider {
+    /**
+     * A single tuple of parameters, optionally followed by an {@code ON CONFLICT} or {@code RETURNING} clause without parameters.
+     */
+    private static final Pattern INSERT_VALUES = Pattern.compile("(?is)^(\\s*INSERT\\s+INTO\\s+.+?)\\s+VALUES\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)(\\s*(?:(?:ON\\s+CONFLICT|RETURNING)\\b[^?;]*)?;?\\s*)$");
+    private final ParsedQueryImpl parsedQuery;
+    private final ColumnBatchImpl batch;
+
+    public ColumnBatchQueryImpl(ParsedQueryImpl parsedQuery, ColumnBatchImpl batch) {
+        this.parsedQuery = parsedQuery;
+        this.batch = batch;
+    }
+
+    public ManipulationBatchResult<ManipulationResult> execute() {
+        var sql = parsedQuery.sql();
+        if (!sql.getNamedTokens().isEmpty() || sql.indexSize() != batch.columns().size()) {
+            throw new IllegalQueryParameterException("The query defines %d indexed and %d named parameters, but %d columns were given: \"%s\"".formatted(
+                    sql.indexSize(), sql.getNamedTokens().size(), batch.columns().size(), sql.sql()));
+        }
+        if (batch.rows() == 0) return new ManipulationBatchResultImpl<>(this, Collections.emptyList());
+        return new ManipulationBatchResultImpl<>(this, query().callConnection(Collections::emptyList, conn -> {
+            var database = query().configuration().database();
+            var matcher = INSERT_VALUES.matcher(sql.tokenizedSql());
+            if (database != null && database.supportsUnnest() && matcher.matches()) {
+                var unnest = batch.columns().stream().map(column -> "?::%s[]".formatted(column.arrayType())).collect(Collectors.joining(", "));
+                return executeArrays(conn, "%s SELECT * FROM unnest(%s)%s".formatted(matcher.group(1), unnest, matcher.group(2)));
+            }
+            return executeBatch(conn);
+        }));
+    }
+
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private List<ManipulationResult> executeArrays(Connection conn, String sql) throws SQLException {
+        var results = new ArrayList<ManipulationResult>();
+        var columns = batch.columns();
+        try (var stmt = conn.prepareStatement(sql)) {
+            for (var from = 0; from < batch.rows(); from += batch.chunkSize()) {
+                var to = Math.min(batch.rows(), from + batch.chunkSize());
+                var arrays = new ArrayList<Array>(columns.size());
+                try {
+                    for (var i = 0; i < columns.size(); i++) {
+                        var array = columns.get(i).array(conn, from, to);
+                        arrays.add(array);
+                        stmt.setArray(i + 1, array);
+                    }
+                    results.add(new ManipulationResultImpl(this, stmt.executeUpdate()));
+                } finally {
+                    for (var array : arrays) array.free();
+                }
+            }
+        }
+        return results;
+    }
+
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private List<ManipulationResult> executeBatch(Connection conn) throws SQLException {
+        var results = new ArrayList<ManipulationResult>();
+        var sql = parsedQuery.sql();
+        var columns = batch.columns();
+        var positions = new int[columns.size()];
+        for (var i = 0; i < positions.length; i++) positions[i] = sql.getIndexTokenIndex(i + 1);
+        try (var stmt = conn.prepareStatement(sql.tokenizedSql())) {
+            for (var from = 0; from < batch.rows(); from += batch.chunkSize()) {
+                var to = Math.min(batch.rows(), from + batch.chunkSize());
+                for (var row = from; row < to; row++) {
+                    for (var i = 0; i < positions.length; i++) {
+                        columns.get(i).set(stmt, positions[i], row);
+                    }
+                    stmt.addBatch();
+                }
+                var rows = 0;
+                for (var count : stmt.executeBatch()) rows += JdbcBatch.rows(count);
+                results.add(new ManipulationResultImpl(this, rows));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public QueryImpl query() {
+        return parsedQuery.query();
+    }
+}
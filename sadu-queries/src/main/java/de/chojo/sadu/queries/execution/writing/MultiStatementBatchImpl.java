@@ -0,0 +1,101 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.writing;
+
+import de.chojo.sadu.queries.api.base.QueryProvider;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.configuration.ConnectedQueryConfiguration;
+import de.chojo.sadu.queries.api.execution.writing.MultiStatementBatch;
+import de.chojo.sadu.queries.api.query.ParsedQuery;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.call.CallImpl;
+import de.chojo.sadu.queries.query.ParsedQueryImpl;
+import de.chojo.sadu.queries.query.QueryImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationBatchResultImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationResultImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MultiStatementBatchImpl implements QueryProvider, MultiStatementBatch {
+    private final QueryImpl query;
+    private final List<Entry> entries = new ArrayList<>();
+
+    public MultiStatementBatchImpl(ConnectedQueryConfiguration configuration) {
+        query = new QueryImpl(configuration);
+    }
+
+    @Override
+    public MultiStatementBatch add(ParsedQuery query, Call call) {
+        entries.add(new Entry((ParsedQueryImpl) query, (CallImpl) call));
+        return this;
+    }
+
+    @Override
+    public ManipulationBatchResult<ManipulationResult> execute() {
+        if (entries.isEmpty()) return new ManipulationBatchResultImpl<>(this, Collections.emptyList());
+        return new ManipulationBatchResultImpl<>(this, query.callConnection(Collections::emptyList, conn -> {
+            if (entries.size() > 1 && query.configuration().supportsMultiStatements(conn)) {
+                return executeCombined(conn);
+            }
+            return executeSequential(conn);
+        }));
+    }
+
+    /**
+     * Executes all queries as one statement and reads one result per query.
+     */
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private List<ManipulationResult> executeCombined(Connection conn) throws SQLException {
+        var sql = entries.stream()
+                .map(entry -> entry.query().sql().tokenizedSql().strip())
+                .map(query -> query.endsWith(";") ? query.substring(0, query.length() - 1) : query)
+                .collect(Collectors.joining(";\n"));
+        try (var stmt = conn.prepareStatement(sql)) {
+            var offset = 0;
+            for (var entry : entries) {
+                entry.call().apply(entry.query().sql(), new OffsetPreparedStatement(stmt, offset));
+                offset += entry.query().sql().parameterCount();
+            }
+            var results = new ArrayList<ManipulationResult>(entries.size());
+            var resultSet = stmt.execute();
+            for (var entry : entries) {
+                // Queries returning rows have no update count
+                var rows = resultSet ? 0 : stmt.getUpdateCount();
+                results.add(new ManipulationResultImpl(entry.query(), Math.max(0, rows)));
+                resultSet = stmt.getMoreResults();
+            }
+            return results;
+        }
+    }
+
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private List<ManipulationResult> executeSequential(Connection conn) throws SQLException {
+        var results = new ArrayList<ManipulationResult>(entries.size());
+        for (var entry : entries) {
+            try (var stmt = conn.prepareStatement(entry.query().sql().tokenizedSql())) {
+                entry.call().apply(entry.query().sql(), stmt);
+                var resultSet = stmt.execute();
+                results.add(new ManipulationResultImpl(entry.query(), resultSet ? 0 : Math.max(0, stmt.getUpdateCount())));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public QueryImpl query() {
+        return query;
+    }
+
+    private record Entry(ParsedQueryImpl query, CallImpl call) {
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.writing;
+
+import de.chojo.sadu.queries.api.base.QueryProvider;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.call.CallImpl;
+import de.chojo.sadu.queries.execution.batch.JdbcBatch;
+import de.chojo.sadu.queries.query.ParsedQueryImpl;
+import de.chojo.sadu.queries.query.QueryImpl;
+import de.chojo.sadu.queries.query.TokenizedQuery;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationBatchResultImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationResultImpl;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Executes a batch, which pulls its rows lazily from a stream.
+ * <p>
+ * Every row is bound into the same call and added to the jdbc batch right away. Only the rows of the current flush are held by the driver.
+ * The flush size is either fixed or decided by a {@link BatchSizeController} before every flush.
+ * <p>
+ * By default all flushes are written in one transaction with one connection.
+ * With a commit interval, every {@code commitInterval} flushes are written in their own transaction.
+ * A failure then only rolls back the flushes since the last commit and the stream is not consumed any further.
+ *
+ * @param <T> type of the rows
+ */
+public class StreamBatchQueryImpl<T> implements QueryProvider {
+    private final ParsedQueryImpl parsedQuery;
+    private final Stream<T> rows;
+    private final BiConsumer<T, Call> binder;
+    private final int flushSize;
+    @Nullable
+    private final BatchSizeController controller;
+    private final int commitInterval;
+
+    public StreamBatchQueryImpl(ParsedQueryImpl parsedQuery, Stream<T> rows, BiConsumer<T, Call> binder, int flushSize) {
+        this(parsedQuery, rows, binder, flushSize, 0);
+    }
+
+    public StreamBatchQueryImpl(ParsedQueryImpl parsedQuery, Stream<T> rows, BiConsumer<T, Call> binder, int flushSize, int commitInterval) {
+        if (flushSize < 1) throw new IllegalArgumentException("Flush size must be at least 1");
+        if (commitInterval < 0) throw new IllegalArgumentException("Commit interval must not be negative");
+        this.parsedQuery = parsedQuery;
+        this.rows = rows;
+        this.binder = binder;
+        this.flushSize = flushSize;
+        this.controller = null;
+        this.commitInterval = commitInterval;
+    }
+
+    public StreamBatchQueryImpl(ParsedQueryImpl parsedQuery, Stream<T> rows, BiConsumer<T, Call> binder, BatchSizeController controller) {
+        this.parsedQuery = parsedQuery;
+        this.rows = rows;
+        this.binder = binder;
+        this.flushSize = 0;
+        this.controller = controller;
+        this.commitInterval = 0;
+    }
+
+    public ManipulationBatchResult<ManipulationResult> execute() {
+        try (rows) {
+            var results = new ArrayList<ManipulationResult>();
+            var iterator = rows.iterator();
+            do {
+                // Every segment gets its own connection, which is committed once the segment is done.
+                List<ManipulationResult> segment = query().callConnection(() -> null, conn -> executeSegment(conn, iterator));
+                // The failure was already handled. Flushes of earlier segments are committed and stay part of the result.
+                if (segment == null) break;
+                results.addAll(segment);
+            } while (iterator.hasNext());
+            return new ManipulationBatchResultImpl<>(this, results);
+        }
+    }
+
+    /**
+     * Writes rows until the stream is exhausted or the commit interval is reached.
+     */
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private List<ManipulationResult> executeSegment(Connection conn, Iterator<T> iterator) throws SQLException {
+        var results = new ArrayList<ManipulationResult>();
+        var sql = parsedQuery.sql();
+        try (var stmt = conn.prepareStatement(sql.tokenizedSql())) {
+            var call = new CallImpl();
+            var pending = 0;
+            var size = flushSize(sql);
+            var start = System.nanoTime();
+            while (iterator.hasNext()) {
+                call.clear();
+                binder.accept(iterator.next(), call);
+                call.apply(sql, stmt);
+                stmt.addBatch();
+                if (++pending >= size) {
+                    flush(stmt, results, sql, pending, start);
+                    if (commitInterval != 0 && results.size() >= commitInterval) return results;
+                    pending = 0;
+                    size = flushSize(sql);
+                    start = System.nanoTime();
+                }
+            }
+            if (pending != 0) flush(stmt, results, sql, pending, start);
+        }
+        return results;
+    }
+
+    private int flushSize(TokenizedQuery sql) {
+        return controller == null ? flushSize : Math.max(1, controller.batchSize(sql.sql()));
+    }
+
+    /**
+     * Executes the pending batch.
+     * <p>
+     * The recorded duration starts with binding the first row of the batch, which includes the time spent pulling rows from the stream.
+     */
+    private void flush(PreparedStatement stmt, List<ManipulationResult> results, TokenizedQuery sql, int pending, long start) throws SQLException {
+        var rows = 0;
+        for (var count : stmt.executeBatch()) rows += JdbcBatch.rows(count);
+        if (controller != null) controller.record(sql.sql(), pending, System.nanoTime() - start);
+        results.add(new ManipulationResultImpl(this, rows));
+    }
+
+    @Override
+    public QueryImpl query() {
+        return parsedQuery.query();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.limiter;
+
+import de.chojo.sadu.queries.api.limiter.LimitAlgorithm;
+
+import java.time.Duration;
+
+/**
+ * Additive increase, multiplicative decrease limit.
+ * <p>
+ * The limit grows by one for every successful call while the limiter is utilized and shrinks by the backoff ratio
+ * when a call was dropped or took longer than the latency threshold.
+ */
+public class AimdLimit implements LimitAlgorithm {
+    private final int min;
+    private final int max;
+    private final double backoffRatio;
+    private final long latencyThreshold;
+    private volatile int limit;
+
+    /**
+     * Creates a new AIMD limit.
+     *
+     * @param initial          initial limit
+     * @param min              minimum limit
+     * @param max              maximum limit
+     * @param backoffRatio     the factor the limit is multiplied with on overload. Between 0.5 and 1 (exclusive).
+     * @param latencyThreshold calls taking longer are considered as an overload
+     */
+    public AimdLimit(int initial, int min, int max, double backoffRatio, Duration latencyThreshold) {
+        if (min < 1 || max < min) throw new IllegalArgumentException("Limits have to satisfy 1 <= min <= max");
+        if (backoffRatio < 0.5 || backoffRatio >= 1.0) throw new IllegalArgumentException("Backoff ratio has to be in range [0.5, 1)");
+        this.min = min;
+        this.max = max;
+        this.backoffRatio = backoffRatio;
+        this.latencyThreshold = latencyThreshold.toNanos();
+        limit = Math.max(min, Math.min(max, initial));
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (dropped || rttNanos > latencyThreshold) {
+            limit = Math.max(min, (int) (limit * backoffRatio));
+            return;
+        }
+        // Only grow when the limit is actually used. Otherwise, an idle limiter would grow unbounded.
+        if (inflight * 2 >= limit) {
+            limit = Math.min(max, limit + 1);
+        }
+    }
+}
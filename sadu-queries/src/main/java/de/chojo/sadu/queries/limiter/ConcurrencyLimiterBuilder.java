@@ -0,0 +1,95 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.limiter;
+
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
+import de.chojo.sadu.queries.api.limiter.LimitAlgorithm;
+
+import java.time.Duration;
+
+/**
+ * Builder for a {@link ConcurrencyLimiter}.
+ */
+public class ConcurrencyLimiterBuilder {
+    private LimitAlgorithm algorithm = new FixedLimit(10);
+    private Duration maxQueueWait = Duration.ofSeconds(1);
+
+    public ConcurrencyLimiterBuilder() {
+    }
+
+    /**
+     * Sets a limit that never changes.
+     * <p>
+     * Default: 10
+     *
+     * @param limit the amount of concurrent calls
+     * @return the ConcurrencyLimiterBuilder instance
+     */
+    public ConcurrencyLimiterBuilder setFixedLimit(int limit) {
+        return setLimitAlgorithm(new FixedLimit(limit));
+    }
+
+    /**
+     * Sets an additive increase, multiplicative decrease limit.
+     * <p>
+     * The limit shrinks by 10 % when a call takes longer than the latency threshold.
+     *
+     * @param min              minimum limit and initial limit
+     * @param max              maximum limit
+     * @param latencyThreshold calls taking longer are considered as an overload
+     * @return the ConcurrencyLimiterBuilder instance
+     * @see AimdLimit
+     */
+    public ConcurrencyLimiterBuilder setAimdLimit(int min, int max, Duration latencyThreshold) {
+        return setLimitAlgorithm(new AimdLimit(min, min, max, 0.9, latencyThreshold));
+    }
+
+    /**
+     * Sets a limit that adapts to the latency gradient of the calls.
+     *
+     * @param min minimum limit and initial limit
+     * @param max maximum limit
+     * @return the ConcurrencyLimiterBuilder instance
+     * @see GradientLimit
+     */
+    public ConcurrencyLimiterBuilder setGradientLimit(int min, int max) {
+        return setLimitAlgorithm(new GradientLimit(min, min, max, 0.2, 1.5));
+    }
+
+    /**
+     * Sets a custom limit algorithm.
+     *
+     * @param algorithm the algorithm
+     * @return the ConcurrencyLimiterBuilder instance
+     */
+    public ConcurrencyLimiterBuilder setLimitAlgorithm(LimitAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        return this;
+    }
+
+    /**
+     * Sets the maximum time a call waits for a permit before it gets rejected.
+     * <p>
+     * Default: 1 second
+     *
+     * @param maxQueueWait maximum wait time
+     * @return the ConcurrencyLimiterBuilder instance
+     */
+    public ConcurrencyLimiterBuilder setMaxQueueWait(Duration maxQueueWait) {
+        this.maxQueueWait = maxQueueWait;
+        return this;
+    }
+
+    /**
+     * Builds the limiter.
+     *
+     * @return a new limiter
+     */
+    public ConcurrencyLimiter build() {
+        return new PriorityConcurrencyLimiter(algorithm, maxQueueWait);
+    }
+}
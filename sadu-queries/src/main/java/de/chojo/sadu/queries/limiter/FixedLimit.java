@@ -0,0 +1,35 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.limiter;
+
+import de.chojo.sadu.queries.api.limiter.LimitAlgorithm;
+
+/**
+ * A limit that never changes.
+ */
+public class FixedLimit implements LimitAlgorithm {
+    private final int limit;
+
+    /**
+     * Creates a new fixed limit.
+     *
+     * @param limit the amount of concurrent calls
+     */
+    public FixedLimit(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Limit has to be at least 1");
+        this.limit = limit;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inflight, boolean dropped) {
+    }
+}
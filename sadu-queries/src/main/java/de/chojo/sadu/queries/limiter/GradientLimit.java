@@ -0,0 +1,77 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.limiter;
+
+import de.chojo.sadu.queries.api.limiter.LimitAlgorithm;
+
+/**
+ * Latency gradient based limit.
+ * <p>
+ * Compares the latency of the current call with the long term average latency.
+ * When calls get slower than usual, the database is queueing work and the limit is reduced proportionally.
+ * When the latency is at its usual level, the limit grows by a queue allowance of {@code sqrt(limit)}.
+ */
+public class GradientLimit implements LimitAlgorithm {
+    private static final int LONG_WINDOW = 600;
+    private final int min;
+    private final int max;
+    private final double smoothing;
+    private final double tolerance;
+    private double estimatedLimit;
+    private double longRtt;
+    private volatile int limit;
+
+    /**
+     * Creates a new gradient limit.
+     *
+     * @param initial   initial limit
+     * @param min       minimum limit
+     * @param max       maximum limit
+     * @param smoothing the weight of a new limit estimate. Between 0 (exclusive) and 1.
+     * @param tolerance the factor by which the latency may exceed the long term latency before the limit is reduced. At least 1.
+     */
+    public GradientLimit(int initial, int min, int max, double smoothing, double tolerance) {
+        if (min < 1 || max < min) throw new IllegalArgumentException("Limits have to satisfy 1 <= min <= max");
+        if (smoothing <= 0 || smoothing > 1) throw new IllegalArgumentException("Smoothing has to be in range (0, 1]");
+        if (tolerance < 1) throw new IllegalArgumentException("Tolerance has to be at least 1");
+        this.min = min;
+        this.max = max;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        estimatedLimit = Math.max(min, Math.min(max, initial));
+        limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        double rtt = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            longRtt = rtt;
+        } else {
+            longRtt = longRtt * (LONG_WINDOW - 1) / LONG_WINDOW + rtt / LONG_WINDOW;
+        }
+
+        // The long term latency is way above the current one. Let it recover faster after a phase of high load.
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // The limiter is not utilized. Latency samples say nothing about the capacity.
+        if (!dropped && inflight < estimatedLimit / 2) return;
+
+        double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(min, Math.min(max, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
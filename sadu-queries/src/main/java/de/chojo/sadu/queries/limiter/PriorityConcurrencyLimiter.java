@@ -0,0 +1,160 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.limiter;
+
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
+import de.chojo.sadu.queries.api.limiter.LimitAlgorithm;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
+import de.chojo.sadu.queries.exception.QueryRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limiter that admits waiting calls by their {@link QueryPriority}.
+ * <p>
+ * A call is admitted when the amount of calls in flight is below the share of the limit its priority may use
+ * and no call with a higher priority is waiting.
+ * Calls that could not be admitted within the maximum queue wait are rejected.
+ */
+public class PriorityConcurrencyLimiter implements ConcurrencyLimiter {
+    private static final QueryPriority[] PRIORITIES = QueryPriority.values();
+    private final LimitAlgorithm algorithm;
+    private final long maxQueueWait;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition[] admitted = new Condition[PRIORITIES.length];
+    private final int[] waiting = new int[PRIORITIES.length];
+    private int inflight;
+
+    /**
+     * Creates a new limiter
+     *
+     * @param algorithm    the algorithm determining the limit
+     * @param maxQueueWait the maximum time a call waits for a permit before it gets rejected
+     */
+    public PriorityConcurrencyLimiter(LimitAlgorithm algorithm, Duration maxQueueWait) {
+        this.algorithm = algorithm;
+        this.maxQueueWait = maxQueueWait.toNanos();
+        for (var i = 0; i < admitted.length; i++) {
+            admitted[i] = lock.newCondition();
+        }
+    }
+
+    @Override
+    public Permit acquire(QueryPriority priority, Duration maxWait) {
+        lock.lock();
+        try {
+            if (!admissible(priority)) {
+                await(priority, Math.min(maxQueueWait, maxWait.toNanos()));
+            }
+            return new LimiterPermit(++inflight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void await(QueryPriority priority, long maxWait) {
+        var remaining = maxWait;
+        waiting[priority.ordinal()]++;
+        try {
+            while (!admissible(priority)) {
+                if (remaining <= 0) {
+                    throw new QueryRejectedException(QueryRejectedException.Reason.QUEUE_TIMEOUT,
+                            "Query with priority %s was rejected after waiting %s ms for a permit. Limit: %s, in flight: %s"
+                                    .formatted(priority, Duration.ofNanos(maxWait).toMillis(), algorithm.limit(), inflight));
+                }
+                remaining = admitted[priority.ordinal()].awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryRejectedException(QueryRejectedException.Reason.INTERRUPTED, "Interrupted while waiting for a permit");
+        } finally {
+            waiting[priority.ordinal()]--;
+            // Waiters of a lower priority might have been blocked only by this waiter. They need to recheck, as they would not be signalled otherwise.
+            signalWaiters();
+        }
+    }
+
+    private boolean admissible(QueryPriority priority) {
+        if (inflight >= priority.usableLimit(algorithm.limit())) return false;
+        for (var i = 0; i < priority.ordinal(); i++) {
+            if (waiting[i] > 0) return false;
+        }
+        return true;
+    }
+
+    private void release(long rttNanos, int startInflight, boolean dropped) {
+        // The sample might increase the limit. Signalling afterwards admits as many waiters as the new limit allows.
+        algorithm.onSample(rttNanos, startInflight, dropped);
+        lock.lock();
+        try {
+            inflight--;
+            signalWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Signals as many waiters as permits are free, starting with the highest priority.
+     * <p>
+     * Must be called while holding the lock.
+     */
+    private void signalWaiters() {
+        var free = algorithm.limit() - inflight;
+        for (var i = 0; i < PRIORITIES.length && free > 0; i++) {
+            for (var j = 0; j < waiting[i] && free > 0; j++, free--) {
+                admitted[i].signal();
+            }
+        }
+    }
+
+    @Override
+    public int limit() {
+        return algorithm.limit();
+    }
+
+    @Override
+    public int inflight() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int queued() {
+        lock.lock();
+        try {
+            var queued = 0;
+            for (var count : waiting) queued += count;
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class LimiterPermit implements Permit {
+        private final long start = System.nanoTime();
+        private final int startInflight;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private LimiterPermit(int startInflight) {
+            this.startInflight = startInflight;
+        }
+
+        @Override
+        public void release(boolean dropped) {
+            if (!released.compareAndSet(false, true)) return;
+            PriorityConcurrencyLimiter.this.release(System.nanoTime() - start, startInflight, dropped);
+        }
+    }
+}
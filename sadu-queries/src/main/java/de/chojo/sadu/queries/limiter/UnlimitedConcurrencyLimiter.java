@@ -0,0 +1,44 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.limiter;
+
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
+
+import java.time.Duration;
+
+/**
+ * A limiter that admits every call. Used when no limiter is configured.
+ */
+public final class UnlimitedConcurrencyLimiter implements ConcurrencyLimiter {
+    public static final UnlimitedConcurrencyLimiter INSTANCE = new UnlimitedConcurrencyLimiter();
+    private static final Permit PERMIT = dropped -> {
+    };
+
+    private UnlimitedConcurrencyLimiter() {
+    }
+
+    @Override
+    public Permit acquire(QueryPriority priority, Duration maxWait) {
+        return PERMIT;
+    }
+
+    @Override
+    public int limit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int inflight() {
+        return 0;
+    }
+
+    @Override
+    public int queued() {
+        return 0;
+    }
+}
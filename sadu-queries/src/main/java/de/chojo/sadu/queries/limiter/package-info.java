@@ -0,0 +1,4 @@
+/**
+ * Implementation of concurrency limiters and limit algorithms.
+ */
+package de.chojo.sadu.queries.limiter;
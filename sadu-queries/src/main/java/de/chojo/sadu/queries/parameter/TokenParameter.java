@@ -23,17 +23,25 @@ public class TokenParameter implements BaseParameter {
     private final ThrowingBiConsumer<PreparedStatement, Integer, SQLException> apply;
 
     public TokenParameter(String token, ThrowingBiConsumer<PreparedStatement, Integer, SQLException> apply) {
-        if (!token.startsWith(":")) {
-            this.token = ":" + token;
-        } else {
-            this.token = token;
-        }
-        if (!TOKEN_PATTERN.matcher(this.token).matches()) {
-            throw new IllegalArgumentException("Illegal token \"" + this.token.substring(1) + "\". Tokens may only contain characters which match the expression: \"" + ALLOWED_TOKEN_CHARACTER + "\"");
-        }
+        this.token = normalize(token);
         this.apply = apply;
     }
 
+    /**
+     * Prefixes the token with a colon if missing and validates it.
+     *
+     * @param token token with or without prefix
+     * @return token with prefix
+     * @throws IllegalArgumentException if the token contains illegal characters
+     */
+    public static String normalize(String token) {
+        var normalized = token.startsWith(":") ? token : ":" + token;
+        if (!TOKEN_PATTERN.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Illegal token \"" + normalized.substring(1) + "\". Tokens may only contain characters which match the expression: \"" + ALLOWED_TOKEN_CHARACTER + "\"");
+        }
+        return normalized;
+    }
+
     public void apply(TokenizedQuery query, PreparedStatement stmt) throws SQLException {
         List<Integer> tokens = query.getNamedTokenIndex(token);
         if (tokens.isEmpty()) {
@@ -0,0 +1,138 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.query;
+
+import de.chojo.sadu.core.databases.Database;
+import de.chojo.sadu.queries.api.base.QueryProvider;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.query.BulkUpsert;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationBatchResultImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BulkUpsertImpl implements BulkUpsert {
+    private final String table;
+    private List<String> keys = Collections.emptyList();
+    private List<String> columns = Collections.emptyList();
+    private Database<?, ?> database;
+    private int chunkSize = Integer.MAX_VALUE;
+
+    public BulkUpsertImpl(String table) {
+        this.table = table;
+    }
+
+    @Override
+    public BulkUpsert key(String... columns) {
+        keys = List.of(columns);
+        return this;
+    }
+
+    @Override
+    public BulkUpsert columns(String... columns) {
+        this.columns = List.of(columns);
+        return this;
+    }
+
+    @Override
+    public BulkUpsert dialect(Database<?, ?> database) {
+        this.database = database;
+        return this;
+    }
+
+    @Override
+    public BulkUpsert chunkSize(int rows) {
+        if (rows < 1) throw new IllegalArgumentException("Chunk size must be at least 1");
+        chunkSize = rows;
+        return this;
+    }
+
+    @Override
+    public <T> ManipulationBatchResult<ManipulationResult> execute(QueryConfiguration configuration, Stream<T> rows, BiConsumer<T, Call> binder) {
+        return execute(configuration, rows, null, binder);
+    }
+
+    @Override
+    public <T> ManipulationBatchResult<ManipulationResult> execute(QueryConfiguration configuration, Stream<T> rows, Function<T, ?> key, BiConsumer<T, Call> binder) {
+        var database = this.database != null ? this.database : configuration.database();
+        if (database == null) {
+            throw new IllegalStateException("No database set. Set it via the query configuration or dialect().");
+        }
+        if (keys.isEmpty()) throw new IllegalStateException("No key columns set.");
+
+        var width = keys.size() + columns.size();
+        var rowsPerChunk = Math.min(chunkSize, Math.max(1, database.maxParameters() / width));
+        var clause = database.upsertClause(keys, columns);
+
+        List<ManipulationResult> results = new ArrayList<>();
+        QueryProvider provider = null;
+        String fullSql = null;
+        var iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            var chunk = chunk(iterator, key, rowsPerChunk);
+            var call = Call.call();
+            chunk.forEach(row -> binder.accept(row, call));
+            String sql;
+            if (chunk.size() == rowsPerChunk) {
+                if (fullSql == null) fullSql = sql(width, chunk.size(), clause);
+                sql = fullSql;
+            } else {
+                sql = sql(width, chunk.size(), clause);
+            }
+            var query = configuration.query(sql);
+            provider = (QueryProvider) query;
+            results.add(query.single(call).update());
+        }
+        if (provider == null) provider = new QueryImpl(configuration);
+        return new ManipulationBatchResultImpl<>(provider, results);
+    }
+
+    /**
+     * Collects the rows of the next chunk.
+     * <p>
+     * With a key, a later row replaces an earlier row with the same key, until the chunk contains the maximum amount of distinct keys.
+     *
+     * @param iterator remaining rows
+     * @param key      extracts the key of a row or null to keep all rows
+     * @param size     maximum rows per chunk
+     * @param <T>      type of rows
+     * @return rows of the chunk
+     */
+    private <T> Collection<T> chunk(Iterator<T> iterator, Function<T, ?> key, int size) {
+        if (key == null) {
+            var chunk = new ArrayList<T>();
+            while (chunk.size() < size && iterator.hasNext()) chunk.add(iterator.next());
+            return chunk;
+        }
+        var chunk = new LinkedHashMap<Object, T>();
+        while (iterator.hasNext()) {
+            var row = iterator.next();
+            var rowKey = key.apply(row);
+            chunk.put(rowKey, row);
+            if (chunk.size() == size) break;
+        }
+        return chunk.values();
+    }
+
+    private String sql(int width, int rows, String clause) {
+        var row = Stream.generate(() -> "?").limit(width).collect(Collectors.joining(", ", "(", ")"));
+        var values = String.join(", ", Collections.nCopies(rows, row));
+        var names = Stream.concat(keys.stream(), columns.stream()).collect(Collectors.joining(", "));
+        return "INSERT INTO %s(%s) VALUES %s %s".formatted(table, names, values, clause);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.query;
+
+import de.chojo.sadu.core.connection.ConnectionDelegate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A connection that refuses to create statements once the deadline of the query has passed
+ * and applies the remaining time as query timeout to every statement.
+ */
+public class DeadlineConnection extends ConnectionDelegate {
+    private final QueryImpl query;
+
+    public DeadlineConnection(Connection connection, QueryImpl query) {
+        super(connection);
+        this.query = query;
+    }
+
+    private <T extends Statement> T withTimeout(T stmt) throws SQLException {
+        stmt.setQueryTimeout(query.remainingSeconds());
+        return stmt;
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.createStatement());
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.createStatement(resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.prepareStatement(sql));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.prepareStatement(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.prepareStatement(sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.prepareStatement(sql, columnIndexes));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        query.assertDeadline();
+        return withTimeout(super.prepareStatement(sql, columnNames));
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.query;
+
+import de.chojo.sadu.mapper.rowmapper.RowMapping;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.configuration.ConnectedQueryConfiguration;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.query.Deadline;
+import de.chojo.sadu.queries.api.query.ParallelScan;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Cleaner;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ParallelScanImpl implements ParallelScan {
+    /**
+     * Amount of rows buffered between the partitions and the consumer of a merged stream.
+     */
+    private static final int QUEUE_SIZE = 1024;
+    private static final Object END = new Object();
+    private static final Cleaner CLEANER = Cleaner.create();
+    private final String table;
+    private final String keyColumn;
+    private int partitions = 4;
+    private String columns = "*";
+
+    public ParallelScanImpl(String table, String keyColumn) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+    }
+
+    @Override
+    public ParallelScan partitions(int partitions) {
+        if (partitions < 1) throw new IllegalArgumentException("Partitions must be at least 1");
+        this.partitions = partitions;
+        return this;
+    }
+
+    @Override
+    public ParallelScan columns(String... columns) {
+        if (columns.length == 0) throw new IllegalArgumentException("At least one column is required");
+        this.columns = String.join(", ", columns);
+        return this;
+    }
+
+    @Override
+    public <V> void forEach(QueryConfiguration configuration, RowMapping<V> mapper, IntFunction<Consumer<? super V>> consumers) {
+        var ranges = ranges(configuration);
+        if (ranges.isEmpty()) return;
+        if (ranges.size() == 1 || configuration instanceof ConnectedQueryConfiguration) {
+            for (var i = 0; i < ranges.size(); i++) read(configuration, ranges.get(i), mapper, consumers.apply(i));
+            return;
+        }
+        var deadline = Deadline.current().orElse(null);
+        var tasks = new ArrayList<Future<?>>();
+        for (var i = 1; i < ranges.size(); i++) {
+            var range = ranges.get(i);
+            var consumer = consumers.apply(i);
+            tasks.add(CompletableFuture.runAsync(withDeadline(deadline, () -> read(configuration, range, mapper, consumer)), configuration.executor()));
+        }
+        // The calling thread reads the first partition itself.
+        RuntimeException failure = null;
+        try {
+            read(configuration, ranges.get(0), mapper, consumers.apply(0));
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        try {
+            for (var task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof RuntimeException ex)) throw new IllegalStateException(e.getCause());
+                    if (failure == null) failure = ex;
+                    else failure.addSuppressed(ex);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning " + table, e);
+        }
+        if (failure != null) throw failure;
+    }
+
+    @Override
+    public <V> Stream<V> stream(QueryConfiguration configuration, RowMapping<V> mapper) {
+        var ranges = ranges(configuration);
+        if (ranges.isEmpty()) return Stream.empty();
+        var deadline = Deadline.current().orElse(null);
+        var executor = configuration.executor();
+        var merged = new MergedPartitions<V>(ranges.size());
+        // The tasks only reference the channel. An abandoned stream can therefore be cleaned, which stops the tasks.
+        var channel = merged.channel();
+        if (configuration instanceof ConnectedQueryConfiguration) {
+            // Partitions of a single connection can not be read concurrently.
+            executor.execute(withDeadline(deadline, () -> ranges.forEach(range -> channel.read(() -> read(configuration, range, mapper, channel::put)))));
+        } else {
+            ranges.forEach(range -> executor.execute(withDeadline(deadline, () -> channel.read(() -> read(configuration, range, mapper, channel::put)))));
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.NONNULL), false)
+                .onClose(merged::close);
+    }
+
+    /**
+     * Applies the deadline of the calling thread to a task, which runs on another thread.
+     *
+     * @param deadline deadline of the calling thread or null
+     * @param task     the task
+     * @return task running with the deadline
+     */
+    private static Runnable withDeadline(@Nullable Instant deadline, Runnable task) {
+        if (deadline == null) return task;
+        return () -> Deadline.run(deadline, task);
+    }
+
+    private <V> void read(QueryConfiguration configuration, Range range, RowMapping<V> mapper, Consumer<? super V> consumer) {
+        configuration.query("SELECT %s FROM %s WHERE %s >= :from AND %s <= :to".formatted(columns, table, keyColumn, keyColumn))
+                .single(Call.of().bind("from", range.from()).bind("to", range.to()))
+                .map(mapper)
+                .forEach(consumer);
+    }
+
+    /**
+     * Splits the keys between the minimum and maximum key into ranges of equal width.
+     *
+     * @param configuration configuration used to find the bounds
+     * @return ranges, which cover all keys. Empty if the table is empty
+     */
+    private List<Range> ranges(QueryConfiguration configuration) {
+        var bounds = configuration.query("SELECT min(%s), max(%s) FROM %s".formatted(keyColumn, keyColumn, table))
+                .single()
+                .map(row -> {
+                    // min is null if the table is empty
+                    if (row.getObject(1) == null) return new Range(0, -1);
+                    return new Range(row.getLong(1), row.getLong(2));
+                })
+                .first()
+                .orElse(new Range(0, -1));
+        return split(bounds, partitions);
+    }
+
+    static List<Range> split(Range bounds, int partitions) {
+        var ranges = new ArrayList<Range>();
+        if (bounds.to() < bounds.from()) return ranges;
+        // The span might exceed the range of a signed long
+        var width = Long.divideUnsigned(bounds.to() - bounds.from(), partitions) + 1;
+        var from = bounds.from();
+        while (true) {
+            var to = Long.compareUnsigned(bounds.to() - from, width) < 0 ? bounds.to() : from + width - 1;
+            ranges.add(new Range(from, to));
+            if (to == bounds.to()) return ranges;
+            from = to + 1;
+        }
+    }
+
+    /**
+     * A range of keys.
+     *
+     * @param from first key, inclusive
+     * @param to   last key, inclusive
+     */
+    record Range(long from, long to) {
+    }
+
+    /**
+     * Merges the rows of the partitions into a single iterator.
+     * <p>
+     * The partitions write their rows into a {@link Channel}. The channel is closed once the iterator is closed or becomes unreachable.
+     */
+    static final class MergedPartitions<V> implements Iterator<V> {
+        private final Channel channel = new Channel();
+        private final Cleaner.Cleanable cleanable;
+        private int running;
+        private Object next;
+
+        MergedPartitions(int partitions) {
+            this.running = partitions;
+            // The action must only reference the channel, otherwise the iterator never becomes unreachable.
+            this.cleanable = CLEANER.register(this, channel::close);
+        }
+
+        Channel channel() {
+            return channel;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && running > 0) {
+                Object value;
+                try {
+                    value = channel.queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new IllegalStateException("Interrupted while waiting for rows", e);
+                }
+                if (value == END) {
+                    running--;
+                } else if (value instanceof Failure failure) {
+                    close();
+                    throw failure.exception();
+                } else {
+                    next = value;
+                }
+            }
+            if (next == null) close();
+            return next != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            var value = next;
+            next = null;
+            return (V) value;
+        }
+
+        void close() {
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Passes the rows of the partitions to the iterator.
+     * <p>
+     * Once closed, pending partitions are skipped and running partitions are cancelled with their next row.
+     */
+    static final class Channel {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        private volatile boolean closed;
+
+        /**
+         * Reads a partition and marks it as done afterwards.
+         */
+        void read(Runnable partition) {
+            if (closed) return;
+            try {
+                partition.run();
+            } catch (RuntimeException e) {
+                if (!closed) offer(new Failure(e));
+            } finally {
+                if (!closed) offer(END);
+            }
+        }
+
+        void put(Object value) {
+            if (!offer(value)) throw new CancellationException("The stream was closed");
+        }
+
+        private boolean offer(Object value) {
+            try {
+                while (!closed) {
+                    if (queue.offer(value, 100, TimeUnit.MILLISECONDS)) return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        boolean closed() {
+            return closed;
+        }
+
+        private void close() {
+            closed = true;
+            queue.clear();
+        }
+    }
+
+    private record Failure(RuntimeException exception) {
+    }
+}
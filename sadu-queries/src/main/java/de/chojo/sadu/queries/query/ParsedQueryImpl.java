@@ -7,14 +7,28 @@
 package de.chojo.sadu.queries.query;
 
 import de.chojo.sadu.queries.api.base.QueryProvider;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.call.CallTemplate;
+import de.chojo.sadu.queries.api.call.ColumnBatch;
 import de.chojo.sadu.queries.api.execution.writing.CalledBatchQuery;
 import de.chojo.sadu.queries.api.execution.writing.CalledSingletonQuery;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
 import de.chojo.sadu.queries.api.query.ParsedQuery;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.call.CallTemplateImpl;
+import de.chojo.sadu.queries.call.ColumnBatchImpl;
 import de.chojo.sadu.queries.calls.BatchCall;
 import de.chojo.sadu.queries.calls.CallSupplier;
 import de.chojo.sadu.queries.calls.SingletonCall;
 import de.chojo.sadu.queries.execution.writing.CalledBatchQueryImpl;
 import de.chojo.sadu.queries.execution.writing.CalledSingletonQueryImpl;
+import de.chojo.sadu.queries.execution.writing.ColumnBatchQueryImpl;
+import de.chojo.sadu.queries.execution.writing.StreamBatchQueryImpl;
+
+import java.time.Instant;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 public class ParsedQueryImpl implements QueryProvider, ParsedQuery {
     private final QueryProvider query;
@@ -32,6 +46,18 @@ public class ParsedQueryImpl implements QueryProvider, ParsedQuery {
         return new ParsedQueryImpl(query, TokenizedQuery.create(sql));
     }
 
+    @Override
+    public ParsedQueryImpl withPriority(QueryPriority priority) {
+        query().priority(priority);
+        return this;
+    }
+
+    @Override
+    public ParsedQueryImpl withDeadline(Instant deadline) {
+        query().deadline(deadline);
+        return this;
+    }
+
     @Override
     public CalledSingletonQuery single(SingletonCall param) {
         return new CalledSingletonQueryImpl(this, param);
@@ -52,6 +78,33 @@ public class ParsedQueryImpl implements QueryProvider, ParsedQuery {
         return new CalledBatchQueryImpl(this, calls.supply(query().storage()));
     }
 
+    @Override
+    public <T> ManipulationBatchResult<ManipulationResult> batch(Stream<T> rows, BiConsumer<T, Call> binder) {
+        var controller = query().configuration().batchSizeController();
+        if (controller == null) return batch(rows, binder, 1000);
+        return new StreamBatchQueryImpl<>(this, rows, binder, controller).execute();
+    }
+
+    @Override
+    public <T> ManipulationBatchResult<ManipulationResult> batch(Stream<T> rows, BiConsumer<T, Call> binder, int flushSize) {
+        return new StreamBatchQueryImpl<>(this, rows, binder, flushSize).execute();
+    }
+
+    @Override
+    public <T> ManipulationBatchResult<ManipulationResult> batch(Stream<T> rows, BiConsumer<T, Call> binder, int flushSize, int commitInterval) {
+        return new StreamBatchQueryImpl<>(this, rows, binder, flushSize, commitInterval).execute();
+    }
+
+    @Override
+    public ManipulationBatchResult<ManipulationResult> batchColumns(ColumnBatch columns) {
+        return new ColumnBatchQueryImpl(this, (ColumnBatchImpl) columns).execute();
+    }
+
+    @Override
+    public CallTemplate template() {
+        return new CallTemplateImpl(this);
+    }
+
     public TokenizedQuery sql() {
         return sql;
     }
@@ -12,15 +12,24 @@ import de.chojo.sadu.queries.api.base.ConnectionProvider;
 import de.chojo.sadu.queries.api.base.QueryProvider;
 import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
 import de.chojo.sadu.queries.api.exception.ExceptionHolder;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
+import de.chojo.sadu.queries.api.query.Deadline;
 import de.chojo.sadu.queries.api.query.Query;
 import de.chojo.sadu.queries.api.configuration.ActiveQueryConfiguration;
 import de.chojo.sadu.queries.api.configuration.ConnectedQueryConfiguration;
 import de.chojo.sadu.queries.configuration.context.SimpleQueryContext;
+import de.chojo.sadu.queries.exception.QueryRejectedException;
 import de.chojo.sadu.queries.storage.ResultStorageImpl;
+import org.jetbrains.annotations.Nullable;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
@@ -30,6 +39,8 @@ public class QueryImpl implements DataSourceProvider, ConnectionProvider, QueryP
     private final ActiveQueryConfiguration conf;
     private final ResultStorageImpl storage = new ResultStorageImpl();
     private final List<Exception> exceptions = new ArrayList<>();
+    private QueryPriority priority = QueryPriority.NORMAL;
+    private @Nullable Instant deadline = Deadline.current().orElse(null);
 
     public QueryImpl(QueryConfiguration conf) {
         this.conf = conf.forQuery(new SimpleQueryContext(this));
@@ -57,25 +68,76 @@ public class QueryImpl implements DataSourceProvider, ConnectionProvider, QueryP
 
     @Override
     public <T> T callConnection(Supplier<T> defaultResult, ThrowingFunction<T, Connection, SQLException> connectionConsumer) {
-        if (conf instanceof ConnectedQueryConfiguration conn) {
-            try {
-                return connectionConsumer.apply(conn.connection());
-            } catch (SQLException e) {
-                conf.handleException(e);
-            }
-        } else {
-            try (var conn = conf.dataSource().getConnection()) {
-                conn.setAutoCommit(false);
-                var result = connectionConsumer.apply(conn);
-                conn.commit();
-                return result;
-            } catch (SQLException e) {
-                conf.handleException(e);
+        try {
+            assertDeadline();
+            if (conf instanceof ConnectedQueryConfiguration conn) {
+                try {
+                    return connectionConsumer.apply(withDeadline(conn.connection()));
+                } catch (SQLException e) {
+                    conf.handleException(e);
+                }
+            } else {
+                var permit = acquirePermit();
+                var dropped = false;
+                try (var conn = conf.dataSource().getConnection()) {
+                    // The deadline might have passed while waiting for a connection of the pool
+                    assertDeadline();
+                    conn.setAutoCommit(false);
+                    var result = connectionConsumer.apply(withDeadline(conn));
+                    conn.commit();
+                    return result;
+                } catch (SQLException e) {
+                    // Timeouts indicate that the database or the pool is saturated.
+                    dropped = e instanceof SQLTimeoutException || e instanceof SQLTransientConnectionException;
+                    conf.handleException(e);
+                } finally {
+                    permit.release(dropped);
+                }
             }
+        } catch (QueryRejectedException e) {
+            // Make sure that a surrounding transaction is not committed.
+            conf.context().logException(e);
+            throw e;
         }
         return defaultResult.get();
     }
 
+    private ConcurrencyLimiter.Permit acquirePermit() {
+        var maxWait = deadline == null ? ConcurrencyLimiter.UNBOUNDED_WAIT : Duration.between(Instant.now(), deadline);
+        try {
+            return conf.concurrencyLimiter().acquire(priority, maxWait);
+        } catch (QueryRejectedException e) {
+            assertDeadline();
+            throw e;
+        }
+    }
+
+    private Connection withDeadline(Connection connection) {
+        if (deadline == null) return connection;
+        return new DeadlineConnection(connection, this);
+    }
+
+    /**
+     * Checks that the deadline of the query has not passed yet.
+     *
+     * @throws QueryRejectedException when the deadline has passed
+     */
+    public void assertDeadline() {
+        if (deadline == null || Instant.now().isBefore(deadline)) return;
+        throw new QueryRejectedException(QueryRejectedException.Reason.DEADLINE_EXCEEDED, "The deadline of the query passed at %s".formatted(deadline));
+    }
+
+    /**
+     * The remaining time until the deadline in seconds, rounded up.
+     *
+     * @return remaining seconds. At least 1. 0 if no deadline is set, which is the value for no timeout.
+     */
+    public int remainingSeconds() {
+        if (deadline == null) return 0;
+        var millis = Duration.between(Instant.now(), deadline).toMillis();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (millis + 999) / 1000));
+    }
+
     @Override
     public List<Exception> exceptions() {
         return exceptions;
@@ -85,6 +147,22 @@ public class QueryImpl implements DataSourceProvider, ConnectionProvider, QueryP
         conf.handleException(e);
     }
 
+    public QueryPriority priority() {
+        return priority;
+    }
+
+    public void priority(QueryPriority priority) {
+        this.priority = priority;
+    }
+
+    public @Nullable Instant deadline() {
+        return deadline;
+    }
+
+    public void deadline(Instant deadline) {
+        this.deadline = Deadline.earliest(this.deadline, deadline);
+    }
+
     public QueryConfiguration configuration() {
         return conf;
     }
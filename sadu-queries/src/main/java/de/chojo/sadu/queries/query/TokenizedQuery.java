@@ -77,6 +77,15 @@ public class TokenizedQuery {
         return indexToken.size();
     }
 
+    /**
+     * The amount of parameters of the tokenized sql, including indexed and named parameters.
+     *
+     * @return parameter count
+     */
+    public int parameterCount() {
+        return indexToken.size() + namedToken.values().stream().mapToInt(List::size).sum();
+    }
+
     public String sql() {
         return sql;
     }
@@ -0,0 +1,425 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.results.reading;
+
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * A typed vector holding the values of a single column.
+ * <p>
+ * Integral and floating point columns are stored in primitive arrays, text columns dictionary encoded and all other columns as objects.
+ * Null values are tracked in a bitmap. The arrays grow by doubling their capacity.
+ */
+public abstract sealed class ColumnVector {
+    private static final int INITIAL_CAPACITY = 16;
+    protected final BitSet nulls = new BitSet();
+    protected int capacity;
+
+    private ColumnVector(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates an empty vector for every column of the result set.
+     *
+     * @param meta metadata of the result set
+     * @return vectors in column order
+     * @throws SQLException if a database access error occurs
+     */
+    public static ColumnVector[] of(ResultSetMetaData meta) throws SQLException {
+        var vectors = new ColumnVector[meta.getColumnCount()];
+        for (var i = 0; i < vectors.length; i++) {
+            vectors[i] = of(meta, i + 1);
+        }
+        return vectors;
+    }
+
+    private static ColumnVector of(ResultSetMetaData meta, int index) throws SQLException {
+        return switch (meta.getColumnType(index)) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> new IntVector(INITIAL_CAPACITY);
+            case Types.BIGINT -> meta.isSigned(index) ? new LongVector(INITIAL_CAPACITY) : new ObjectVector(INITIAL_CAPACITY);
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> new DoubleVector(INITIAL_CAPACITY);
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR ->
+                    new StringVector(INITIAL_CAPACITY);
+            default -> new ObjectVector(INITIAL_CAPACITY);
+        };
+    }
+
+    /**
+     * Reads the value of the column from the row the result set is positioned on.
+     *
+     * @param resultSet result set positioned on a row
+     * @param index     index of the column, starting at 1
+     * @param row       row to write, starting at 0
+     * @return the vector holding the value. This is a wider vector, if the value did not fit into this vector
+     * @throws SQLException if a database access error occurs
+     */
+    public ColumnVector read(ResultSet resultSet, int index, int row) throws SQLException {
+        if (row == capacity) {
+            capacity *= 2;
+            grow(capacity);
+        }
+        return readValue(resultSet, index, row);
+    }
+
+    boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    abstract void grow(int capacity);
+
+    abstract ColumnVector readValue(ResultSet resultSet, int index, int row) throws SQLException;
+
+    abstract Object get(int row);
+
+    long getLong(int row) {
+        return number(row).longValue();
+    }
+
+    double getDouble(int row) {
+        return number(row).doubleValue();
+    }
+
+    String getString(int row) {
+        var value = get(row);
+        return value == null ? null : value.toString();
+    }
+
+    private Number number(int row) {
+        var value = get(row);
+        if (value == null) return 0;
+        if (value instanceof Number number) return number;
+        throw new IllegalStateException("Value of type %s is not numeric".formatted(value.getClass().getName()));
+    }
+
+    /**
+     * The sum of all non null values.
+     */
+    double sum(int rows) {
+        var sum = 0.0;
+        for (var row = nulls.nextClearBit(0); row < rows; row = nulls.nextClearBit(row + 1)) sum += getDouble(row);
+        return sum;
+    }
+
+    /**
+     * The exact sum of all non null values.
+     *
+     * @throws IllegalStateException if a value is not an integer
+     * @throws ArithmeticException   if the sum does not fit into a long
+     */
+    long sumLong(int rows) {
+        var sum = 0L;
+        for (var row = nulls.nextClearBit(0); row < rows; row = nulls.nextClearBit(row + 1)) sum = Math.addExact(sum, integer(row));
+        return sum;
+    }
+
+    private long integer(int row) {
+        var value = number(row);
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) return value.longValue();
+        if (value instanceof BigInteger number) return number.longValueExact();
+        throw new IllegalStateException("Value of type %s is not an integer".formatted(value.getClass().getName()));
+    }
+
+    OptionalDouble min(int rows) {
+        var min = Double.NaN;
+        for (var row = nulls.nextClearBit(0); row < rows; row = nulls.nextClearBit(row + 1)) {
+            var value = getDouble(row);
+            if (Double.isNaN(min) || value < min) min = value;
+        }
+        return Double.isNaN(min) ? OptionalDouble.empty() : OptionalDouble.of(min);
+    }
+
+    OptionalDouble max(int rows) {
+        var max = Double.NaN;
+        for (var row = nulls.nextClearBit(0); row < rows; row = nulls.nextClearBit(row + 1)) {
+            var value = getDouble(row);
+            if (Double.isNaN(max) || value > max) max = value;
+        }
+        return Double.isNaN(max) ? OptionalDouble.empty() : OptionalDouble.of(max);
+    }
+
+    /**
+     * The amount of non null values.
+     */
+    int count(int rows) {
+        return rows - nulls.get(0, rows).cardinality();
+    }
+
+    static final class IntVector extends ColumnVector {
+        private int[] values;
+
+        private IntVector(int capacity) {
+            super(capacity);
+            values = new int[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        ColumnVector readValue(ResultSet resultSet, int index, int row) throws SQLException {
+            // Some databases like sqlite store 64 bit values in integer columns. Those columns are widened on the first value, which does not fit.
+            var value = resultSet.getLong(index);
+            if (resultSet.wasNull()) {
+                nulls.set(row);
+            } else if (value != (int) value) {
+                return widen(row).readValue(resultSet, index, row);
+            } else {
+                values[row] = (int) value;
+            }
+            return this;
+        }
+
+        private LongVector widen(int rows) {
+            var vector = new LongVector(capacity);
+            for (var i = 0; i < rows; i++) vector.values[i] = values[i];
+            vector.nulls.or(nulls);
+            return vector;
+        }
+
+        int[] values() {
+            return values;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return values[row];
+        }
+
+        @Override
+        double sum(int rows) {
+            return sumLong(rows);
+        }
+
+        @Override
+        long sumLong(int rows) {
+            // Int values can not overflow a long sum below 2^32 rows
+            var sum = 0L;
+            if (nulls.isEmpty()) {
+                for (var row = 0; row < rows; row++) sum += values[row];
+            } else {
+                for (var row = nulls.nextClearBit(0); row < rows; row = nulls.nextClearBit(row + 1)) sum += values[row];
+            }
+            return sum;
+        }
+    }
+
+    static final class LongVector extends ColumnVector {
+        private long[] values;
+
+        private LongVector(int capacity) {
+            super(capacity);
+            values = new long[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        ColumnVector readValue(ResultSet resultSet, int index, int row) throws SQLException {
+            values[row] = resultSet.getLong(index);
+            if (resultSet.wasNull()) nulls.set(row);
+            return this;
+        }
+
+        long[] values() {
+            return values;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return values[row];
+        }
+
+        @Override
+        double sum(int rows) {
+            // Summing as double avoids overflows of large values, but loses precision above 2^53
+            var sum = 0.0;
+            if (nulls.isEmpty()) {
+                for (var row = 0; row < rows; row++) sum += values[row];
+            } else {
+                for (var row = nulls.nextClearBit(0); row < rows; row = nulls.nextClearBit(row + 1)) sum += values[row];
+            }
+            return sum;
+        }
+
+        @Override
+        long sumLong(int rows) {
+            var sum = 0L;
+            if (nulls.isEmpty()) {
+                for (var row = 0; row < rows; row++) sum = Math.addExact(sum, values[row]);
+            } else {
+                for (var row = nulls.nextClearBit(0); row < rows; row = nulls.nextClearBit(row + 1)) sum = Math.addExact(sum, values[row]);
+            }
+            return sum;
+        }
+    }
+
+    static final class DoubleVector extends ColumnVector {
+        private double[] values;
+
+        private DoubleVector(int capacity) {
+            super(capacity);
+            values = new double[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        ColumnVector readValue(ResultSet resultSet, int index, int row) throws SQLException {
+            values[row] = resultSet.getDouble(index);
+            if (resultSet.wasNull()) nulls.set(row);
+            return this;
+        }
+
+        double[] values() {
+            return values;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return (long) values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return values[row];
+        }
+
+        @Override
+        double sum(int rows) {
+            var sum = 0.0;
+            if (nulls.isEmpty()) {
+                for (var row = 0; row < rows; row++) sum += values[row];
+            } else {
+                for (var row = nulls.nextClearBit(0); row < rows; row = nulls.nextClearBit(row + 1)) sum += values[row];
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Stores every distinct string once and references it by a code per row.
+     */
+    static final class StringVector extends ColumnVector {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] dictionary = new String[INITIAL_CAPACITY];
+        private int[] values;
+
+        private StringVector(int capacity) {
+            super(capacity);
+            values = new int[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        ColumnVector readValue(ResultSet resultSet, int index, int row) throws SQLException {
+            var value = resultSet.getString(index);
+            if (value == null) {
+                nulls.set(row);
+                return this;
+            }
+            var code = codes.get(value);
+            if (code == null) {
+                code = codes.size();
+                if (code == dictionary.length) dictionary = Arrays.copyOf(dictionary, code * 2);
+                dictionary[code] = value;
+                codes.put(value, code);
+            }
+            values[row] = code;
+            return this;
+        }
+
+        /**
+         * The distinct values of the column. The code of a row is the index of its value.
+         */
+        String[] dictionary() {
+            return Arrays.copyOf(dictionary, codes.size());
+        }
+
+        int code(int row) {
+            return isNull(row) ? -1 : values[row];
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : dictionary[values[row]];
+        }
+    }
+
+    static final class ObjectVector extends ColumnVector {
+        private Object[] values;
+
+        private ObjectVector(int capacity) {
+            super(capacity);
+            values = new Object[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        ColumnVector readValue(ResultSet resultSet, int index, int row) throws SQLException {
+            var value = resultSet.getObject(index);
+            if (value == null) nulls.set(row);
+            values[row] = value;
+            return this;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.results.reading;
+
+import de.chojo.sadu.queries.api.base.QueryProvider;
+import de.chojo.sadu.queries.api.results.reading.ColumnarResult;
+import de.chojo.sadu.queries.query.QueryImpl;
+import de.chojo.sadu.queries.results.reading.ColumnVector.DoubleVector;
+import de.chojo.sadu.queries.results.reading.ColumnVector.IntVector;
+import de.chojo.sadu.queries.results.reading.ColumnVector.LongVector;
+import de.chojo.sadu.queries.results.reading.ColumnVector.StringVector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * Result of a {@link de.chojo.sadu.queries.api.execution.reading.Reader#columnar()} call
+ */
+public class ColumnarResultImpl implements QueryProvider, ColumnarResult {
+    private final QueryProvider query;
+    private final String[] labels;
+    private final ColumnVector[] columns;
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final int rows;
+    private final boolean truncated;
+
+    public ColumnarResultImpl(QueryProvider query, String[] labels, ColumnVector[] columns, int rows, boolean truncated) {
+        this.query = query;
+        this.labels = labels;
+        this.columns = columns;
+        this.rows = rows;
+        this.truncated = truncated;
+        for (var i = 0; i < labels.length; i++) {
+            indices.putIfAbsent(labels[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+    }
+
+    public static ColumnarResultImpl empty(QueryProvider query) {
+        return new ColumnarResultImpl(query, new String[0], new ColumnVector[0], 0, false);
+    }
+
+    @Override
+    public QueryImpl query() {
+        return query.query();
+    }
+
+    @Override
+    public List<Exception> exceptions() {
+        return query().exceptions();
+    }
+
+    @Override
+    public int size() {
+        return rows;
+    }
+
+    @Override
+    public int columnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String label(int column) {
+        column(column);
+        return labels[column - 1];
+    }
+
+    @Override
+    public int findColumn(String label) {
+        var index = indices.get(label.toLowerCase(Locale.ROOT));
+        if (index == null) throw new IllegalArgumentException("Column %s does not exist".formatted(label));
+        return index;
+    }
+
+    @Override
+    public boolean truncated() {
+        return truncated;
+    }
+
+    @Override
+    public boolean isNull(int row, int column) {
+        return column(column).isNull(row(row));
+    }
+
+    @Override
+    public int getInt(int row, int column) {
+        return Math.toIntExact(column(column).getLong(row(row)));
+    }
+
+    @Override
+    public long getLong(int row, int column) {
+        return column(column).getLong(row(row));
+    }
+
+    @Override
+    public double getDouble(int row, int column) {
+        return column(column).getDouble(row(row));
+    }
+
+    @Override
+    public String getString(int row, int column) {
+        return column(column).getString(row(row));
+    }
+
+    @Override
+    public Object getObject(int row, int column) {
+        return column(column).get(row(row));
+    }
+
+    @Override
+    public int[] ints(int column) {
+        var vector = column(column);
+        if (vector instanceof IntVector ints) return Arrays.copyOf(ints.values(), rows);
+        var values = new int[rows];
+        for (var row = 0; row < rows; row++) values[row] = Math.toIntExact(vector.getLong(row));
+        return values;
+    }
+
+    @Override
+    public long[] longs(int column) {
+        var vector = column(column);
+        if (vector instanceof LongVector longs) return Arrays.copyOf(longs.values(), rows);
+        var values = new long[rows];
+        for (var row = 0; row < rows; row++) values[row] = vector.getLong(row);
+        return values;
+    }
+
+    @Override
+    public double[] doubles(int column) {
+        var vector = column(column);
+        if (vector instanceof DoubleVector doubles) return Arrays.copyOf(doubles.values(), rows);
+        var values = new double[rows];
+        for (var row = 0; row < rows; row++) values[row] = vector.getDouble(row);
+        return values;
+    }
+
+    @Override
+    public String[] dictionary(int column) {
+        return text(column).dictionary();
+    }
+
+    @Override
+    public int[] codes(int column) {
+        var vector = text(column);
+        var codes = new int[rows];
+        for (var row = 0; row < rows; row++) codes[row] = vector.code(row);
+        return codes;
+    }
+
+    @Override
+    public int count(int column) {
+        return column(column).count(rows);
+    }
+
+    @Override
+    public double sum(int column) {
+        return column(column).sum(rows);
+    }
+
+    @Override
+    public long sumLong(int column) {
+        return column(column).sumLong(rows);
+    }
+
+    @Override
+    public OptionalDouble min(int column) {
+        return column(column).min(rows);
+    }
+
+    @Override
+    public OptionalDouble max(int column) {
+        return column(column).max(rows);
+    }
+
+    private ColumnVector column(int column) {
+        if (column < 1 || column > columns.length) {
+            throw new IndexOutOfBoundsException("Column %d is out of bounds for %d columns".formatted(column, columns.length));
+        }
+        return columns[column - 1];
+    }
+
+    private int row(int row) {
+        if (row < 0 || row >= rows) throw new IndexOutOfBoundsException("Row %d is out of bounds for %d rows".formatted(row, rows));
+        return row;
+    }
+
+    private StringVector text(int column) {
+        if (column(column) instanceof StringVector vector) return vector;
+        throw new IllegalStateException("Column %s is not a text column".formatted(label(column)));
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.results.reading;
+
+import de.chojo.sadu.queries.api.execution.reading.Reader;
+import de.chojo.sadu.queries.api.results.reading.MultiReadResult;
+
+import java.util.List;
+import java.util.Map;
+
+public class MultiReadResultImpl implements MultiReadResult {
+    private final Map<Reader<?>, List<?>> results;
+
+    public MultiReadResultImpl(Map<Reader<?>, List<?>> results) {
+        this.results = results;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> get(Reader<T> reader) {
+        var result = results.get(reader);
+        if (result == null) throw new IllegalArgumentException("The reader was not part of this execution");
+        return (List<T>) result;
+    }
+}
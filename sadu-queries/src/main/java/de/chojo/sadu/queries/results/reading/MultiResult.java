@@ -22,10 +22,16 @@ import java.util.List;
 public class MultiResult<T> implements QueryProvider, Result<T> {
     private final QueryProvider query;
     private final T results;
+    private final boolean truncated;
 
     public MultiResult(QueryProvider query, T results) {
+        this(query, results, false);
+    }
+
+    public MultiResult(QueryProvider query, T results, boolean truncated) {
         this.query = query;
         this.results = results;
+        this.truncated = truncated;
     }
 
     @Override
@@ -38,6 +44,11 @@ public class MultiResult<T> implements QueryProvider, Result<T> {
         return results;
     }
 
+    @Override
+    public boolean truncated() {
+        return truncated;
+    }
+
     @Override
     public List<Exception> exceptions() {
         return query().exceptions();
@@ -0,0 +1,92 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.results.reading;
+
+import de.chojo.sadu.mapper.MapperConfig;
+import de.chojo.sadu.mapper.rowmapper.RowMapping;
+import de.chojo.sadu.mapper.wrapper.Row;
+import de.chojo.sadu.mapper.wrapper.SpillableRowBuffer;
+import de.chojo.sadu.queries.api.results.reading.SpillableList;
+import de.chojo.sadu.queries.exception.Check;
+import de.chojo.sadu.queries.exception.WrappedQueryExecutionException;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A {@link SpillableList} mapping the rows of a {@link SpillableRowBuffer} on access.
+ *
+ * @param <V> type of the mapped rows
+ */
+public class SpillableListImpl<V> extends AbstractList<V> implements SpillableList<V>, RandomAccess {
+    @Nullable
+    private final SpillableRowBuffer buffer;
+    private final MapperResolver<V> mapperResolver;
+    private final MapperConfig config;
+    private volatile RowMapping<V> mapper;
+
+    /**
+     * Creates a new list.
+     *
+     * @param buffer         the buffered rows or null if the query failed
+     * @param mapperResolver resolves the mapper for the result set
+     * @param config         mapper config
+     */
+    public SpillableListImpl(@Nullable SpillableRowBuffer buffer, MapperResolver<V> mapperResolver, MapperConfig config) {
+        this.buffer = buffer;
+        this.mapperResolver = mapperResolver;
+        this.config = config;
+    }
+
+    @Override
+    public V get(int index) {
+        if (buffer == null) throw new IndexOutOfBoundsException("Index %d is out of bounds for 0 rows".formatted(index));
+        try {
+            var resultSet = buffer.resultSet(index);
+            resultSet.next();
+            V mapped = mapper(resultSet).map(new Row(resultSet, config));
+            Check.assertQueryResult(mapped);
+            return mapped;
+        } catch (SQLException e) {
+            throw (WrappedQueryExecutionException) new WrappedQueryExecutionException(e.getMessage()).initCause(e);
+        }
+    }
+
+    private RowMapping<V> mapper(ResultSet resultSet) throws SQLException {
+        // All rows share the same columns. The mapper is resolved once.
+        if (mapper == null) mapper = mapperResolver.resolve(resultSet);
+        return mapper;
+    }
+
+    @Override
+    public int size() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    @Override
+    public boolean spilled() {
+        return buffer != null && buffer.spilled();
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) buffer.close();
+    }
+
+    /**
+     * Resolves the mapper for the rows of a result set.
+     *
+     * @param <V> type of the mapped rows
+     */
+    @FunctionalInterface
+    public interface MapperResolver<V> {
+        RowMapping<V> resolve(ResultSet resultSet) throws SQLException;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.results.writing.manipulation;
+
+import de.chojo.sadu.queries.api.base.QueryProvider;
+import de.chojo.sadu.queries.api.results.writing.manipulation.FailedCall;
+import de.chojo.sadu.queries.api.results.writing.manipulation.IsolatedBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+
+import java.util.List;
+
+public class IsolatedBatchResultImpl extends ManipulationBatchResultImpl<ManipulationResult> implements IsolatedBatchResult {
+    private final List<FailedCall> failures;
+
+    public IsolatedBatchResultImpl(QueryProvider query, List<ManipulationResult> results, List<FailedCall> failures) {
+        super(query, results);
+        this.failures = failures;
+    }
+
+    @Override
+    public List<FailedCall> failures() {
+        return failures;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.writer;
+
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.writer.GroupCommitWriter;
+
+import java.time.Duration;
+
+/**
+ * Builder for a {@link GroupCommitWriter}.
+ */
+public class GroupCommitWriterBuilder {
+    private final QueryConfiguration configuration;
+    private Duration maxDelay = Duration.ofMillis(5);
+    private int maxBatchSize = 500;
+
+    public GroupCommitWriterBuilder(QueryConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Sets the maximum time a write waits for other writes before the collected writes are committed.
+     * <p>
+     * Default: 5 ms
+     *
+     * @param maxDelay the maximum delay
+     * @return the GroupCommitWriterBuilder instance
+     */
+    public GroupCommitWriterBuilder setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of writes committed in one transaction.
+     * <p>
+     * Default: 500
+     *
+     * @param maxBatchSize the maximum amount of writes per transaction
+     * @return the GroupCommitWriterBuilder instance
+     */
+    public GroupCommitWriterBuilder setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Creates and starts the writer.
+     *
+     * @return a new writer
+     */
+    public GroupCommitWriter build() {
+        return new GroupCommitWriterImpl(configuration, maxDelay, maxBatchSize);
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.writer;
+
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
+import de.chojo.sadu.queries.api.query.ParsedQuery;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.api.writer.GroupCommitWriter;
+import de.chojo.sadu.queries.call.CallImpl;
+import de.chojo.sadu.queries.exception.QueryException;
+import de.chojo.sadu.queries.execution.batch.JdbcBatch;
+import de.chojo.sadu.queries.exception.QueryRejectedException;
+import de.chojo.sadu.queries.query.ParsedQueryImpl;
+import de.chojo.sadu.queries.results.writing.manipulation.ManipulationResultImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of a {@link GroupCommitWriter}, which commits the collected writes on a dedicated thread.
+ */
+public class GroupCommitWriterImpl implements GroupCommitWriter {
+    private static final long IDLE_POLL_MILLIS = 100;
+    private final QueryConfiguration configuration;
+    private final long maxDelay;
+    private final int maxBatchSize;
+    private final LinkedBlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    // Submitting holds the read lock, so no write is added to the queue after close stopped the writer.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    GroupCommitWriterImpl(QueryConfiguration configuration, Duration maxDelay, int maxBatchSize) {
+        this.configuration = configuration;
+        this.maxDelay = maxDelay.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        committer = new Thread(this::run, "sadu-group-commit");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    @Override
+    public CompletableFuture<ManipulationResult> submit(ParsedQuery query, Call call) {
+        var write = new PendingWrite((ParsedQueryImpl) query, (CallImpl) call, new CompletableFuture<>());
+        lock.readLock().lock();
+        try {
+            if (!running) {
+                write.result().completeExceptionally(new IllegalStateException("The writer is closed"));
+                return write.result();
+            }
+            queue.add(write);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return write.result();
+    }
+
+    @Override
+    public int pending() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Writes left behind if the committer was interrupted.
+        var remaining = new ArrayList<PendingWrite>();
+        queue.drainTo(remaining);
+        remaining.forEach(write -> write.result().completeExceptionally(new IllegalStateException("The writer is closed")));
+    }
+
+    private void run() {
+        var batch = new ArrayList<PendingWrite>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                collect(batch);
+            } catch (InterruptedException e) {
+                // The committer is only stopped via close, which drains the queue first.
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingWrite> batch) throws InterruptedException {
+        var deadline = System.nanoTime() + maxDelay;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            var remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || !running) return;
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Commits the writes of the batch.
+     * <p>
+     * The permit is acquired with the highest priority of the writes. The wait is bounded by the latest deadline, since every write waits as long as the group.
+     * Writes whose deadline passed are rejected before the group is executed.
+     *
+     * @param collected writes to commit
+     */
+    private void flush(List<PendingWrite> collected) {
+        var batch = unexpired(collected);
+        if (batch.isEmpty()) return;
+        ConcurrencyLimiter.Permit permit;
+        try {
+            permit = configuration.concurrencyLimiter().acquire(priority(batch), maxWait(batch));
+        } catch (RuntimeException e) {
+            batch.forEach(write -> write.result().completeExceptionally(e));
+            return;
+        }
+        // The deadline of some writes might have passed while waiting for the permit
+        batch = unexpired(batch);
+        if (batch.isEmpty()) {
+            permit.release(false);
+            return;
+        }
+        var dropped = false;
+        try {
+            var exception = commitGroup(batch);
+            if (exception == null) return;
+            dropped = exception instanceof SQLTimeoutException || exception instanceof SQLTransientConnectionException;
+            if (batch.size() == 1) {
+                fail(batch.get(0), exception);
+            } else {
+                // Find the failing writes by executing every write in its own transaction.
+                commitSingle(batch);
+            }
+        } finally {
+            permit.release(dropped);
+        }
+    }
+
+    private List<PendingWrite> unexpired(List<PendingWrite> batch) {
+        var unexpired = new ArrayList<PendingWrite>(batch.size());
+        for (var write : batch) {
+            try {
+                write.query().query().assertDeadline();
+                unexpired.add(write);
+            } catch (QueryRejectedException e) {
+                write.result().completeExceptionally(e);
+            }
+        }
+        return unexpired;
+    }
+
+    private QueryPriority priority(List<PendingWrite> batch) {
+        return batch.stream().map(write -> write.query().query().priority()).min(Comparator.naturalOrder()).orElse(QueryPriority.NORMAL);
+    }
+
+    private Duration maxWait(List<PendingWrite> batch) {
+        Instant latest = null;
+        for (var write : batch) {
+            var deadline = write.query().query().deadline();
+            if (deadline == null) return ConcurrencyLimiter.UNBOUNDED_WAIT;
+            if (latest == null || deadline.isAfter(latest)) latest = deadline;
+        }
+        return Duration.between(Instant.now(), latest);
+    }
+
+    /**
+     * Executes all writes in one transaction. Consecutive writes with the same query are sent as one batch.
+     * <p>
+     * Writes are executed in the order they were submitted. Callers may submit a write depending on a previous write without waiting for its result.
+     *
+     * @param batch writes to execute
+     * @return the exception that caused the transaction to fail or null if all writes were committed
+     */
+    private SQLException commitGroup(List<PendingWrite> batch) {
+        try (var conn = configuration.dataSource().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                var results = new ArrayList<PendingResult>(batch.size());
+                for (var group : runs(batch)) {
+                    var counts = JdbcBatch.execute(conn, group.get(0).query().sql(), group.stream().map(PendingWrite::call).toList());
+                    for (var i = 0; i < counts.length; i++) {
+                        results.add(new PendingResult(group.get(i), counts[i]));
+                    }
+                }
+                conn.commit();
+                results.forEach(PendingResult::complete);
+                return null;
+            } catch (SQLException | RuntimeException e) {
+                rollback(conn);
+                return e instanceof SQLException ex ? ex : new SQLException(e.getMessage(), e);
+            }
+        } catch (SQLException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Splits the writes into runs of consecutive writes with the same query.
+     *
+     * @param batch writes in submission order
+     * @return runs in submission order
+     */
+    private static List<List<PendingWrite>> runs(List<PendingWrite> batch) {
+        var runs = new ArrayList<List<PendingWrite>>();
+        List<PendingWrite> run = null;
+        String sql = null;
+        for (var write : batch) {
+            var current = write.query().sql().tokenizedSql();
+            if (run == null || !current.equals(sql)) {
+                run = new ArrayList<>();
+                runs.add(run);
+                sql = current;
+            }
+            run.add(write);
+        }
+        return runs;
+    }
+
+    @SuppressWarnings("JDBCPrepareStatementWithNonConstantString")
+    private void commitSingle(List<PendingWrite> batch) {
+        var done = 0;
+        try (var conn = configuration.dataSource().getConnection()) {
+            conn.setAutoCommit(true);
+            for (var write : batch) {
+                try (var stmt = conn.prepareStatement(write.query().sql().tokenizedSql())) {
+                    write.call().apply(write.query().sql(), stmt);
+                    new PendingResult(write, stmt.executeUpdate()).complete();
+                } catch (SQLException e) {
+                    fail(write, e);
+                } catch (RuntimeException e) {
+                    write.result().completeExceptionally(e);
+                }
+                done++;
+            }
+        } catch (SQLException e) {
+            batch.subList(done, batch.size()).forEach(write -> fail(write, e));
+        }
+    }
+
+    private void rollback(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            configuration.exceptionHandler().accept(e);
+        }
+    }
+
+    private void fail(PendingWrite write, SQLException e) {
+        var exception = new QueryException(write.query(), e);
+        configuration.exceptionHandler().accept(exception);
+        write.result().completeExceptionally(exception);
+    }
+
+    private record PendingWrite(ParsedQueryImpl query, CallImpl call, CompletableFuture<ManipulationResult> result) {
+    }
+
+    private record PendingResult(PendingWrite write, int rows) {
+        void complete() {
+            write.result().complete(new ManipulationResultImpl(write.query(), rows));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.writer;
+
+import de.chojo.sadu.queries.api.query.ParsedQuery;
+import de.chojo.sadu.queries.api.writer.OverflowPolicy;
+import de.chojo.sadu.queries.api.writer.WriteBehindQueue;
+import de.chojo.sadu.queries.query.ParsedQueryImpl;
+
+import java.time.Duration;
+
+/**
+ * Builder for a {@link WriteBehindQueue}.
+ */
+public class WriteBehindQueueBuilder {
+    private final ParsedQuery query;
+    private int capacity = 10000;
+    private int flushSize = 500;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    public WriteBehindQueueBuilder(ParsedQuery query) {
+        this.query = query;
+    }
+
+    /**
+     * Sets the maximum amount of calls kept in the queue.
+     * <p>
+     * Default: 10000
+     *
+     * @param capacity capacity of the queue
+     * @return the WriteBehindQueueBuilder instance
+     */
+    public WriteBehindQueueBuilder setCapacity(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1");
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * Sets the amount of calls, which triggers a flush and is written per batch.
+     * <p>
+     * Default: 500
+     *
+     * @param flushSize amount of calls per batch
+     * @return the WriteBehindQueueBuilder instance
+     */
+    public WriteBehindQueueBuilder setFlushSize(int flushSize) {
+        if (flushSize < 1) throw new IllegalArgumentException("Flush size must be at least 1");
+        this.flushSize = flushSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum time a call waits in the queue before it is written.
+     * <p>
+     * Default: 1 second
+     *
+     * @param flushInterval max time between adding a call and writing it
+     * @return the WriteBehindQueueBuilder instance
+     */
+    public WriteBehindQueueBuilder setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * Sets what happens when a call is added to a full queue.
+     * <p>
+     * Default: {@link OverflowPolicy#BLOCK}
+     *
+     * @param overflowPolicy overflow policy
+     * @return the WriteBehindQueueBuilder instance
+     */
+    public WriteBehindQueueBuilder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * Creates and starts the queue.
+     *
+     * @return a new queue
+     */
+    public WriteBehindQueue build() {
+        return new WriteBehindQueueImpl((ParsedQueryImpl) query, capacity, flushSize, flushInterval, overflowPolicy);
+    }
+}
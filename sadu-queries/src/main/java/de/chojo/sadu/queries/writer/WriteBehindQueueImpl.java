@@ -0,0 +1,204 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.writer;
+
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
+import de.chojo.sadu.queries.api.writer.OverflowPolicy;
+import de.chojo.sadu.queries.api.writer.WriteBehindMetrics;
+import de.chojo.sadu.queries.api.writer.WriteBehindQueue;
+import de.chojo.sadu.queries.call.CallImpl;
+import de.chojo.sadu.queries.exception.QueryException;
+import de.chojo.sadu.queries.execution.batch.JdbcBatch;
+import de.chojo.sadu.queries.query.ParsedQueryImpl;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of a {@link WriteBehindQueue}, which writes the calls on a dedicated thread.
+ */
+public class WriteBehindQueueImpl implements WriteBehindQueue {
+    private static final long IDLE_POLL_MILLIS = 100;
+    private final ParsedQueryImpl query;
+    private final QueryConfiguration configuration;
+    private final ArrayBlockingQueue<CallImpl> queue;
+    private final int flushSize;
+    private final long flushInterval;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread flusher;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong maxFlushLatency = new AtomicLong();
+    // Offering holds the read lock, so no call is accepted after close stopped the queue.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long lastFlushLatency;
+    private volatile boolean running = true;
+
+    WriteBehindQueueImpl(ParsedQueryImpl query, int capacity, int flushSize, Duration flushInterval, OverflowPolicy overflowPolicy) {
+        this.query = query;
+        this.configuration = query.query().configuration();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushSize = flushSize;
+        this.flushInterval = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        flusher = new Thread(this::run, "sadu-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public boolean offer(Call call) {
+        lock.readLock().lock();
+        try {
+            if (!running) throw new IllegalStateException("The queue is closed");
+            return enqueue((CallImpl) call);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean enqueue(CallImpl impl) {
+        if (queue.offer(impl)) return true;
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(impl);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return false;
+                }
+            }
+            case DROP -> {
+                dropped.incrementAndGet();
+                return false;
+            }
+            case CALLER_RUNS -> {
+                var batch = new ArrayList<CallImpl>(flushSize);
+                queue.drainTo(batch, flushSize - 1);
+                batch.add(impl);
+                write(batch);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() {
+        var batch = new ArrayList<CallImpl>(flushSize);
+        while (queue.drainTo(batch, flushSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public WriteBehindMetrics metrics() {
+        return new WriteBehindMetrics(queue.size(), written.get(), dropped.get(), failed.get(), flushes.get(),
+                Duration.ofNanos(lastFlushLatency), Duration.ofNanos(maxFlushLatency.get()));
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Calls left behind if the flusher was interrupted.
+        flush();
+    }
+
+    private void run() {
+        var batch = new ArrayList<CallImpl>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                collect(batch, System.nanoTime() + flushInterval);
+            } catch (InterruptedException e) {
+                // The flusher is only stopped via close, which drains the queue first.
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<CallImpl> batch, long deadline) throws InterruptedException {
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            var remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0 || !running) return;
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void write(List<CallImpl> batch) {
+        var start = System.nanoTime();
+        try {
+            var permit = configuration.concurrencyLimiter().acquire(QueryPriority.LOW);
+            var overloaded = false;
+            try {
+                execute(batch);
+                written.addAndGet(batch.size());
+            } catch (SQLException e) {
+                overloaded = e instanceof SQLTimeoutException || e instanceof SQLTransientConnectionException;
+                failed.addAndGet(batch.size());
+                configuration.exceptionHandler().accept(new QueryException(query, e));
+            } finally {
+                permit.release(overloaded);
+            }
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            configuration.exceptionHandler().accept(new SQLException(e.getMessage(), e));
+        } finally {
+            var latency = System.nanoTime() - start;
+            lastFlushLatency = latency;
+            maxFlushLatency.accumulateAndGet(latency, Math::max);
+            flushes.incrementAndGet();
+        }
+    }
+
+    private void execute(List<CallImpl> batch) throws SQLException {
+        try (var conn = configuration.dataSource().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                JdbcBatch.execute(conn, query.sql(), batch);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Implementation of writers, which collect writes of multiple callers and execute them together.
+ */
+package de.chojo.sadu.queries.writer;
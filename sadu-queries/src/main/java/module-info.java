@@ -8,6 +8,7 @@ module de.chojo.sadu.queries {
     exports de.chojo.sadu.queries.api.call.calls;
     exports de.chojo.sadu.queries.api.execution.reading;
     exports de.chojo.sadu.queries.api.execution.writing;
+    exports de.chojo.sadu.queries.api.limiter;
     exports de.chojo.sadu.queries.api.configuration;
     exports de.chojo.sadu.queries.api.configuration.context;
     exports de.chojo.sadu.queries.api.parameter;
@@ -18,6 +19,7 @@ module de.chojo.sadu.queries {
     exports de.chojo.sadu.queries.api.results.writing.manipulation;
     exports de.chojo.sadu.queries.api.results.writing.insertion;
     exports de.chojo.sadu.queries.api.storage;
+    exports de.chojo.sadu.queries.api.writer;
     exports de.chojo.sadu.queries.call;
     exports de.chojo.sadu.queries.call.adapter;
 
@@ -30,6 +32,8 @@ module de.chojo.sadu.queries {
 
     exports de.chojo.sadu.queries.exception;
 
+    exports de.chojo.sadu.queries.limiter;
+
     exports de.chojo.sadu.queries.parameter;
 
     exports de.chojo.sadu.queries.query;
@@ -41,4 +45,6 @@ module de.chojo.sadu.queries {
     exports de.chojo.sadu.queries.results.reading;
 
     exports de.chojo.sadu.queries.storage;
+
+    exports de.chojo.sadu.queries.writer;
 }
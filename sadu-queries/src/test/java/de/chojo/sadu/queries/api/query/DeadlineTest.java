@@ -0,0 +1,47 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.api.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineTest {
+
+    @Test
+    void nestedDeadlineUsesEarliest() {
+        var outer = Instant.now().plusSeconds(10);
+        var inner = Instant.now().plusSeconds(20);
+        Deadline.run(outer, () -> Deadline.run(inner, () -> assertEquals(outer, Deadline.current().orElseThrow())));
+    }
+
+    @Test
+    void deadlineIsRestored() {
+        var outer = Instant.now().plusSeconds(20);
+        var inner = Instant.now().plusSeconds(10);
+        Deadline.run(outer, () -> {
+            Deadline.run(inner, () -> assertEquals(inner, Deadline.current().orElseThrow()));
+            assertEquals(outer, Deadline.current().orElseThrow());
+        });
+        assertFalse(Deadline.current().isPresent());
+    }
+
+    @Test
+    void deadlineIsRestoredOnException() {
+        try {
+            Deadline.run(Instant.now().plusSeconds(10), () -> {
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException ignored) {
+        }
+        assertTrue(Deadline.current().isEmpty());
+    }
+}
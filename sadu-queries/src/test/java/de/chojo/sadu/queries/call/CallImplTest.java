@@ -0,0 +1,117 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.call;
+
+import de.chojo.sadu.core.fake.FakeStatement;
+import de.chojo.sadu.queries.exception.IllegalQueryParameterException;
+import de.chojo.sadu.queries.query.TokenizedQuery;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CallImplTest {
+    private final TokenizedQuery query = TokenizedQuery.create("INSERT INTO persons VALUES(:name, ?,:age::integer, ?, ?,:active,:active);");
+
+    @Test
+    void primitivesAreApplied() throws SQLException {
+        var call = new CallImpl()
+                .bind("name", "Lilly")
+                .bind(1L)
+                .bind("age", 21)
+                .bind(1.5)
+                .bind(0.25f)
+                .bind("active", true);
+        var statement = FakeStatement.create();
+        ((CallImpl) call).apply(query, statement.statement());
+        var values = statement.parameters();
+        assertEquals(Map.of(
+                1, "setString:Lilly",
+                2, "setLong:1",
+                3, "setInt:21",
+                4, "setDouble:1.5",
+                5, "setFloat:0.25",
+                6, "setBoolean:true",
+                7, "setBoolean:true"), values);
+    }
+
+    @Test
+    void narrowPrimitivesKeepTheirType() throws SQLException {
+        short small = 2;
+        byte tiny = 3;
+        var call = new CallImpl()
+                .bind("name", "Lilly")
+                .bind(small)
+                .bind("age", (short) 21)
+                .bind(tiny)
+                .bind('a')
+                .bind("active", (byte) 1);
+        var statement = FakeStatement.create();
+        ((CallImpl) call).apply(query, statement.statement());
+        var values = statement.parameters();
+        assertEquals("setShort:2", values.get(2));
+        assertEquals("setShort:21", values.get(3));
+        assertEquals("setByte:3", values.get(4));
+        // A char widens to int
+        assertEquals("setInt:97", values.get(5));
+        assertEquals("setByte:1", values.get(6));
+    }
+
+    @Test
+    void primitivesAndObjectsShareIndices() throws SQLException {
+        var call = new CallImpl()
+                .bind("name", "Lilly")
+                .bind(1)
+                .bind("age", 21)
+                .bind((Integer) 2)
+                .bind(3)
+                .bind("active", false);
+        var statement = FakeStatement.create();
+        ((CallImpl) call).apply(query, statement.statement());
+        var values = statement.parameters();
+        assertEquals("setInt:1", values.get(2));
+        assertEquals("setInt:2", values.get(4));
+        assertEquals("setInt:3", values.get(5));
+    }
+
+    @Test
+    void missingIndexIsDetected() {
+        var call = new CallImpl()
+                .bind("name", "Lilly")
+                .bind(1)
+                .bind("age", 21)
+                .bind("active", false);
+        assertThrows(IllegalQueryParameterException.class, () -> ((CallImpl) call).apply(query, FakeStatement.create().statement()));
+    }
+
+    @Test
+    void unknownTokenIsDetected() {
+        var call = new CallImpl().bind("unknown", 1);
+        assertThrows(IllegalQueryParameterException.class, () -> ((CallImpl) call).apply(query, FakeStatement.create().statement()));
+    }
+
+    @Test
+    void clearedCallCanBeReused() throws SQLException {
+        var call = new CallImpl();
+        call.bind("name", "Lilly").bind(1).bind("age", 20).bind(2L).bind(3.0).bind("active", true);
+        call.clear();
+        call.bind("name", "Chojo").bind(4).bind("age", 21).bind(5L).bind(6.0).bind("active", false);
+
+        var statement = FakeStatement.create();
+        call.apply(query, statement.statement());
+        var values = statement.parameters();
+
+        assertEquals("setString:Chojo", values.get(1));
+        assertEquals("setInt:4", values.get(2));
+        assertEquals("setInt:21", values.get(3));
+        assertEquals("setBoolean:false", values.get(7));
+        assertEquals(7, values.size());
+    }
+}
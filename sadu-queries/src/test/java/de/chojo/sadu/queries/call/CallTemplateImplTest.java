@@ -0,0 +1,82 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.call;
+
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.queries.api.call.CallTemplate;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import de.chojo.sadu.queries.exception.IllegalQueryParameterException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallTemplateImplTest {
+    private final FakeConnection fake = FakeConnection.create();
+
+    private QueryConfiguration configuration() {
+        return new QueryConfigurationBuilder(fake.dataSource()).setThrowExceptions(true).build();
+    }
+
+    @Test
+    void rowsAreSnapshotted() {
+        CallTemplate template = configuration().query("INSERT INTO users(id, name, age) VALUES (?, :name, ?)").template();
+        template.set(0, 1).set("name", "Lilly").set(1, 21L).addBatch();
+        template.set(0, 2).set(":name", "Chojo").addBatch();
+        assertEquals(2, template.batchSize());
+        assertEquals(2, template.executeBatch().results().size());
+        assertEquals(0, template.batchSize());
+        var batches = fake.lastStatement().batches();
+        assertEquals(Map.of(1, "setInt:1", 2, "setString:Lilly", 3, "setLong:21"), batches.get(0));
+        assertEquals(Map.of(1, "setInt:2", 2, "setString:Chojo", 3, "setLong:21"), batches.get(1));
+    }
+
+    @Test
+    void batchWithoutCountsIsChanged() {
+        fake.updateCount(Statement.SUCCESS_NO_INFO);
+        CallTemplate template = configuration().query("INSERT INTO users(id) VALUES (?)").template();
+        template.set(0, 1).addBatch();
+        template.set(0, 2).addBatch();
+        var result = template.executeBatch();
+        assertEquals(2, result.rows());
+        assertTrue(result.results().stream().allMatch(ManipulationResult::changed));
+    }
+
+    @Test
+    void tokenUsedTwiceIsSetTwice() {
+        CallTemplate template = configuration().query("SELECT :a, :a").template();
+        template.set("a", true).update();
+        assertEquals(Map.of(1, "setBoolean:true", 2, "setBoolean:true"), fake.lastStatement().parameters());
+    }
+
+    @Test
+    void floatsAreNotWidened() {
+        CallTemplate template = configuration().query("SELECT ?, :b, ?").template();
+        template.set(0, 0.25f).set("b", 0.5f).set(1, 0.75).update();
+        assertEquals(Map.of(1, "setFloat:0.25", 2, "setFloat:0.5", 3, "setDouble:0.75"), fake.lastStatement().parameters());
+    }
+
+    @Test
+    void unsetSlotIsRejected() {
+        CallTemplate template = configuration().query("INSERT INTO users(id, name) VALUES (?, :name)").template();
+        template.set(0, 1);
+        assertThrows(IllegalQueryParameterException.class, template::addBatch);
+    }
+
+    @Test
+    void unknownSlotIsRejected() {
+        CallTemplate template = configuration().query("INSERT INTO users(id) VALUES (?)").template();
+        assertThrows(IllegalQueryParameterException.class, () -> template.set(1, 1));
+        assertThrows(IllegalQueryParameterException.class, () -> template.set("name", 1));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.configuration;
+
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.core.fake.FakeStatement;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementCachingConnectionTest {
+    private final FakeConnection fake = FakeConnection.create();
+    private final List<FakeStatement> prepared = fake.statements();
+
+    private Connection connection() {
+        return fake.connection();
+    }
+
+    @Test
+    void statementIsReused() throws SQLException {
+        var conn = new StatementCachingConnection(connection(), 2);
+        var first = conn.prepareStatement("SELECT 1");
+        first.close();
+        var second = conn.prepareStatement("SELECT 1");
+        assertSame(first, second);
+        assertEquals(1, prepared.size());
+        assertFalse(prepared.get(0).closed());
+    }
+
+    @Test
+    void statementInUseIsNotShared() throws SQLException {
+        var conn = new StatementCachingConnection(connection(), 2);
+        var first = conn.prepareStatement("SELECT 1");
+        var second = conn.prepareStatement("SELECT 1");
+        assertNotSame(first, second);
+        assertEquals(2, prepared.size());
+    }
+
+    @Test
+    void eldestStatementIsEvicted() throws SQLException {
+        var conn = new StatementCachingConnection(connection(), 2);
+        conn.prepareStatement("SELECT 1").close();
+        conn.prepareStatement("SELECT 2").close();
+        conn.prepareStatement("SELECT 1").close();
+        conn.prepareStatement("SELECT 3").close();
+        assertEquals(3, prepared.size());
+        assertFalse(prepared.get(0).closed());
+        assertTrue(prepared.get(1).closed());
+    }
+
+    @Test
+    void closeClosesStatements() throws SQLException {
+        var conn = new StatementCachingConnection(connection(), 2);
+        conn.prepareStatement("SELECT 1").close();
+        conn.prepareStatement("SELECT 2");
+        conn.close();
+        assertTrue(prepared.stream().allMatch(FakeStatement::closed));
+    }
+}
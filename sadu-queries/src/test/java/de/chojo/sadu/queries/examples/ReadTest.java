@@ -9,10 +9,17 @@ package de.chojo.sadu.queries.examples;
 import de.chojo.sadu.PostgresDatabase;
 import de.chojo.sadu.mapper.RowMapperRegistry;
 import de.chojo.sadu.mapper.rowmapper.RowMapper;
+import de.chojo.sadu.postgresql.databases.PostgreSql;
 import de.chojo.sadu.postgresql.mapper.PostgresqlMapper;
 import de.chojo.sadu.queries.api.call.Call;
 import de.chojo.sadu.queries.api.call.calls.Calls;
 import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.execution.reading.Reader;
+import de.chojo.sadu.queries.api.query.ParallelScan;
+import de.chojo.sadu.queries.api.query.Query;
+import de.chojo.sadu.queries.api.results.reading.ColumnarResult;
+import de.chojo.sadu.queries.api.results.reading.MultiReadResult;
+import de.chojo.sadu.queries.api.results.reading.SpillableList;
 import de.chojo.sadu.queries.api.results.reading.Result;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
 import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
@@ -84,6 +91,125 @@ public class ReadTest {
         Assertions.assertEquals(2, users.size());
     }
 
+    // Read all rows first and map them after the connection was returned to the pool
+    @Test
+    public void retrieveAllDetached() {
+        List<User> users = query.query("SELECT * FROM users")
+                .single(Calls.empty())
+                .map(User.map())
+                .detached()
+                .all();
+        Assertions.assertEquals(2, users.size());
+    }
+
+    // Map expensive rows on multiple threads. The order of the rows is kept.
+    @Test
+    public void retrieveAllParallel() {
+        List<User> users = query.query("SELECT * FROM users ORDER BY id")
+                .single(Calls.empty())
+                .map(User.map())
+                .allParallel();
+        Assertions.assertEquals(2, users.size());
+        Assertions.assertEquals(1, users.get(0).id());
+    }
+
+    @Test
+    public void multiRead() {
+        QueryConfiguration configuration = query.edit().setDatabase(PostgreSql.get()).build();
+        Reader<User> users = configuration.query("SELECT * FROM users WHERE name ILIKE :name")
+                .single(call().bind("name", "lilly"))
+                .map(User.map());
+        Reader<Integer> count = configuration.query("SELECT count(1) FROM users")
+                .single()
+                .map(row -> row.getInt(1));
+
+        // Both queries are sent in one round trip
+        MultiReadResult result = Query.multi(users, count);
+        Assertions.assertEquals(1, result.get(users).size());
+        Assertions.assertEquals(2, result.get(count).get(0));
+    }
+
+    @Test
+    public void streamRows() {
+        // Rows are fetched in batches of 100 and mapped while the stream is consumed
+        QueryConfiguration configuration = query.edit().setDatabase(PostgreSql.get()).setFetchSize(100).build();
+        long count = configuration.query("SELECT * FROM users")
+                .single()
+                .map(User.map())
+                .stream(users -> users.filter(user -> user.name().startsWith("L")).count());
+
+        Assertions.assertEquals(1, count);
+    }
+
+    @Test
+    public void readIds() {
+        // The ids are read into a long array without a mapper
+        long[] ids = query.query("SELECT id FROM users ORDER BY id")
+                .single()
+                .readLongs("id");
+
+        Assertions.assertArrayEquals(new long[]{1, 2}, ids);
+    }
+
+    @Test
+    public void columnar() {
+        // Rows are stored in one array per column instead of one object per row
+        ColumnarResult result = query.query("SELECT id, name FROM users ORDER BY id")
+                .single()
+                .columnar();
+
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(3.0, result.sum(result.findColumn("id")));
+        Assertions.assertEquals("Chojo", result.getString(1, 2));
+    }
+
+    @Test
+    public void parallelScan() {
+        // The users table is split into two id ranges, which are read on two connections at the same time
+        List<User> users = ParallelScan.over("users", "id")
+                .partitions(2)
+                .stream(query, User.map())
+                .toList();
+
+        Assertions.assertEquals(2, users.size());
+    }
+
+    @Test
+    public void retrieveAllSpillable() {
+        // Rows beyond 1 MB are written to a temporary file and mapped on access
+        try (SpillableList<User> users = query.query("SELECT * FROM users ORDER BY id")
+                .single()
+                .map(User.map())
+                .allSpillable(1024 * 1024)) {
+            Assertions.assertEquals(2, users.size());
+            Assertions.assertEquals("Chojo", users.get(1).name());
+        }
+    }
+
+    @Test
+    public void keysetPages() {
+        // The first page starts after id 0. Every following page starts after the id of the last user of the previous page.
+        List<List<User>> pages = query.query("SELECT * FROM users WHERE id > :after ORDER BY id LIMIT :limit")
+                .single(call().bind("after", 0))
+                .map(User.map())
+                .keysetPages(1, User::id)
+                .toList();
+
+        Assertions.assertEquals(2, pages.size());
+        Assertions.assertEquals("Lilly", pages.get(0).get(0).name());
+        Assertions.assertEquals("Chojo", pages.get(1).get(0).name());
+    }
+
+    @Test
+    public void mapViaRegistryDetached() {
+        Optional<User> user = query.query("SELECT * FROM users WHERE name ILIKE :name")
+                .single(call().bind("name", "lilly"))
+                .mapAs(User.class)
+                .detached()
+                .first();
+        Assertions.assertEquals("Lilly", user.get().name());
+    }
+
     // Retrieve all matching users directly
 
     @Test
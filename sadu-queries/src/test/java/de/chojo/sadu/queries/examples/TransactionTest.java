@@ -8,9 +8,11 @@ package de.chojo.sadu.queries.examples;
 
 import de.chojo.sadu.PostgresDatabase;
 import de.chojo.sadu.mapper.RowMapperRegistry;
+import de.chojo.sadu.postgresql.databases.PostgreSql;
 import de.chojo.sadu.postgresql.mapper.PostgresqlMapper;
 import de.chojo.sadu.queries.api.call.calls.Calls;
 import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
 import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
 import de.chojo.sadu.queries.examples.dao.User;
@@ -70,4 +72,20 @@ public class TransactionTest {
     }
 
 
+
+    @Test
+    public void exampleMultiStatement() {
+        try (var conn = new QueryConfigurationBuilder(db.dataSource()).setDatabase(PostgreSql.get()).build().withSingleTransaction()) {
+            // Unrelated queries are sent to the database in one round trip
+            ManipulationBatchResult<ManipulationResult> result = conn.multiStatement()
+                    .add(conn.query("INSERT INTO users(uuid, name) VALUES (:uuid::uuid, :name)"), call().bind("uuid", UUID.randomUUID(), AS_STRING).bind("name", "lilly"))
+                    .add(conn.query("INSERT INTO users(uuid, name) VALUES (?::uuid, ?)"), call().bind(UUID.randomUUID(), AS_STRING).bind("chojo"))
+                    .add(conn.query("UPDATE users SET name = upper(name) WHERE name = :name"), call().bind("name", "lilly"))
+                    .execute();
+
+            // Every query has its own result
+            Assertions.assertEquals(3, result.results().size());
+            Assertions.assertEquals(1, result.results().get(2).rows());
+        }
+    }
 }
@@ -8,12 +8,22 @@ package de.chojo.sadu.queries.examples;
 
 import de.chojo.sadu.PostgresDatabase;
 import de.chojo.sadu.mapper.RowMapperRegistry;
+import de.chojo.sadu.postgresql.databases.PostgreSql;
 import de.chojo.sadu.postgresql.mapper.PostgresqlMapper;
 import de.chojo.sadu.queries.api.call.Call;
 import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeMetrics;
+import de.chojo.sadu.queries.api.query.BulkUpsert;
 import de.chojo.sadu.queries.api.results.writing.insertion.InsertionBatchResult;
 import de.chojo.sadu.queries.api.results.writing.insertion.InsertionResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.IsolatedBatchResult;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationBatchResult;
 import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.api.writer.GroupCommitWriter;
+import de.chojo.sadu.queries.api.writer.OverflowPolicy;
+import de.chojo.sadu.queries.api.writer.WriteBehindMetrics;
+import de.chojo.sadu.queries.api.writer.WriteBehindQueue;
 import de.chojo.sadu.queries.call.adapter.UUIDAdapter;
 import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
 import org.junit.jupiter.api.AfterEach;
@@ -23,7 +33,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static de.chojo.sadu.PostgresDatabase.createContainer;
@@ -119,6 +135,129 @@ public class WriteTest {
         }
     }
 
+    @Test
+    public void exampleParallel() {
+        // Non atomic configurations can execute a batch on multiple connections
+        QueryConfiguration parallel = query.edit()
+                .setAtomic(false)
+                .setBatchParallelism(4)
+                .build();
+        InsertionBatchResult<InsertionResult> change = parallel
+                .query("INSERT INTO users(uuid, name) VALUES(:uuid::uuid,?)")
+                .batch(Stream.generate(UUID::randomUUID).limit(100).map(id -> Call.of().bind("uuid", id, AS_STRING).bind((String) null)))
+                .insert();
+
+        // The results of all partitions are merged into one result
+        Assertions.assertEquals(100, change.results().size());
+        Assertions.assertEquals(100, change.rows());
+    }
+
+    @Test
+    public void exampleGroupCommit() {
+        // Writes of concurrent callers are committed together
+        try (GroupCommitWriter writer = query.groupCommit().setMaxDelay(Duration.ofMillis(20)).build()) {
+            List<CompletableFuture<ManipulationResult>> results = Stream.generate(UUID::randomUUID).limit(10)
+                    .map(id -> writer.submit(query.query("INSERT INTO users(uuid, name) VALUES(:uuid::uuid,?)"),
+                            Call.of().bind("uuid", id, AS_STRING).bind("Lilly")))
+                    .toList();
+            // A failing write only fails its own future
+            CompletableFuture<ManipulationResult> failing = writer.submit(query.query("INSERT INTO users(uuid, name) VALUES(:uuid::uuid,?)"),
+                    Call.of().bind("uuid", "invalid").bind("Chojo"));
+
+            for (CompletableFuture<ManipulationResult> result : results) {
+                Assertions.assertEquals(1, result.join().rows());
+            }
+            Assertions.assertThrows(CompletionException.class, failing::join);
+        }
+    }
+
+    @Test
+    public void exampleWriteBehind() {
+        // Calls are written in the background in batches
+        WriteBehindQueue queue = WriteBehindQueue.builder(query.query("INSERT INTO users(uuid, name) VALUES(:uuid::uuid,?)"))
+                .setFlushSize(20)
+                .setOverflowPolicy(OverflowPolicy.CALLER_RUNS)
+                .build();
+        Stream.generate(UUID::randomUUID).limit(100).forEach(id -> queue.offer(Call.of().bind("uuid", id, AS_STRING).bind("Lilly")));
+        // Closing the queue writes all pending calls
+        queue.close();
+
+        WriteBehindMetrics metrics = queue.metrics();
+        Assertions.assertEquals(0, metrics.depth());
+        Assertions.assertEquals(100, metrics.written());
+        Assertions.assertEquals(0, metrics.dropped());
+    }
+
+    @Test
+    public void exampleBulkUpsert() {
+        ManipulationBatchResult<ManipulationResult> result = BulkUpsert.into("birthdays")
+                // Rows with the same key are updated
+                .key("user_id")
+                .columns("birth_date")
+                // The dialect is usually set via QueryConfigurationBuilder#setDatabase
+                .dialect(PostgreSql.get())
+                .chunkSize(40)
+                .execute(query, IntStream.range(0, 100).boxed(), (id, call) -> call.bind(id).bind(LocalDate.of(2000, 1, 1)));
+
+        // 100 rows were written in three statements
+        Assertions.assertEquals(100, result.rows());
+        Assertions.assertEquals(3, result.results().size());
+
+        // Existing rows are updated
+        result = BulkUpsert.into("birthdays")
+                .key("user_id")
+                .columns("birth_date")
+                .dialect(PostgreSql.get())
+                .execute(query, IntStream.range(50, 150).boxed(), (id, call) -> call.bind(id).bind(LocalDate.of(2001, 1, 1)));
+        Assertions.assertEquals(100, result.rows());
+        Assertions.assertEquals(150, query.query("SELECT count(1) FROM birthdays").single().map(row -> row.getInt(1)).first().orElse(0));
+    }
+
+    @Test
+    public void exampleIsolated() {
+        // Every tenth call violates the not null constraint of the uuid column
+        IsolatedBatchResult result = query.query("INSERT INTO users(uuid, name) VALUES(:uuid::uuid,?)")
+                .batch(IntStream.range(0, 100).mapToObj(i -> Call.of().bind("uuid", i % 10 == 0 ? null : UUID.randomUUID(), AS_STRING).bind("Lilly")))
+                // Execute the calls in chunks of 25. Failed chunks are split until the failing calls are found.
+                .isolated(25);
+
+        // The failing calls are reported with their index
+        Assertions.assertEquals(10, result.failures().size());
+        Assertions.assertEquals(20, result.failures().get(2).index());
+        // All other calls were written
+        Assertions.assertEquals(90, result.rows());
+    }
+
+    @Test
+    public void exampleStreamBatch() {
+        // The rows are pulled lazily from the stream and written in jdbc batches of 25 rows
+        ManipulationBatchResult<ManipulationResult> result = query.query("INSERT INTO users(uuid, name) VALUES(:uuid::uuid,?)")
+                .batch(IntStream.range(0, 100).mapToObj(i -> "Lilly " + i),
+                        (name, call) -> call.bind("uuid", UUID.randomUUID(), AS_STRING).bind(name),
+                        25);
+
+        // One result per flushed batch
+        Assertions.assertEquals(4, result.results().size());
+        Assertions.assertEquals(100, result.rows());
+    }
+
+    @Test
+    public void exampleAdaptiveBatchSize() {
+        // Every query gets its own batch size between 10 and 5000 rows
+        BatchSizeController controller = BatchSizeController.adaptivePerQuery(10, 5000);
+        QueryConfiguration adaptive = query.edit().setBatchSizeController(controller).build();
+
+        ManipulationBatchResult<ManipulationResult> result = adaptive.query("INSERT INTO users(uuid, name) VALUES(:uuid::uuid,?)")
+                .batch(IntStream.range(0, 1000).mapToObj(i -> "Lilly " + i),
+                        (name, call) -> call.bind("uuid", UUID.randomUUID(), AS_STRING).bind(name));
+        Assertions.assertEquals(1000, result.rows());
+
+        // The controller exposes the current size and the observed throughput
+        BatchSizeMetrics metrics = controller.metrics("INSERT INTO users(uuid, name) VALUES(:uuid::uuid,?)");
+        Assertions.assertEquals(1000, metrics.rows());
+        Assertions.assertTrue(metrics.flushes() > 1);
+    }
+
     @Test
     public void exampleGetKeys() {
         // Insert multiple entries at the same time
@@ -0,0 +1,88 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.reading;
+
+import de.chojo.sadu.core.fake.FakeColumn;
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.core.fake.FakeResultSet;
+import de.chojo.sadu.postgresql.databases.PostgreSql;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.query.Query;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiReadImplTest {
+    private final FakeConnection fake = FakeConnection.create();
+    private final List<String> calls = fake.calls();
+
+    private QueryConfiguration configuration() {
+        return new QueryConfigurationBuilder(fake.dataSource()).setDatabase(PostgreSql.get()).setExceptionHandler(e -> {
+        }).build();
+    }
+
+    @Test
+    void queriesAreCombined() {
+        fake.results(FakeResultSet.of(FakeColumn.of("value", Types.INTEGER)).rows(new Object[]{1}, new Object[]{2}));
+        var configuration = configuration();
+        var values = configuration.query("SELECT value FROM values").single().map(row -> row.getInt(1));
+        var count = configuration.query("SELECT count(1) FROM values").single().map(row -> row.getInt(1));
+
+        var result = Query.multi(values, count);
+
+        assertEquals(List.of(1, 2), result.get(values));
+        assertEquals(List.of(), result.get(count));
+        assertEquals(List.of("setAutoCommit(false)", "prepareStatement(SELECT value FROM values;\nSELECT count(1) FROM values)", "execute", "commit"), calls);
+    }
+
+    @Test
+    void disabledMultiStatementsReadSeparately() {
+        fake.results(FakeResultSet.of(FakeColumn.of("value", Types.INTEGER)).rows(new Object[]{1}));
+        var configuration = configuration().edit().setMultiStatements(false).setExecutor(Runnable::run).build();
+        var values = configuration.query("SELECT value FROM values").single().map(row -> row.getInt(1));
+        var count = configuration.query("SELECT count(1) FROM values").single().map(row -> row.getInt(1));
+
+        var result = Query.multi(values, count);
+
+        assertEquals(List.of(1), result.get(values));
+        assertEquals(List.of(1), result.get(count));
+        assertEquals(List.of("executeQuery", "executeQuery"), calls.stream().filter(call -> call.startsWith("execute")).toList());
+    }
+
+    @Test
+    void connectedReadersAreNotCombinedWithOthers() {
+        fake.results(FakeResultSet.of(FakeColumn.of("value", Types.INTEGER)).rows(new Object[]{1}));
+        var configuration = configuration().edit().setExecutor(Runnable::run).build();
+        var values = configuration.withConnection(fake.connection()).query("SELECT value FROM values").single().map(row -> row.getInt(1));
+        var count = configuration.query("SELECT count(1) FROM values").single().map(row -> row.getInt(1));
+
+        var result = Query.multi(values, count);
+
+        assertEquals(List.of(1), result.get(values));
+        assertEquals(List.of(1), result.get(count));
+        assertEquals(List.of("executeQuery", "executeQuery"), calls.stream().filter(call -> call.startsWith("execute")).toList());
+    }
+
+    @Test
+    void failedCombinedQueryIsNotRepeated() {
+        // Without results the combined statement fails
+        var configuration = configuration();
+        var values = configuration.query("SELECT value FROM values").single().map(row -> row.getInt(1));
+        var count = configuration.query("SELECT count(1) FROM values").single().map(row -> row.getInt(1));
+
+        var result = Query.multi(values, count);
+
+        assertTrue(result.get(values).isEmpty());
+        assertTrue(result.get(count).isEmpty());
+        assertEquals(List.of("execute"), calls.stream().filter(call -> call.startsWith("execute")).toList());
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.reading;
+
+import de.chojo.sadu.core.fake.FakeColumn;
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.core.fake.FakeResultSet;
+import de.chojo.sadu.mapper.MapperConfig;
+import de.chojo.sadu.mapper.rowmapper.RowMapping;
+import de.chojo.sadu.postgresql.databases.PostgreSql;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.execution.reading.ResultLimit;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import de.chojo.sadu.queries.exception.ResultLimitExceededException;
+import de.chojo.sadu.queries.exception.WrappedQueryExecutionException;
+import de.chojo.sadu.queries.execution.writing.CalledSingletonQueryImpl;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReaderImplTest {
+    // A single integer column named value, containing the values 1 to 5
+    private final FakeResultSet values = FakeResultSet.of(FakeColumn.of("value", Types.INTEGER))
+            .rows(5, row -> new Object[]{row + 1});
+    private final FakeConnection fake = FakeConnection.create().results(values);
+    private final List<String> calls = fake.calls();
+
+    private QueryConfigurationBuilder configuration() {
+        return new QueryConfigurationBuilder(fake.dataSource()).setThrowExceptions(true);
+    }
+
+    /**
+     * Creates a reader mapping the given amount of rows on four threads.
+     */
+    private <V> ReaderImpl<V> parallelReader(int rows, RowMapping<V> mapping) {
+        return parallelReader(configuration(), rows, mapping);
+    }
+
+    private <V> ReaderImpl<V> parallelReader(QueryConfigurationBuilder builder, int rows, RowMapping<V> mapping) {
+        fake.results(FakeResultSet.of(FakeColumn.of("value", Types.INTEGER)).rows(rows, row -> new Object[]{row + 1}));
+        var query = (CalledSingletonQueryImpl) builder.build().query("SELECT value FROM values").single();
+        var config = new MapperConfig().parallelism(4);
+        return new MappedQuery<>(query, mapping) {
+            @Override
+            protected MapperConfig mapperConfig() {
+                return config;
+            }
+        };
+    }
+
+    private long nextCalls() {
+        return fake.lastStatement().executed().nextCalls();
+    }
+
+    @Test
+    void streamMapsRowsLazily() {
+        List<Integer> values = configuration().setFetchSize(100).build()
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1))
+                .stream(stream -> stream.limit(2).toList());
+
+        assertEquals(List.of(1, 2), values);
+        assertEquals(2, nextCalls());
+        assertTrue(fake.lastStatement().forwardOnly());
+        assertTrue(calls.contains("setFetchSize(100)"));
+    }
+
+    @Test
+    void connectedPostgresReadsInsideTransaction() {
+        var values = new ArrayList<Integer>();
+        configuration().setDatabase(PostgreSql.get()).build()
+                .withConnection(fake.connection())
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1))
+                .forEach(values::add);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), values);
+        assertEquals("setAutoCommit(false)", calls.get(0));
+        assertEquals(List.of("commit", "setAutoCommit(true)"), calls.subList(calls.size() - 2, calls.size()));
+    }
+
+    @Test
+    void connectedCursorReadsReuseStatements() {
+        var connected = configuration().build().withConnection(fake.connection());
+        for (var i = 0; i < 2; i++) {
+            connected.query("SELECT value FROM values")
+                    .single()
+                    .map(row -> row.getInt(1))
+                    .all();
+        }
+
+        assertEquals(1, fake.statements().size());
+    }
+
+    @Test
+    void autoCommitIsKeptWithoutDatabase() {
+        configuration().build()
+                .withConnection(fake.connection())
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1))
+                .all();
+
+        assertTrue(calls.stream().noneMatch(call -> call.startsWith("setAutoCommit")));
+    }
+
+    @Test
+    void exceededLimitThrows() {
+        var reader = configuration().setResultLimit(ResultLimit.rows(3)).build()
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1));
+
+        var exception = assertThrows(ResultLimitExceededException.class, reader::all);
+        assertEquals(4, exception.rows());
+        assertTrue(calls.contains("setMaxRows(4)"));
+        // The statement produced all rows allowed by max rows already. Closing the result set is enough.
+        assertFalse(calls.contains("cancel"));
+        assertTrue(fake.lastStatement().executed().closed());
+    }
+
+    @Test
+    void exceededByteLimitCancels() {
+        var reader = configuration().setResultLimit(ResultLimit.bytes(1)).build()
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1));
+
+        assertThrows(ResultLimitExceededException.class, reader::all);
+        assertTrue(calls.contains("cancel"));
+        assertTrue(fake.lastStatement().executed().closed());
+    }
+
+    @Test
+    void exceededLimitTruncates() {
+        var result = configuration().build()
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1))
+                .limit(ResultLimit.rows(3).truncating())
+                .allResults();
+
+        assertEquals(List.of(1, 2, 3), result.result());
+        assertTrue(result.truncated());
+    }
+
+    @Test
+    void exceededLimitTruncatesDetached() {
+        var result = configuration().build()
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1))
+                .detached()
+                .limit(ResultLimit.rows(2).truncating())
+                .allResults();
+
+        assertEquals(List.of(1, 2), result.result());
+        assertTrue(result.truncated());
+        assertEquals(3, nextCalls());
+    }
+
+    @Test
+    void columnarReadsWithinLimit() {
+        var result = configuration().setResultLimit(ResultLimit.rows(3).truncating()).build()
+                .query("SELECT value FROM values")
+                .single()
+                .columnar();
+
+        assertEquals(3, result.size());
+        assertTrue(result.truncated());
+        assertEquals(6.0, result.sum(result.findColumn("value")));
+        assertTrue(fake.lastStatement().forwardOnly());
+    }
+
+    @Test
+    void readLongsWithoutMapper() {
+        long[] values = configuration().build()
+                .query("SELECT value FROM values")
+                .single()
+                .readLongs();
+
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5}, values);
+        assertTrue(fake.lastStatement().forwardOnly());
+    }
+
+    @Test
+    void readIntsWithinLimit() {
+        int[] values = configuration().setResultLimit(ResultLimit.rows(2).truncating()).build()
+                .query("SELECT value FROM values")
+                .single()
+                .readInts();
+
+        assertArrayEquals(new int[]{1, 2}, values);
+    }
+
+    @Test
+    void resultWithinLimitIsComplete() {
+        var result = configuration().setResultLimit(ResultLimit.rows(5)).build()
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1))
+                .allResults();
+
+        assertEquals(5, result.result().size());
+        assertFalse(result.truncated());
+        assertFalse(calls.contains("cancel"));
+    }
+
+    @Test
+    void parallelMappingKeepsOrder() {
+        var caller = Thread.currentThread();
+        var threads = ConcurrentHashMap.<Thread>newKeySet();
+        List<Integer> values = parallelReader(300, row -> {
+            threads.add(Thread.currentThread());
+            return row.getInt(1);
+        }).allParallel();
+
+        assertEquals(IntStream.rangeClosed(1, 300).boxed().toList(), values);
+        assertFalse(threads.contains(caller));
+    }
+
+    @Test
+    void parallelMappingUsesConfiguredExecutor() {
+        var executed = new AtomicInteger();
+        Executor executor = task -> {
+            executed.incrementAndGet();
+            task.run();
+        };
+        List<Integer> values = parallelReader(configuration().setExecutor(executor), 300, row -> row.getInt(1)).allParallel();
+
+        assertEquals(300, values.size());
+        assertEquals(4, executed.get());
+    }
+
+    @Test
+    void parallelismOnlyAppliesToOneCall() {
+        fake.results(FakeResultSet.of(FakeColumn.of("value", Types.INTEGER)).rows(300, row -> new Object[]{row + 1}));
+        var caller = Thread.currentThread();
+        var threads = ConcurrentHashMap.<Thread>newKeySet();
+        var reader = configuration().build()
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> {
+                    threads.add(Thread.currentThread());
+                    return row.getInt(1);
+                });
+        reader.allParallel();
+        threads.clear();
+
+        assertEquals(300, reader.all().size());
+        assertEquals(Set.of(caller), threads);
+    }
+
+    @Test
+    void parallelMappingPropagatesFailure() {
+        var reader = parallelReader(300, row -> {
+            if (row.getInt(1) == 200) throw new SQLException("Broken row");
+            return row.getInt(1);
+        });
+
+        var exception = assertThrows(WrappedQueryExecutionException.class, reader::allParallel);
+        assertEquals("Broken row", exception.getCause().getMessage());
+    }
+
+    @Test
+    void parallelMappingPropagatesRuntimeFailure() {
+        var reader = parallelReader(300, row -> {
+            if (row.getInt(1) == 250) throw new IllegalStateException("Broken row");
+            return row.getInt(1);
+        });
+
+        assertThrows(IllegalStateException.class, reader::allParallel);
+    }
+
+    @Test
+    void keysetPagesWithoutLimitTokenKeepQuery() {
+        var pages = configuration().build()
+                .query("SELECT value FROM values WHERE value > :after ORDER BY value FOR UPDATE")
+                .single(Call.of().bind("after", 0))
+                .map(row -> row.getInt(1))
+                .keysetPages(10, value -> value)
+                .toList();
+
+        assertEquals(List.of(List.of(1, 2, 3, 4, 5)), pages);
+        assertEquals("SELECT value FROM values WHERE value > ? ORDER BY value FOR UPDATE", fake.lastStatement().sql());
+        assertTrue(calls.contains("setMaxRows(10)"));
+    }
+
+    @Test
+    void keysetPagesBindLimitToken() {
+        var pages = configuration().build()
+                .query("SELECT value FROM values WHERE value > :after ORDER BY value FETCH FIRST :limit ROWS ONLY")
+                .single(Call.of().bind("after", 0))
+                .map(row -> row.getInt(1))
+                .keysetPages(10, value -> value)
+                .toList();
+
+        assertEquals(List.of(List.of(1, 2, 3, 4, 5)), pages);
+        var statement = fake.lastStatement();
+        assertEquals("SELECT value FROM values WHERE value > ? ORDER BY value FETCH FIRST ? ROWS ONLY", statement.sql());
+        assertEquals("setInt:10", statement.parameters().get(2));
+    }
+
+    @Test
+    void cursorFailureIsHandled() {
+        values.failing(new SQLException("Connection lost"));
+        var reader = configuration().build()
+                .query("SELECT value FROM values")
+                .single()
+                .map(row -> row.getInt(1));
+
+        var exception = assertThrows(WrappedQueryExecutionException.class, () -> reader.stream(stream -> stream.toList()));
+        assertTrue(exception.getCause() instanceof SQLException);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.reading;
+
+import de.chojo.sadu.core.fake.FakeColumn;
+import de.chojo.sadu.core.fake.FakeResultSet;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowSizeEstimatorTest {
+    /**
+     * Creates a result set with a text value of {@code text} characters and a binary value of {@code binary} bytes in every row.
+     * Text and binary columns are unbounded.
+     */
+    private static FakeResultSet resultSet(int text, int binary) {
+        return FakeResultSet.of(FakeColumn.of("id", Types.BIGINT), FakeColumn.of("name", Types.VARCHAR), FakeColumn.of("data", Types.BINARY))
+                .rows(Integer.MAX_VALUE, row -> new Object[]{(long) row, "a".repeat(text), new byte[binary]});
+    }
+
+    private static ResultSetMetaData meta() {
+        return resultSet(0, 0).metaData();
+    }
+
+    @Test
+    void estimateUsesColumnTypes() throws SQLException {
+        var estimator = RowSizeEstimator.of(meta());
+        // row overhead + bigint + two unbounded columns, each with the value overhead
+        assertEquals(24 + 8 + 16 + 2 * (64 + 16), estimator.rowBytes());
+    }
+
+    @Test
+    void samplesReplaceVariableEstimate() throws SQLException {
+        var estimator = RowSizeEstimator.of(meta());
+        var resultSet = resultSet(1000, 3000).resultSet();
+        resultSet.next();
+        estimator.sample(resultSet);
+        estimator.sample(resultSet);
+        assertEquals(2, estimator.sampledRows());
+        assertEquals(24 + 8 + 16 + 1000 + 16 + 3000 + 16, estimator.rowBytes());
+        assertEquals(1, estimator.rows(10));
+    }
+
+    @Test
+    void fetchSizeFollowsBudget() throws SQLException {
+        var fake = resultSet(4000, 0);
+        var resultSet = fake.resultSet();
+        var fetchSize = AdaptiveFetchSize.start(resultSet, 1024 * 1024);
+        for (var i = 0; i < AdaptiveFetchSize.SAMPLE_ROWS * 2; i++) {
+            resultSet.next();
+            fetchSize.row();
+        }
+        var fetchSizes = fake.fetchSizes();
+
+        // One adjustment based on the metadata and one after sampling
+        assertEquals(2, fetchSizes.size());
+        assertEquals(1024 * 1024 / 208, (int) fetchSizes.get(0));
+        assertEquals(1024 * 1024 / (24 + 8 + 16 + 4000 + 16 + 16), (int) fetchSizes.get(1));
+        assertTrue(fetchSizes.get(1) < fetchSizes.get(0));
+    }
+
+    @Test
+    void disabledWithoutBudget() throws SQLException {
+        var fake = resultSet(10, 10);
+        var resultSet = fake.resultSet();
+        var fetchSize = AdaptiveFetchSize.start(resultSet, 0);
+        resultSet.next();
+        fetchSize.row();
+        assertTrue(fake.fetchSizes().isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.writing;
+
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveBatchSizeControllerTest {
+    private static final String SQL = "INSERT INTO events VALUES(?)";
+    private static final String OTHER = "INSERT INTO documents VALUES(?)";
+
+    @Test
+    void growsWhileThroughputHolds() {
+        var controller = BatchSizeController.adaptive(100, 2100);
+        assertEquals(100, controller.batchSize(SQL));
+        // 1000 rows per second
+        record(controller, SQL, 1.0);
+        assertEquals(200, controller.batchSize(SQL));
+        record(controller, SQL, 1.0);
+        assertEquals(300, controller.batchSize(SQL));
+    }
+
+    @Test
+    void shrinksWhenThroughputDrops() {
+        var controller = BatchSizeController.adaptive(100, 2100);
+        for (var i = 0; i < 5; i++) record(controller, SQL, 1.0);
+        assertEquals(600, controller.batchSize(SQL));
+        record(controller, SQL, 0.5);
+        assertEquals(300, controller.batchSize(SQL));
+    }
+
+    @Test
+    void staysWithinBounds() {
+        var controller = BatchSizeController.adaptive(10, 50);
+        for (var i = 0; i < 100; i++) record(controller, SQL, 1.0);
+        assertEquals(50, controller.batchSize(SQL));
+        // Every drop halves the size until min is reached
+        for (var i = 0; i < 3; i++) record(controller, SQL, 0.5 / (i + 1));
+        assertEquals(10, controller.batchSize(SQL));
+        assertThrows(IllegalArgumentException.class, () -> BatchSizeController.adaptive(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> BatchSizeController.adaptive(10, 5));
+    }
+
+    @Test
+    void partialFlushOnlyUpdatesMetrics() {
+        var controller = BatchSizeController.adaptive(100, 2100);
+        controller.record(SQL, 10, 1_000_000);
+        var metrics = controller.metrics(SQL);
+        assertEquals(100, metrics.batchSize());
+        assertEquals(1, metrics.flushes());
+        assertEquals(10, metrics.rows());
+        assertTrue(metrics.rowsPerSecond() > 0);
+    }
+
+    @Test
+    void perQueryTracksQueriesSeparately() {
+        var controller = BatchSizeController.adaptivePerQuery(100, 2100);
+        record(controller, SQL, 1.0);
+        assertEquals(200, controller.batchSize(SQL));
+        assertEquals(100, controller.batchSize(OTHER));
+
+        var shared = BatchSizeController.adaptive(100, 2100);
+        record(shared, SQL, 1.0);
+        assertEquals(200, shared.batchSize(OTHER));
+    }
+
+    /**
+     * Records a full flush with the given throughput in rows per millisecond.
+     */
+    private static void record(BatchSizeController controller, String sql, double rowsPerMilli) {
+        var rows = controller.batchSize(sql);
+        controller.record(sql, rows, (long) (rows / rowsPerMilli * 1_000_000));
+    }
+}
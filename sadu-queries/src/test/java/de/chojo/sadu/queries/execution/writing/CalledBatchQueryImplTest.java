@@ -0,0 +1,112 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.writing;
+
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeController;
+import de.chojo.sadu.queries.api.execution.writing.BatchSizeMetrics;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalledBatchQueryImplTest {
+    private final FakeConnection fake = FakeConnection.create();
+    private final List<Runnable> tasks = new ArrayList<>();
+    // Runs the partitions on the calling thread, once they were handed to the executor
+    private final Executor executor = task -> {
+        tasks.add(task);
+        task.run();
+    };
+
+    private final List<Integer> recorded = new ArrayList<>();
+    // Sends chunks of four calls and records the size of every executed chunk
+    private final BatchSizeController controller = new BatchSizeController() {
+        @Override
+        public int batchSize(String sql) {
+            return 4;
+        }
+
+        @Override
+        public void record(String sql, int rows, long nanos) {
+            recorded.add(rows);
+        }
+
+        @Override
+        public BatchSizeMetrics metrics(String sql) {
+            return null;
+        }
+    };
+    private final List<String> calls = fake.calls();
+
+    private QueryConfigurationBuilder configuration() {
+        return new QueryConfigurationBuilder(fake.dataSource()).setThrowExceptions(true).setAtomic(false).setExecutor(executor);
+    }
+
+    @Test
+    void partitionsRunOnConfiguredExecutor() {
+        var result = configuration().setBatchParallelism(3).build()
+                .query("INSERT INTO values(value) VALUES (?)")
+                .batch(IntStream.range(0, 9).mapToObj(value -> Call.of().bind(value)))
+                .insert();
+
+        assertEquals(9, result.results().size());
+        assertEquals(9, result.rows());
+        // The calling thread executes the first partition itself
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    void atomicBatchStaysOnCallingThread() {
+        var result = configuration().setAtomic(true).setBatchParallelism(3).build()
+                .query("INSERT INTO values(value) VALUES (?)")
+                .batch(IntStream.range(0, 9).mapToObj(value -> Call.of().bind(value)))
+                .insert();
+
+        assertEquals(9, result.rows());
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    void failedChunkIsRetriedCallByCall() {
+        fake.failing(parameters -> "setInt:5".equals(parameters.get(1)));
+        var result = configuration().setThrowExceptions(false).setAtomic(true).setBatchSizeController(controller).build()
+                .query("INSERT INTO values(value) VALUES (?)")
+                .batch(IntStream.range(0, 10).mapToObj(value -> Call.of().bind(value)))
+                .insert();
+
+        // Only the failing call is skipped
+        assertEquals(9, result.results().size());
+        assertTrue(calls.contains("rollback(savepoint)"));
+        assertEquals(4, calls.stream().filter("executeUpdate"::equals).count());
+        // The failed chunk is not recorded
+        assertEquals(List.of(4, 2), recorded);
+    }
+
+    @Test
+    void failedChunkKeepsExecutedCallsWithoutTransaction() {
+        fake.failing(parameters -> "setInt:5".equals(parameters.get(1)));
+        var result = configuration().setThrowExceptions(false).setBatchSizeController(controller).build()
+                .withConnection(fake.connection())
+                .query("INSERT INTO values(value) VALUES (?)")
+                .batch(IntStream.range(0, 10).mapToObj(value -> Call.of().bind(value)))
+                .insert();
+
+        assertEquals(9, result.results().size());
+        assertFalse(calls.contains("rollback(savepoint)"));
+        // The call before the failing one was executed by the batch already
+        assertEquals(3, calls.stream().filter("executeUpdate"::equals).count());
+    }
+}
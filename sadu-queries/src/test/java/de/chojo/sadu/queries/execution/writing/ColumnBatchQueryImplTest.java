@@ -0,0 +1,85 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.writing;
+
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.postgresql.databases.PostgreSql;
+import de.chojo.sadu.queries.api.call.ColumnBatch;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import de.chojo.sadu.queries.exception.IllegalQueryParameterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnBatchQueryImplTest {
+    private final FakeConnection fake = FakeConnection.create().updateCount(2);
+    private final List<String> calls = fake.calls();
+
+    private QueryConfigurationBuilder configuration() {
+        return new QueryConfigurationBuilder(fake.dataSource()).setThrowExceptions(true);
+    }
+
+    private ColumnBatch columns() {
+        var nulls = new BitSet();
+        nulls.set(2);
+        return ColumnBatch.create().add(new long[]{1, 2, 3}).add(new double[]{1.0, 2.0, 0}, nulls).chunkSize(2);
+    }
+
+    @Test
+    void rowsAreExecutedInChunks() {
+        var result = configuration().build().query("INSERT INTO values(id, value) VALUES (?, ?)").batchColumns(columns());
+        assertEquals(2, result.results().size());
+        assertEquals(List.of("setAutoCommit(false)", "prepareStatement(INSERT INTO values(id, value) VALUES (?, ?))",
+                "setLong(1)", "setDouble(2)", "addBatch", "setLong(1)", "setDouble(2)", "addBatch", "executeBatch",
+                "setLong(1)", "setNull(2)", "addBatch", "executeBatch", "commit"), calls);
+    }
+
+    @Test
+    void insertIsRewrittenToUnnest() {
+        var result = configuration().setDatabase(PostgreSql.get()).build().query("INSERT INTO values(id, value) VALUES (?, ?) ON CONFLICT DO NOTHING").batchColumns(columns());
+        assertEquals(4, result.rows());
+        assertEquals(List.of("setAutoCommit(false)", "prepareStatement(INSERT INTO values(id, value) SELECT * FROM unnest(?::bigint[], ?::float8[]) ON CONFLICT DO NOTHING)",
+                "createArrayOf(bigint, 2)", "setArray(1)", "createArrayOf(float8, 2)", "setArray(2)", "executeUpdate",
+                "createArrayOf(bigint, 1)", "setArray(1)", "createArrayOf(float8, 1)", "setArray(2)", "executeUpdate", "commit"), calls);
+    }
+
+    @Test
+    void returningIsKeptOnRewrite() {
+        configuration().setDatabase(PostgreSql.get()).build().query("INSERT INTO values(id, value) VALUES (?, ?) RETURNING id;").batchColumns(columns());
+        assertEquals("prepareStatement(INSERT INTO values(id, value) SELECT * FROM unnest(?::bigint[], ?::float8[]) RETURNING id;)", calls.get(1));
+    }
+
+    @Test
+    void multipleTuplesAreNotRewritten() {
+        var columns = ColumnBatch.create().add(new long[]{1, 2}).add(new long[]{3, 4});
+        configuration().setDatabase(PostgreSql.get()).build().query("INSERT INTO values(id, value) VALUES (?), (?)").batchColumns(columns);
+        assertEquals("prepareStatement(INSERT INTO values(id, value) VALUES (?), (?))", calls.get(1));
+        assertEquals("executeBatch", calls.get(calls.size() - 2));
+    }
+
+    @Test
+    void parametersAfterTupleAreNotRewritten() {
+        var columns = ColumnBatch.create().add(new long[]{1, 2}).add(new long[]{3, 4});
+        configuration().setDatabase(PostgreSql.get()).build().query("INSERT INTO values(id) VALUES (?) ON CONFLICT (id) DO UPDATE SET value = ?").batchColumns(columns);
+        assertEquals("prepareStatement(INSERT INTO values(id) VALUES (?) ON CONFLICT (id) DO UPDATE SET value = ?)", calls.get(1));
+    }
+
+    @Test
+    void columnCountMustMatch() {
+        var query = configuration().build().query("INSERT INTO values(id) VALUES (?)");
+        assertThrows(IllegalQueryParameterException.class, () -> query.batchColumns(columns()));
+    }
+
+    @Test
+    void columnsMustHaveSameLength() {
+        assertThrows(IllegalArgumentException.class, () -> ColumnBatch.create().add(new long[2]).add(new int[3]));
+    }
+}
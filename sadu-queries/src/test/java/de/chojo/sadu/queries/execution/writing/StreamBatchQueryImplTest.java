@@ -0,0 +1,57 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.execution.writing;
+
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamBatchQueryImplTest {
+    private final FakeConnection fake = FakeConnection.create().updateCount(1);
+    private final List<String> calls = fake.calls();
+
+    private QueryConfigurationBuilder configuration() {
+        return new QueryConfigurationBuilder(fake.dataSource()).setThrowExceptions(false);
+    }
+
+    @Test
+    void streamIsWrittenInOneTransaction() {
+        var result = configuration().build().query("INSERT INTO values(id) VALUES (?)")
+                .batch(Stream.of(1, 2, 3), (row, call) -> call.bind(row), 2);
+        assertEquals(2, result.results().size());
+        assertEquals(List.of("setAutoCommit(false)", "prepareStatement(INSERT INTO values(id) VALUES (?))",
+                "setInt(1)", "addBatch", "setInt(1)", "addBatch", "executeBatch",
+                "setInt(1)", "addBatch", "executeBatch", "commit"), calls);
+    }
+
+    @Test
+    void flushesAreCommittedInIntervals() {
+        var result = configuration().build().query("INSERT INTO values(id) VALUES (?)")
+                .batch(Stream.of(1, 2, 3), (row, call) -> call.bind(row), 1, 2);
+        assertEquals(3, result.results().size());
+        assertEquals(List.of("setAutoCommit(false)", "prepareStatement(INSERT INTO values(id) VALUES (?))",
+                "setInt(1)", "addBatch", "executeBatch", "setInt(1)", "addBatch", "executeBatch", "commit",
+                "setAutoCommit(false)", "prepareStatement(INSERT INTO values(id) VALUES (?))",
+                "setInt(1)", "addBatch", "executeBatch", "commit"), calls);
+    }
+
+    @Test
+    void failureKeepsCommittedFlushes() {
+        fake.failing(parameters -> "setInt:3".equals(parameters.get(1)));
+        var result = configuration().build().query("INSERT INTO values(id) VALUES (?)")
+                .batch(Stream.of(1, 2, 3, 4), (row, call) -> call.bind(row), 1, 2);
+        assertEquals(2, result.results().size());
+        assertEquals(2, result.rows());
+        assertEquals(1, calls.stream().filter("commit"::equals).count());
+        assertEquals(3, calls.stream().filter("executeBatch"::equals).count());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.limiter;
+
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
+import de.chojo.sadu.queries.api.limiter.LimitAlgorithm;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
+import de.chojo.sadu.queries.exception.QueryRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityConcurrencyLimiterTest {
+
+    @Test
+    void rejectAfterQueueWait() {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                .setFixedLimit(1)
+                .setMaxQueueWait(Duration.ofMillis(20))
+                .build();
+        var permit = limiter.acquire(QueryPriority.HIGH);
+        var exception = assertThrows(QueryRejectedException.class, () -> limiter.acquire(QueryPriority.HIGH));
+        assertEquals(QueryRejectedException.Reason.QUEUE_TIMEOUT, exception.reason());
+        permit.release(false);
+        limiter.acquire(QueryPriority.HIGH).release(false);
+        assertEquals(0, limiter.inflight());
+    }
+
+    @Test
+    void lowPriorityIsShedFirst() {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                .setFixedLimit(4)
+                .setMaxQueueWait(Duration.ZERO)
+                .build();
+        // Low priority may only use half of the limit
+        limiter.acquire(QueryPriority.LOW);
+        limiter.acquire(QueryPriority.LOW);
+        assertThrows(QueryRejectedException.class, () -> limiter.acquire(QueryPriority.LOW));
+        // Higher priorities still get a permit
+        limiter.acquire(QueryPriority.HIGH);
+        limiter.acquire(QueryPriority.CRITICAL);
+        assertEquals(4, limiter.inflight());
+    }
+
+    @Test
+    void higherPriorityIsAdmittedFirst() throws InterruptedException {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                .setFixedLimit(1)
+                .setMaxQueueWait(Duration.ofSeconds(5))
+                .build();
+        var permit = limiter.acquire(QueryPriority.NORMAL);
+        List<QueryPriority> order = new CopyOnWriteArrayList<>();
+        var done = new CountDownLatch(2);
+        for (var priority : List.of(QueryPriority.NORMAL, QueryPriority.CRITICAL)) {
+            new Thread(() -> {
+                var acquired = limiter.acquire(priority);
+                order.add(priority);
+                acquired.release(false);
+                done.countDown();
+            }).start();
+            while (limiter.queued() == 0 || (priority == QueryPriority.CRITICAL && limiter.queued() < 2)) {
+                Thread.onSpinWait();
+            }
+        }
+        permit.release(false);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(QueryPriority.CRITICAL, QueryPriority.NORMAL), order);
+    }
+
+    @Test
+    void lowerPriorityIsAdmittedAfterHigherTimesOut() throws InterruptedException {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                .setFixedLimit(1)
+                .setMaxQueueWait(Duration.ofSeconds(5))
+                .build();
+        var permit = limiter.acquire(QueryPriority.NORMAL);
+        var high = new Thread(() -> assertThrows(QueryRejectedException.class, () -> limiter.acquire(QueryPriority.HIGH, Duration.ofMillis(50))));
+        high.start();
+        while (limiter.queued() == 0) Thread.onSpinWait();
+        var admitted = new CountDownLatch(1);
+        new Thread(() -> {
+            limiter.acquire(QueryPriority.NORMAL).release(false);
+            admitted.countDown();
+        }).start();
+        high.join();
+        permit.release(false);
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    void limitIncreaseAdmitsWaiters() throws InterruptedException {
+        // The limit grows from 1 to 4 with the first sample
+        var limit = new LimitAlgorithm() {
+            private volatile int current = 1;
+
+            @Override
+            public int limit() {
+                return current;
+            }
+
+            @Override
+            public void onSample(long rttNanos, int inflight, boolean dropped) {
+                current = 4;
+            }
+        };
+        var limiter = new PriorityConcurrencyLimiter(limit, Duration.ofSeconds(5));
+        var permit = limiter.acquire(QueryPriority.HIGH);
+        var admitted = new CountDownLatch(3);
+        var held = new CopyOnWriteArrayList<ConcurrencyLimiter.Permit>();
+        for (var i = 0; i < 3; i++) {
+            new Thread(() -> {
+                held.add(limiter.acquire(QueryPriority.HIGH));
+                admitted.countDown();
+            }).start();
+        }
+        while (limiter.queued() < 3) Thread.onSpinWait();
+        permit.release(false);
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        assertEquals(3, limiter.inflight());
+        held.forEach(p -> p.release(false));
+    }
+
+    @Test
+    void permitIsReleasedOnce() {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.builder().setFixedLimit(2).build();
+        var permit = limiter.acquire(QueryPriority.HIGH);
+        limiter.acquire(QueryPriority.HIGH);
+        permit.release(false);
+        permit.release(false);
+        assertEquals(1, limiter.inflight());
+    }
+
+    @Test
+    void aimdLimitAdapts() {
+        var limit = new AimdLimit(10, 2, 20, 0.5, Duration.ofMillis(100));
+        limit.onSample(Duration.ofMillis(1).toNanos(), 10, false);
+        assertEquals(11, limit.limit());
+        // Idle limiters do not grow
+        limit.onSample(Duration.ofMillis(1).toNanos(), 1, false);
+        assertEquals(11, limit.limit());
+        limit.onSample(Duration.ofMillis(500).toNanos(), 11, false);
+        assertEquals(5, limit.limit());
+        limit.onSample(Duration.ofMillis(1).toNanos(), 5, true);
+        assertEquals(2, limit.limit());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.query;
+
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.postgresql.databases.PostgreSql;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.query.BulkUpsert;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkUpsertImplTest {
+    private final FakeConnection fake = FakeConnection.create();
+
+    private QueryConfiguration configuration() {
+        return new QueryConfigurationBuilder(fake.dataSource()).setThrowExceptions(true).setDatabase(PostgreSql.get()).build();
+    }
+
+    private BulkUpsert upsert() {
+        return BulkUpsert.into("birthdays").key("user_id").columns("birth_date").chunkSize(2);
+    }
+
+    @Test
+    void duplicateKeysOfChunkAreRemoved() {
+        var rows = Stream.of(new int[]{1, 10}, new int[]{1, 11}, new int[]{2, 20}, new int[]{3, 30});
+        var result = upsert().execute(configuration(), rows, row -> row[0], (row, call) -> call.bind(row[0]).bind(row[1]));
+
+        assertEquals(2, result.results().size());
+        var statements = fake.statements();
+        assertEquals("INSERT INTO birthdays(user_id, birth_date) VALUES (?, ?), (?, ?) ON CONFLICT (user_id) DO UPDATE SET birth_date = excluded.birth_date",
+                statements.get(0).sql());
+        // The last row of a key is written
+        assertEquals(Map.of(1, "setInt:1", 2, "setInt:11", 3, "setInt:2", 4, "setInt:20"), statements.get(0).parameters());
+        assertEquals(Map.of(1, "setInt:3", 2, "setInt:30"), statements.get(1).parameters());
+    }
+
+    @Test
+    void rowsAreKeptWithoutKey() {
+        var rows = Stream.of(new int[]{1, 10}, new int[]{1, 11}, new int[]{2, 20});
+        var result = upsert().execute(configuration(), rows, (row, call) -> call.bind(row[0]).bind(row[1]));
+
+        assertEquals(2, result.results().size());
+        assertEquals(Map.of(1, "setInt:1", 2, "setInt:10", 3, "setInt:1", 4, "setInt:11"), fake.statements().get(0).parameters());
+    }
+
+    @Test
+    void emptyInputExecutesNothing() {
+        var result = upsert().execute(configuration(), Stream.<int[]>empty(), row -> row[0], (row, call) -> call.bind(row[0]).bind(row[1]));
+
+        assertTrue(result.results().isEmpty());
+        assertEquals(0, result.rows());
+        assertEquals(List.of(), fake.calls());
+    }
+}
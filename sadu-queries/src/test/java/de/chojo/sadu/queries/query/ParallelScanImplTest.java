@@ -0,0 +1,170 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.query;
+
+import de.chojo.sadu.core.fake.FakeColumn;
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.core.fake.FakeResultSet;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.query.Deadline;
+import de.chojo.sadu.queries.api.query.ParallelScan;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import de.chojo.sadu.queries.query.ParallelScanImpl.MergedPartitions;
+import de.chojo.sadu.queries.query.ParallelScanImpl.Range;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelScanImplTest {
+    /**
+     * Creates a configuration for a table with the keys 1 and 2. Every partition reads the single row 1.
+     * Partitions are read on new threads.
+     */
+    private static QueryConfiguration configuration() {
+        var fake = FakeConnection.create().results(FakeResultSet.of(FakeColumn.of("min", Types.BIGINT), FakeColumn.of("max", Types.BIGINT))
+                .rows(new Object[]{1L, 2L}));
+        return new QueryConfigurationBuilder(fake.dataSource())
+                .setThrowExceptions(true)
+                .setExecutor(task -> new Thread(task).start())
+                .build();
+    }
+
+    @Test
+    void splitCoversAllKeys() {
+        var ranges = ParallelScanImpl.split(new Range(1, 10), 3);
+        assertEquals(List.of(new Range(1, 4), new Range(5, 8), new Range(9, 10)), ranges);
+    }
+
+    @Test
+    void splitCreatesNoEmptyRanges() {
+        var ranges = ParallelScanImpl.split(new Range(5, 6), 4);
+        assertEquals(List.of(new Range(5, 5), new Range(6, 6)), ranges);
+    }
+
+    @Test
+    void splitEmptyTable() {
+        assertTrue(ParallelScanImpl.split(new Range(0, -1), 4).isEmpty());
+    }
+
+    @Test
+    void splitWholeLongRange() {
+        var ranges = ParallelScanImpl.split(new Range(Long.MIN_VALUE, Long.MAX_VALUE), 2);
+        assertEquals(List.of(new Range(Long.MIN_VALUE, -1), new Range(0, Long.MAX_VALUE)), ranges);
+    }
+
+    @Test
+    void forEachAppliesDeadlineToPartitions() {
+        var deadline = Instant.now().plus(Duration.ofMinutes(1));
+        Map<Integer, Instant> seen = new ConcurrentHashMap<>();
+        Deadline.run(deadline, () -> ParallelScan.over("values", "id")
+                .partitions(2)
+                .forEach(configuration(), row -> Deadline.current().orElseThrow(), partition -> value -> seen.put(partition, value)));
+
+        assertEquals(Map.of(0, deadline, 1, deadline), seen);
+    }
+
+    @Test
+    void streamAppliesDeadlineToPartitions() {
+        var deadline = Instant.now().plus(Duration.ofMinutes(1));
+        var seen = Deadline.call(deadline, () -> {
+            try (var stream = ParallelScan.over("values", "id")
+                    .partitions(2)
+                    .stream(configuration(), row -> Deadline.current().orElseThrow())) {
+                return stream.toList();
+            }
+        });
+
+        assertEquals(List.of(deadline, deadline), seen);
+    }
+
+    @Test
+    void mergedPartitionsEndAfterAllPartitions() throws InterruptedException {
+        var merged = new MergedPartitions<Integer>(2);
+        var channel = merged.channel();
+        channel.read(() -> {
+            channel.put(1);
+            channel.put(2);
+        });
+        // The second partition ends after the first one was consumed
+        var second = new Thread(() -> {
+            sleep();
+            channel.read(() -> channel.put(3));
+        });
+        second.start();
+
+        var values = new ArrayList<Integer>();
+        merged.forEachRemaining(values::add);
+        second.join();
+
+        assertEquals(List.of(1, 2, 3), values);
+        assertFalse(merged.hasNext());
+    }
+
+    @Test
+    void mergedPartitionsPropagateFailure() {
+        var merged = new MergedPartitions<Integer>(2);
+        var channel = merged.channel();
+        var failure = new IllegalStateException("Partition failed");
+        channel.read(() -> {
+            channel.put(1);
+            throw failure;
+        });
+
+        assertEquals(Integer.valueOf(1), merged.next());
+        assertSame(failure, assertThrows(IllegalStateException.class, merged::hasNext));
+        assertTrue(channel.closed());
+    }
+
+    @Test
+    void closeCancelsPartitions() throws InterruptedException {
+        var merged = new MergedPartitions<Integer>(2);
+        var channel = merged.channel();
+        var cancelled = new AtomicReference<RuntimeException>();
+        // Produces more rows than the channel buffers
+        var partition = new Thread(() -> {
+            try {
+                for (var i = 0; ; i++) channel.put(i);
+            } catch (RuntimeException e) {
+                cancelled.set(e);
+            }
+        });
+        partition.start();
+
+        assertEquals(Integer.valueOf(0), merged.next());
+        merged.close();
+        partition.join(5000);
+
+        assertFalse(partition.isAlive());
+        assertTrue(cancelled.get() instanceof CancellationException);
+        // Pending partitions are skipped
+        channel.read(() -> {
+            throw new AssertionError("Partition of a closed stream was read");
+        });
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.results.reading;
+
+import de.chojo.sadu.core.fake.FakeColumn;
+import de.chojo.sadu.core.fake.FakeResultSet;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarResultImplTest {
+    private static final String[] LABELS = {"id", "amount", "region", "big"};
+
+    private static ColumnarResultImpl read(Object[][] rows) throws SQLException {
+        var resultSet = FakeResultSet.of(
+                        FakeColumn.of(LABELS[0], Types.INTEGER),
+                        FakeColumn.of(LABELS[1], Types.DOUBLE),
+                        FakeColumn.of(LABELS[2], Types.VARCHAR),
+                        FakeColumn.of(LABELS[3], Types.INTEGER))
+                .rows(rows)
+                .resultSet();
+        var columns = ColumnVector.of(resultSet.getMetaData());
+        var count = 0;
+        while (resultSet.next()) {
+            for (var i = 0; i < columns.length; i++) columns[i] = columns[i].read(resultSet, i + 1, count);
+            count++;
+        }
+        return new ColumnarResultImpl(() -> null, LABELS, columns, count, false);
+    }
+
+    @Test
+    void readsTypedValues() throws SQLException {
+        var result = read(new Object[][]{
+                {1, 2.5, "eu", 1},
+                {2, null, null, 2},
+                {3, 4.5, "us", 3}
+        });
+
+        assertEquals(3, result.size());
+        assertEquals(4, result.columnCount());
+        assertEquals(3, result.getInt(2, result.findColumn("ID")));
+        assertEquals(4.5, result.getDouble(2, 2));
+        assertEquals("us", result.getString(2, 3));
+        assertTrue(result.isNull(1, 2));
+        assertEquals(0.0, result.getDouble(1, 2));
+        assertNull(result.getObject(1, 3));
+        assertArrayEquals(new int[]{1, 2, 3}, result.ints(1));
+        assertArrayEquals(new double[]{2.5, 0.0, 4.5}, result.doubles(2));
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() throws SQLException {
+        var rows = new Object[100][];
+        for (var i = 0; i < rows.length; i++) rows[i] = new Object[]{i, (double) i, "r" + i % 3, i};
+        var result = read(rows);
+
+        assertEquals(100, result.size());
+        assertEquals(99, result.getLong(99, 1));
+        assertEquals(4950.0, result.sum(1));
+    }
+
+    @Test
+    void encodesTextWithDictionary() throws SQLException {
+        var result = read(new Object[][]{
+                {1, 1.0, "eu", 1},
+                {2, 2.0, "us", 2},
+                {3, 3.0, "eu", 3},
+                {4, 4.0, null, 4}
+        });
+
+        assertArrayEquals(new String[]{"eu", "us"}, result.dictionary(3));
+        assertArrayEquals(new int[]{0, 1, 0, -1}, result.codes(3));
+        assertThrows(IllegalStateException.class, () -> result.dictionary(1));
+    }
+
+    @Test
+    void widensIntegerColumnsHoldingLongs() throws SQLException {
+        var result = read(new Object[][]{
+                {1, 1.0, "eu", 1},
+                {2, 2.0, "eu", 5_000_000_000L}
+        });
+
+        assertArrayEquals(new long[]{1, 5_000_000_000L}, result.longs(4));
+        assertThrows(ArithmeticException.class, () -> result.getInt(1, 4));
+    }
+
+    @Test
+    void sumLongIsExact() throws SQLException {
+        var result = read(new Object[][]{
+                {1, 1.0, "eu", (1L << 53) + 1},
+                {2, 2.0, "eu", null},
+                {3, 3.0, "eu", 2L}
+        });
+
+        assertEquals((1L << 53) + 3, result.sumLong(4));
+        assertEquals(6L, result.sumLong(1));
+        // Odd values above 2^53 can not be represented as double. The approximate sum loses the 1.
+        assertEquals((double) (1L << 53) + 2, result.sum(4));
+        assertThrows(IllegalStateException.class, () -> result.sumLong(2));
+    }
+
+    @Test
+    void sumLongOverflowThrows() throws SQLException {
+        var result = read(new Object[][]{
+                {1, 1.0, "eu", Long.MAX_VALUE},
+                {2, 2.0, "eu", 1L}
+        });
+
+        assertThrows(ArithmeticException.class, () -> result.sumLong(4));
+    }
+
+    @Test
+    void aggregatesIgnoreNulls() throws SQLException {
+        var result = read(new Object[][]{
+                {1, 2.0, "eu", 1},
+                {2, null, "eu", 2},
+                {3, 6.0, "eu", 3}
+        });
+
+        assertEquals(2, result.count(2));
+        assertEquals(8.0, result.sum(2));
+        assertEquals(2.0, result.min(2).getAsDouble());
+        assertEquals(6.0, result.max(2).getAsDouble());
+        assertEquals(4.0, result.average(2).getAsDouble());
+        assertEquals(2.0, result.average(1).getAsDouble());
+        assertFalse(read(new Object[0][]).min(1).isPresent());
+    }
+}
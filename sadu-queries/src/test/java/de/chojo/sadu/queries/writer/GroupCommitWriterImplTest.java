@@ -0,0 +1,141 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.writer;
+
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.core.fake.FakeStatement;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.configuration.QueryConfiguration;
+import de.chojo.sadu.queries.api.limiter.ConcurrencyLimiter;
+import de.chojo.sadu.queries.api.limiter.QueryPriority;
+import de.chojo.sadu.queries.api.results.writing.manipulation.ManipulationResult;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import de.chojo.sadu.queries.exception.QueryRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupCommitWriterImplTest {
+    private final FakeConnection fake = FakeConnection.create();
+    private final List<QueryPriority> priorities = new CopyOnWriteArrayList<>();
+    // Grants every permit and records its priority
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter() {
+        @Override
+        public Permit acquire(QueryPriority priority, Duration maxWait) {
+            priorities.add(priority);
+            return dropped -> {
+            };
+        }
+
+        @Override
+        public int limit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public int inflight() {
+            return 0;
+        }
+
+        @Override
+        public int queued() {
+            return 0;
+        }
+    };
+
+    private QueryConfiguration configuration() {
+        return new QueryConfigurationBuilder(fake.dataSource()).setConcurrencyLimiter(limiter).build();
+    }
+
+    @Test
+    void submitRacingCloseIsNeverLost() throws InterruptedException {
+        var configuration = configuration();
+        var writer = configuration.groupCommit().setMaxDelay(Duration.ofMillis(1)).build();
+        var futures = new CopyOnWriteArrayList<CompletableFuture<ManipulationResult>>();
+        var started = new CountDownLatch(4);
+        var threads = new ArrayList<Thread>();
+        for (var i = 0; i < 4; i++) {
+            var thread = new Thread(() -> {
+                started.countDown();
+                for (var value = 0; value < 500; value++) {
+                    futures.add(writer.submit(configuration.query("INSERT INTO values(value) VALUES (?)"), Call.of().bind(value)));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        started.await();
+        writer.close();
+        for (var thread : threads) thread.join();
+
+        assertEquals(2000, futures.size());
+        // Writes are either committed before close returns or rejected on submit
+        assertTrue(futures.stream().allMatch(CompletableFuture::isDone));
+    }
+
+    @Test
+    void expiredWriteIsRejected() {
+        var configuration = configuration();
+        try (var writer = configuration.groupCommit().build()) {
+            var expired = writer.submit(configuration.query("INSERT INTO values(value) VALUES (?)").withDeadline(Instant.now().minusSeconds(1)), Call.of().bind(1));
+            var exception = assertThrows(ExecutionException.class, () -> expired.get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof QueryRejectedException);
+        }
+        assertTrue(fake.statements().isEmpty());
+    }
+
+    @Test
+    void groupKeepsSubmissionOrder() throws Exception {
+        var configuration = configuration();
+        var update = "UPDATE values SET value = ? WHERE value = 1";
+        var insert = "INSERT INTO values(value) VALUES (?)";
+        try (var writer = configuration.groupCommit().setMaxDelay(Duration.ofMillis(200)).build()) {
+            var futures = List.of(
+                    writer.submit(configuration.query(update), Call.of().bind(2)),
+                    writer.submit(configuration.query(insert), Call.of().bind(1)),
+                    writer.submit(configuration.query(update), Call.of().bind(3)));
+            for (var future : futures) future.get(5, TimeUnit.SECONDS);
+        }
+        // The second update depends on the insert and must not be batched with the first update
+        assertEquals(List.of(update, insert, update), fake.statements().stream().map(FakeStatement::sql).toList());
+    }
+
+    @Test
+    void batchWithoutCountsIsChanged() throws Exception {
+        fake.updateCount(Statement.SUCCESS_NO_INFO);
+        var configuration = configuration();
+        try (var writer = configuration.groupCommit().build()) {
+            var result = writer.submit(configuration.query("INSERT INTO values(value) VALUES (?)"), Call.of().bind(1)).get(5, TimeUnit.SECONDS);
+            assertTrue(result.changed());
+        }
+    }
+
+    @Test
+    void groupUsesHighestPriority() throws Exception {
+        var configuration = configuration();
+        try (var writer = configuration.groupCommit().setMaxDelay(Duration.ofMillis(200)).build()) {
+            var low = writer.submit(configuration.query("INSERT INTO values(value) VALUES (?)").withPriority(QueryPriority.LOW), Call.of().bind(1));
+            var high = writer.submit(configuration.query("INSERT INTO values(value) VALUES (?)").withPriority(QueryPriority.HIGH), Call.of().bind(2));
+            assertEquals(1, low.get(5, TimeUnit.SECONDS).rows());
+            assertEquals(1, high.get(5, TimeUnit.SECONDS).rows());
+        }
+        assertEquals(List.of(QueryPriority.HIGH), priorities);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+
+package de.chojo.sadu.queries.writer;
+
+import de.chojo.sadu.core.fake.FakeConnection;
+import de.chojo.sadu.queries.api.call.Call;
+import de.chojo.sadu.queries.api.writer.WriteBehindQueue;
+import de.chojo.sadu.queries.configuration.QueryConfigurationBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WriteBehindQueueImplTest {
+    private final FakeConnection fake = FakeConnection.create();
+
+    private WriteBehindQueue queue() {
+        var query = new QueryConfigurationBuilder(fake.dataSource()).build().query("INSERT INTO values(value) VALUES (?)");
+        return WriteBehindQueue.builder(query).setFlushSize(50).setFlushInterval(Duration.ofMillis(1)).build();
+    }
+
+    @Test
+    void offerRacingCloseIsNeverLost() throws InterruptedException {
+        var queue = queue();
+        var accepted = new AtomicLong();
+        var started = new CountDownLatch(4);
+        var threads = new ArrayList<Thread>();
+        for (var i = 0; i < 4; i++) {
+            var thread = new Thread(() -> {
+                started.countDown();
+                for (var value = 0; value < 500; value++) {
+                    try {
+                        if (queue.offer(Call.of().bind(value))) accepted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // The queue was closed
+                        return;
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        started.await();
+        queue.close();
+        for (var thread : threads) thread.join();
+
+        // Every accepted call was written before close returned
+        assertEquals(accepted.get(), queue.metrics().written());
+        assertEquals(0, queue.metrics().depth());
+    }
+
+    @Test
+    void closedQueueRejectsCalls() {
+        var queue = queue();
+        queue.close();
+        assertThrows(IllegalStateException.class, () -> queue.offer(Call.of().bind(1)));
+    }
+}
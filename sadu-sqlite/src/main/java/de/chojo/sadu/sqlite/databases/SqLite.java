@@ -12,6 +12,9 @@ import de.chojo.sadu.core.updater.UpdaterBuilder;
 import de.chojo.sadu.sqlite.jdbc.SqLiteJdbc;
 import de.chojo.sadu.updater.BaseSqlUpdaterBuilder;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Represents a SqLite database.
  */
@@ -64,4 +67,19 @@ public class SqLite implements DefaultDatabase<SqLiteJdbc, BaseSqlUpdaterBuilder
     public UpdaterBuilder<SqLiteJdbc, BaseSqlUpdaterBuilder<SqLiteJdbc, ?>> newSqlUpdaterBuilder() {
         return new BaseSqlUpdaterBuilder<>(this);
     }
+
+    @Override
+    public String upsertClause(List<String> keys, List<String> columns) {
+        if (columns.isEmpty()) {
+            return "ON CONFLICT (%s) DO NOTHING".formatted(String.join(", ", keys));
+        }
+        var updates = columns.stream().map(column -> "%s = excluded.%s".formatted(column, column)).collect(Collectors.joining(", "));
+        return "ON CONFLICT (%s) DO UPDATE SET %s".formatted(String.join(", ", keys), updates);
+    }
+
+    @Override
+    public int maxParameters() {
+        // Default of SQLITE_MAX_VARIABLE_NUMBER before 3.32.0
+        return 999;
+    }
 }